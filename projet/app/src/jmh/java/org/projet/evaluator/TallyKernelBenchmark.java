@@ -0,0 +1,86 @@
+package org.projet.evaluator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projet.config.KeyboardConfigLoader;
+import org.projet.model.KeyboardLayout;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Compare le noyau de comptage scalaire et le noyau vectorisé sur une table
+ * de n-grammes synthétique tirée sur l'alphabet AZERTY.
+ *
+ * <p>Lancement : {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TallyKernelBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    @Param({"5000", "50000"})
+    public int ngrams;
+
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // La ressource est dans un jar : la copier pour le chargeur de configuration
+        Path config = Files.createTempFile("azerty", ".json");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("layouts/azerty.json")) {
+            Files.copy(in, config, StandardCopyOption.REPLACE_EXISTING);
+        }
+        layout = new KeyboardConfigLoader().loadLayout(config).orElseThrow();
+        Files.delete(config);
+
+        List<Character> chars = List.copyOf(layout.characterToKeyMap().keySet());
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, Long> frequencies = new HashMap<>();
+        while (frequencies.size() < ngrams) {
+            int length = 1 + random.nextInt(3);
+            StringBuilder ngram = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                ngram.append(chars.get(random.nextInt(chars.size())));
+            }
+            frequencies.merge(ngram.toString(), 1L + random.nextInt(1000), Long::sum);
+        }
+
+        evaluator = new LayoutEvaluator(frequencies);
+        // Mesurer un seul cœur : pas de découpage fork/join
+        evaluator.setParallelThreshold(Integer.MAX_VALUE);
+        TallyKernel selected = "vector".equals(kernel) ? TallyKernels.vector() : new ScalarTallyKernel();
+        if (selected == null) {
+            throw new IllegalStateException("Lancer avec --add-modules jdk.incubator.vector");
+        }
+        evaluator.useKernel(selected);
+    }
+
+    @Benchmark
+    public MovementProfile profileLayout() {
+        return evaluator.profileLayout(layout);
+    }
+}
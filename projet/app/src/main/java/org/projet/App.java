@@ -2,13 +2,30 @@ package org.projet;
 
 import org.projet.analyzer.TextAnalyzer;
 import org.projet.analyzer.TextLoader;
+import org.projet.evaluator.BootstrapComparison;
+import org.projet.evaluator.BootstrapResult;
 import org.projet.evaluator.LayoutEvaluator;
+import org.projet.evaluator.SwapSensitivity;
 import org.projet.config.KeyboardConfigLoader;
+import org.projet.model.KeyboardLayout;
+import org.projet.optimizer.AnnealingOptimizer;
+import org.projet.optimizer.BranchAndBoundOptimizer;
+import org.projet.optimizer.IslandOptimizer;
 import org.projet.optimizer.KeyboardOptimizer;
+import org.projet.optimizer.LayeredOptimizer;
+import org.projet.optimizer.LayoutOptimizer;
+import org.projet.optimizer.LayoutConstraints;
+import org.projet.optimizer.LocalSearchOptimizer;
+import org.projet.optimizer.MigrationCoordinator;
+import org.projet.optimizer.MigrationWorker;
+import org.projet.optimizer.MultiStartOptimizer;
+import org.projet.optimizer.ParetoOptimizer;
+import org.projet.optimizer.SteadyStateOptimizer;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.List;
 import java.io.PrintWriter;
 import java.io.FileWriter;
@@ -65,28 +82,13 @@ public class App {
             if (layoutOpt.isPresent()) {
                 var layout = layoutOpt.get();
                 
-                // Créer un Map des fréquences pour l'évaluateur
-                Map<String, Long> frequenciesForEvaluator = texts.stream()
-                    .flatMap(text -> {
-                        var ngrams = new java.util.ArrayList<String>();
-                        // Caractères
-                        for (int i = 0; i < text.length(); i++) {
-                            ngrams.add(String.valueOf(text.charAt(i)));
-                        }
-                        // Bigrammes
-                        for (int i = 0; i < text.length() - 1; i++) {
-                            ngrams.add(text.substring(i, i + 2));
-                        }
-                        // Trigrammes
-                        for (int i = 0; i < text.length() - 2; i++) {
-                            ngrams.add(text.substring(i, i + 3));
-                        }
-                        return ngrams.stream();
-                    })
-                    .collect(Collectors.groupingBy(
-                        ngram -> ngram,
-                        Collectors.counting()
-                    ));
+                // Fréquences des n-grammes de chaque document, puis du corpus entier
+                List<Map<String, Long>> documentFrequencies = texts.stream()
+                    .map(App::ngramFrequencies)
+                    .toList();
+                Map<String, Long> frequenciesForEvaluator = new HashMap<>();
+                documentFrequencies.forEach(frequencies ->
+                    frequencies.forEach((ngram, count) -> frequenciesForEvaluator.merge(ngram, count, Long::sum)));
                 
                 // Évaluer la disposition initiale
                 LayoutEvaluator evaluator = new LayoutEvaluator(frequenciesForEvaluator);
@@ -94,11 +96,86 @@ public class App {
                 
                 // Optimiser la disposition
                 System.out.println("\nOptimisation de la disposition...");
-                KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator);
+                // -Dprojet.optimizer=annealing|steady|pareto|layers|islands|tabu|exact|multistart|coordinator|worker pour changer de stratégie
+                LayoutOptimizer optimizer = switch (System.getProperty("projet.optimizer", "genetic")) {
+                    case "annealing" -> new AnnealingOptimizer(evaluator);
+                    case "steady" -> new SteadyStateOptimizer(evaluator);
+                    // Front de Pareto même doigt / roulements / redirections / répartition des doigts
+                    case "pareto" -> new ParetoOptimizer(evaluator);
+                    // Caractères de base, puis symboles des couches Shift et AltGr
+                    case "layers" -> new LayeredOptimizer(evaluator, new KeyboardOptimizer(evaluator));
+                    case "islands" -> new IslandOptimizer(evaluator);
+                    case "tabu" -> new LocalSearchOptimizer(evaluator);
+                    // Placement exact des touches les plus fréquentes, puis algorithme génétique
+                    case "exact" -> new BranchAndBoundOptimizer(evaluator).then(new KeyboardOptimizer(evaluator));
+                    case "multistart" -> {
+                        // -Dprojet.starts=a.json,b.json pour partir aussi d'autres dispositions
+                        MultiStartOptimizer multiStart = new MultiStartOptimizer(evaluator);
+                        List<KeyboardLayout> starts = new ArrayList<>();
+                        for (String file : System.getProperty("projet.starts", "").split(",")) {
+                            if (!file.isBlank()) {
+                                configLoader.loadLayout(Path.of(file.trim())).ifPresent(starts::add);
+                            }
+                        }
+                        multiStart.setStartingLayouts(starts);
+                        yield multiStart;
+                    }
+                    case "coordinator" -> {
+                        // -Dprojet.port=7531 -Dprojet.workers=2 : attendre la fin de N travailleurs
+                        // -Dprojet.host=0.0.0.0 pour accepter des travailleurs d'autres machines
+                        MigrationCoordinator coordinator = new MigrationCoordinator(
+                            evaluator, Integer.getInteger("projet.port", 7531));
+                        coordinator.setExpectedWorkers(Integer.getInteger("projet.workers", 2));
+                        coordinator.setHost(System.getProperty("projet.host"));
+                        yield coordinator;
+                    }
+                    case "worker" -> {
+                        // -Dprojet.coordinator=hôte:port
+                        String[] address = System.getProperty("projet.coordinator", "localhost:7531").split(":");
+                        yield new MigrationWorker(evaluator, address[0], Integer.parseInt(address[1]));
+                    }
+                    default -> {
+                        KeyboardOptimizer genetic = new KeyboardOptimizer(evaluator);
+                        // -Dprojet.pinned=0123456789zxcv pour laisser ces caractères en place
+                        String pinned = System.getProperty("projet.pinned");
+                        if (pinned != null) {
+                            LayoutConstraints constraints = new LayoutConstraints();
+                            constraints.pin(pinned);
+                            genetic.setConstraints(constraints);
+                        }
+                        // -Dprojet.adaptive=true pour choisir les opérateurs selon leurs résultats
+                        genetic.setAdaptiveOperators(Boolean.getBoolean("projet.adaptive"));
+                        yield genetic;
+                    }
+                };
+                // -Dprojet.polish=true pour affiner le résultat par recherche tabou
+                if (Boolean.getBoolean("projet.polish")) {
+                    optimizer = optimizer.then(new LocalSearchOptimizer(evaluator));
+                }
                 var optimizedLayout = optimizer.optimize(layout);
                 
                 System.out.println("\nDisposition optimisée :\n");
                 evaluator.displayEvaluation(optimizedLayout);
+
+                // -Dprojet.sensitivity=echanges.csv|echanges.json pour exporter la sensibilité aux échanges
+                String sensitivityFile = System.getProperty("projet.sensitivity");
+                if (sensitivityFile != null) {
+                    exportSensitivity(evaluator, optimizedLayout, Path.of(sensitivityFile));
+                }
+
+                // -Dprojet.bootstrap=2000 pour un intervalle de confiance de l'écart de score
+                int resamples = Integer.getInteger("projet.bootstrap", 0);
+                if (resamples > 0) {
+                    BootstrapComparison comparison = new BootstrapComparison(
+                        documentFrequencies, evaluator.getWeights(), layout, optimizedLayout);
+                    BootstrapResult result = comparison.compare(resamples, 0.95);
+                    System.out.printf("%nÉcart de score (optimisée - initiale) : %.2f, IC %.0f%% [%.2f ; %.2f] sur %d documents%n",
+                        result.observedDifference(), result.confidence() * 100, result.lower(), result.upper(),
+                        comparison.getDocumentCount());
+                    System.out.printf("Disposition optimisée meilleure dans %.1f%% des %d rééchantillonnages%s%n",
+                        result.secondBetterShare() * 100, resamples,
+                        result.isSignificant() ? "" : " (écart non significatif)");
+                }
             } else {
                 System.err.println("Impossible de charger la disposition AZERTY");
             }
@@ -112,6 +189,46 @@ public class App {
         }
     }
 
+    /**
+     * Calcule la variation du score de chaque échange de touches, affiche les
+     * touches au plus grand regret et exporte la matrice (JSON, ou CSV avec
+     * les regrets dans un second fichier suffixé {@code -regrets}).
+     */
+    private static void exportSensitivity(LayoutEvaluator evaluator, KeyboardLayout layout, Path file) {
+        SwapSensitivity sensitivity = new SwapSensitivity(evaluator, layout);
+        System.out.println("\n=== Sensibilité aux échanges ===");
+        sensitivity.regrets().stream()
+            .limit(10)
+            .forEach(regret -> System.out.printf("'%c' : regret %.2f (échange avec '%c'), %d échanges améliorants%n",
+                regret.character(), regret.regret(), regret.bestPartner(), regret.improvingSwaps()));
+        try {
+            String name = file.getFileName().toString();
+            if (name.endsWith(".json")) {
+                sensitivity.writeJson(file);
+            } else {
+                sensitivity.writeCsv(file);
+                String base = name.endsWith(".csv") ? name.substring(0, name.length() - 4) : name;
+                sensitivity.writeRegretsCsv(file.resolveSibling(base + "-regrets.csv"));
+            }
+            System.out.println("Matrice des échanges sauvegardée dans " + file);
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la sauvegarde dans " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compte les caractères, bigrammes et trigrammes d'un texte.
+     */
+    private static Map<String, Long> ngramFrequencies(String text) {
+        Map<String, Long> frequencies = new HashMap<>();
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 0; i + length <= text.length(); i++) {
+                frequencies.merge(text.substring(i, i + length), 1L, Long::sum);
+            }
+        }
+        return frequencies;
+    }
+
     /**
      * Sauvegarde les fréquences des n-grammes dans un fichier.
      * 
@@ -0,0 +1,16 @@
+package org.projet.config;
+
+import org.projet.evaluator.MovementType;
+
+import java.util.Map;
+
+/**
+ * Jeu de poids de score chargé depuis un fichier JSON.
+ * Les types de mouvement absents et un facteur de charge absent
+ * prennent les valeurs par défaut de l'évaluateur.
+ */
+public record WeightConfig(
+    String name,
+    Map<MovementType, Double> weights,
+    Double fingerLoadFactor
+) {}
@@ -0,0 +1,86 @@
+package org.projet.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.projet.evaluator.MovementType;
+import org.projet.evaluator.ScoringWeights;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Utility class to load scoring weights from JSON files.
+ *
+ * <p>A file holds either a single weight set or an array of weight sets:
+ * <pre>{@code
+ * {
+ *   "name": "rolls",
+ *   "weights": { "SAME_FINGER": 3.0, "INWARD_ROLL": -1.5 },
+ *   "fingerLoadFactor": 0.1
+ * }
+ * }</pre>
+ */
+public class WeightConfigLoader {
+    private final ObjectMapper mapper;
+
+    public WeightConfigLoader() {
+        this.mapper = new ObjectMapper();
+    }
+
+    /**
+     * Loads a single weight set from a JSON file.
+     *
+     * @param configFile the JSON configuration file
+     * @return the weights, or empty if loading fails
+     */
+    public Optional<ScoringWeights> loadWeights(Path configFile) {
+        try {
+            WeightConfig config = mapper.readValue(configFile.toFile(), WeightConfig.class);
+            return Optional.of(toScoringWeights(config));
+        } catch (Exception e) {
+            System.err.println("Failed to load weight config: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Loads every weight set of a JSON file, for weight sweeps.
+     *
+     * @param configFile a JSON file holding one weight set or an array of them
+     * @return the weight sets, or an empty list if loading fails
+     */
+    public List<ScoringWeights> loadWeightSets(Path configFile) {
+        try {
+            JsonNode root = mapper.readTree(configFile.toFile());
+            List<ScoringWeights> weightSets = new ArrayList<>();
+            if (root.isArray()) {
+                for (JsonNode node : root) {
+                    weightSets.add(toScoringWeights(mapper.treeToValue(node, WeightConfig.class)));
+                }
+            } else {
+                weightSets.add(toScoringWeights(mapper.treeToValue(root, WeightConfig.class)));
+            }
+            return weightSets;
+        } catch (Exception e) {
+            System.err.println("Failed to load weight config: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    private ScoringWeights toScoringWeights(WeightConfig config) {
+        ScoringWeights defaults = ScoringWeights.defaults();
+        Map<MovementType, Double> weights = new EnumMap<>(defaults.movementWeights());
+        if (config.weights() != null) {
+            weights.putAll(config.weights());
+        }
+        return new ScoringWeights(
+            config.name() != null ? config.name() : defaults.name(),
+            weights,
+            config.fingerLoadFactor() != null ? config.fingerLoadFactor() : defaults.fingerLoadFactor()
+        );
+    }
+}
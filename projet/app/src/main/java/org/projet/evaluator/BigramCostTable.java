@@ -0,0 +1,110 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coûts des bigrammes pour un ensemble de caractères et de touches.
+ *
+ * <p>La table donne les occurrences de chaque bigramme entre deux caractères
+ * donnés, et le poids du mouvement entre deux touches données (voir
+ * {@link ScoringWeights#weight(MovementType)}). La part bigramme du score
+ * d'une disposition est la somme de {@code count(a, b) * cost(touche de a, touche de b)}
+ * sur les paires de caractères ; les trigrammes et la répartition des doigts
+ * n'y figurent pas.
+ *
+ * <p>La table est immuable et peut être partagée entre threads.
+ *
+ * @see LayoutEvaluator#bigramCostTable(char[], List)
+ */
+public final class BigramCostTable {
+    private final char[] characters;
+    private final int keys;
+    private final long[] counts;
+    private final long[] frequencies;
+    private final double[] costs;
+
+    BigramCostTable(
+        char[] characters,
+        List<KeyboardLayout.Key> keys,
+        NgramTable ngramTable,
+        MovementEvaluator movementEvaluator,
+        ScoringWeights weights
+    ) {
+        int n = characters.length;
+        this.characters = characters.clone();
+        this.keys = keys.size();
+
+        Map<Character, Integer> indexOf = new HashMap<>();
+        for (int a = 0; a < n; a++) {
+            if (indexOf.put(characters[a], a) != null) {
+                throw new IllegalArgumentException("Caractère en double : '" + characters[a] + "'");
+            }
+        }
+        this.frequencies = new long[n];
+        for (int a = 0; a < n; a++) {
+            frequencies[a] = ngramTable.unigramCount(characters[a]);
+        }
+        this.counts = new long[n * n];
+        for (int b = 0; b < ngramTable.bigramCounts.length; b++) {
+            Integer first = indexOf.get(ngramTable.alphabet[ngramTable.bigramFirst[b]]);
+            Integer second = indexOf.get(ngramTable.alphabet[ngramTable.bigramSecond[b]]);
+            if (first != null && second != null) {
+                counts[first * n + second] += ngramTable.bigramCounts[b];
+            }
+        }
+
+        this.costs = new double[this.keys * this.keys];
+        for (int p = 0; p < this.keys; p++) {
+            for (int q = 0; q < this.keys; q++) {
+                MovementType movement = movementEvaluator.evaluateBigramMovement(keys.get(p), keys.get(q));
+                costs[p * this.keys + q] = movement != null ? weights.weight(movement) : 0.0;
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de caractères de la table.
+     */
+    public int characters() {
+        return characters.length;
+    }
+
+    /**
+     * Retourne le nombre de touches de la table.
+     */
+    public int keys() {
+        return keys;
+    }
+
+    /**
+     * Retourne le caractère d'indice a.
+     */
+    public char character(int a) {
+        return characters[a];
+    }
+
+    /**
+     * Nombre de frappes du caractère a (unigrammes).
+     */
+    public long frequency(int a) {
+        return frequencies[a];
+    }
+
+    /**
+     * Nombre d'occurrences du bigramme formé des caractères a puis b.
+     */
+    public long count(int a, int b) {
+        return counts[a * characters.length + b];
+    }
+
+    /**
+     * Poids du mouvement de la touche p vers la touche q, 0 sans mouvement reconnu.
+     */
+    public double cost(int p, int q) {
+        return costs[p * keys + q];
+    }
+}
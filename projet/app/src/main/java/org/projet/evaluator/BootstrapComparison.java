@@ -0,0 +1,211 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Compare deux dispositions par bootstrap sur les documents du corpus, pour
+ * savoir si un écart de score tient au choix des textes.
+ *
+ * <p>Chaque document est évalué une seule fois sur chaque disposition pour
+ * obtenir son vecteur de comptages ({@link MovementProfile}). Les comptages
+ * étant additifs d'un document à l'autre, un rééchantillonnage (tirage avec
+ * remise d'autant de documents que le corpus) n'est qu'une somme pondérée de
+ * ces vecteurs, notée par {@link ScoringWeights#score(MovementProfile)} : le
+ * corpus n'est jamais réanalysé. Les deux dispositions sont notées sur le
+ * même tirage, et les rééchantillonnages sont calculés en parallèle.
+ *
+ * <p>Exemple d'utilisation :
+ * <pre>{@code
+ * BootstrapComparison comparison = new BootstrapComparison(documents, weights, azerty, optimized);
+ * comparison.setSeed(42);
+ * BootstrapResult result = comparison.compare(2000, 0.95);
+ * if (result.isSignificant()) { ... }
+ * }</pre>
+ */
+public class BootstrapComparison {
+    private static final int FINGERS = KeyboardLayout.Finger.values().length;
+    private static final int MOVEMENTS = MovementType.values().length;
+
+    private final ScoringWeights weights;
+    private final long[][] first;    // [document][comptage] de la première disposition
+    private final long[][] second;   // [document][comptage] de la seconde disposition
+    private long seed;
+
+    /**
+     * Évalue une fois chaque document sur les deux dispositions.
+     *
+     * @param documents fréquences des n-grammes de chaque document
+     */
+    public BootstrapComparison(
+        List<Map<String, Long>> documents,
+        ScoringWeights weights,
+        KeyboardLayout first,
+        KeyboardLayout second
+    ) {
+        this(profiles(documents, weights, first), profiles(documents, weights, second), weights);
+    }
+
+    /**
+     * Construit la comparaison à partir de comptages par document déjà calculés.
+     *
+     * @param first comptages de chaque document sur la première disposition
+     * @param second comptages des mêmes documents, dans le même ordre, sur la seconde
+     */
+    public BootstrapComparison(List<MovementProfile> first, List<MovementProfile> second, ScoringWeights weights) {
+        if (first.isEmpty() || first.size() != second.size()) {
+            throw new IllegalArgumentException("Les mêmes documents sont attendus pour les deux dispositions : "
+                + first.size() + " et " + second.size());
+        }
+        this.weights = weights;
+        this.first = first.stream().map(BootstrapComparison::vector).toArray(long[][]::new);
+        this.second = second.stream().map(BootstrapComparison::vector).toArray(long[][]::new);
+        this.seed = new SplittableRandom().nextLong();
+    }
+
+    private static List<MovementProfile> profiles(
+        List<Map<String, Long>> documents,
+        ScoringWeights weights,
+        KeyboardLayout layout
+    ) {
+        return documents.parallelStream()
+            .map(frequencies -> new LayoutEvaluator(frequencies, weights).profileLayout(layout))
+            .toList();
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Retourne le nombre de documents du corpus.
+     */
+    public int getDocumentCount() {
+        return first.length;
+    }
+
+    /**
+     * Retourne la différence score(seconde) - score(première) sur le corpus complet.
+     */
+    public double observedDifference() {
+        long[] ones = new long[first.length];
+        Arrays.fill(ones, 1);
+        return difference(ones);
+    }
+
+    /**
+     * Calcule les différences de score sur {@code resamples} rééchantillonnages.
+     * Le résultat ne dépend que de la graine, pas du nombre de threads.
+     */
+    public double[] resampleDifferences(int resamples) {
+        if (resamples < 1) {
+            throw new IllegalArgumentException("Nombre de rééchantillonnages invalide : " + resamples);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[resamples];
+        for (int r = 0; r < resamples; r++) {
+            randoms[r] = random.split();
+        }
+        int documents = first.length;
+        return IntStream.range(0, resamples)
+            .parallel()
+            .mapToDouble(r -> {
+                long[] draws = new long[documents];
+                for (int d = 0; d < documents; d++) {
+                    draws[randoms[r].nextInt(documents)]++;
+                }
+                return difference(draws);
+            })
+            .toArray();
+    }
+
+    /**
+     * Calcule l'intervalle de confiance de la différence de score par la
+     * méthode des centiles.
+     *
+     * @param confidence niveau de confiance, strictement entre 0 et 1
+     */
+    public BootstrapResult compare(int resamples, double confidence) {
+        if (!(confidence > 0.0 && confidence < 1.0)) {
+            throw new IllegalArgumentException("Niveau de confiance invalide : " + confidence);
+        }
+        double[] differences = resampleDifferences(resamples);
+        double mean = Arrays.stream(differences).average().orElse(0.0);
+        double variance = Arrays.stream(differences).map(d -> (d - mean) * (d - mean)).sum()
+            / Math.max(1, resamples - 1);
+        long secondBetter = Arrays.stream(differences).filter(d -> d < 0).count();
+
+        Arrays.sort(differences);
+        double tail = (1.0 - confidence) / 2.0;
+        return new BootstrapResult(
+            resamples,
+            confidence,
+            observedDifference(),
+            mean,
+            Math.sqrt(variance),
+            percentile(differences, tail),
+            percentile(differences, 1.0 - tail),
+            (double) secondBetter / resamples
+        );
+    }
+
+    /**
+     * Différence de score pour un tirage donnant le nombre de copies de chaque document.
+     */
+    private double difference(long[] draws) {
+        return weights.score(profile(second, draws)) - weights.score(profile(first, draws));
+    }
+
+    /**
+     * Somme des comptages des documents tirés.
+     */
+    private static MovementProfile profile(long[][] vectors, long[] draws) {
+        long[] total = new long[MOVEMENTS + FINGERS + 3];
+        for (int d = 0; d < vectors.length; d++) {
+            long copies = draws[d];
+            if (copies == 0) continue;
+            long[] vector = vectors[d];
+            for (int k = 0; k < total.length; k++) {
+                total[k] += copies * vector[k];
+            }
+        }
+        return new MovementProfile(
+            Arrays.copyOfRange(total, 0, MOVEMENTS),
+            Arrays.copyOfRange(total, MOVEMENTS, MOVEMENTS + FINGERS),
+            total[MOVEMENTS + FINGERS],
+            total[MOVEMENTS + FINGERS + 1],
+            total[MOVEMENTS + FINGERS + 2]
+        );
+    }
+
+    /**
+     * Vecteur de comptages : mouvements, frappes par doigt, puis totaux.
+     */
+    private static long[] vector(MovementProfile profile) {
+        long[] vector = new long[MOVEMENTS + FINGERS + 3];
+        System.arraycopy(profile.movementCounts(), 0, vector, 0, MOVEMENTS);
+        System.arraycopy(profile.fingerKeystrokes(), 0, vector, MOVEMENTS, FINGERS);
+        vector[MOVEMENTS + FINGERS] = profile.totalKeystrokes();
+        vector[MOVEMENTS + FINGERS + 1] = profile.totalBigramCount();
+        vector[MOVEMENTS + FINGERS + 2] = profile.totalTrigramCount();
+        return vector;
+    }
+
+    /**
+     * Centile par interpolation linéaire d'un tableau trié.
+     */
+    private static double percentile(double[] sorted, double fraction) {
+        double position = fraction * (sorted.length - 1);
+        int below = (int) Math.floor(position);
+        int above = Math.min(sorted.length - 1, below + 1);
+        return sorted[below] + (position - below) * (sorted[above] - sorted[below]);
+    }
+}
@@ -0,0 +1,35 @@
+package org.projet.evaluator;
+
+/**
+ * Intervalle de confiance bootstrap de la différence de score entre deux
+ * dispositions (voir {@link BootstrapComparison}).
+ * La différence est score(seconde) - score(première) : négative si la
+ * seconde disposition est meilleure.
+ *
+ * @param resamples nombre de rééchantillonnages du corpus
+ * @param confidence niveau de confiance de l'intervalle, par exemple 0.95
+ * @param observedDifference différence sur le corpus complet
+ * @param meanDifference différence moyenne sur les rééchantillonnages
+ * @param standardError écart type de la différence sur les rééchantillonnages
+ * @param lower borne inférieure de l'intervalle (centile)
+ * @param upper borne supérieure de l'intervalle (centile)
+ * @param secondBetterShare part des rééchantillonnages où la seconde disposition est meilleure
+ */
+public record BootstrapResult(
+    int resamples,
+    double confidence,
+    double observedDifference,
+    double meanDifference,
+    double standardError,
+    double lower,
+    double upper,
+    double secondBetterShare
+) {
+    /**
+     * Indique si l'intervalle exclut zéro, c'est-à-dire si l'écart entre les
+     * deux dispositions ne tient pas au seul choix des documents du corpus.
+     */
+    public boolean isSignificant() {
+        return lower > 0.0 || upper < 0.0;
+    }
+}
@@ -0,0 +1,327 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.stream.IntStream;
+
+/**
+ * Archive persistante des scores de dispositions, partagée entre les exécutions.
+ *
+ * <p>Chaque archive correspond à une empreinte d'évaluateur (table des
+ * fréquences et poids, voir {@link LayoutEvaluator#fingerprint()}) et vit dans
+ * le fichier {@code <empreinte>.archive} du répertoire donné. Le fichier est
+ * une suite d'enregistrements (hachage de disposition, score) de 16 octets,
+ * ajoutés en fin de fichier uniquement. À l'ouverture, le fichier est projeté
+ * en mémoire et indexé par une table de hachage : une recherche coûte O(1).
+ * Les scores ajoutés pendant l'exécution restent en mémoire jusqu'à la
+ * prochaine ouverture.
+ *
+ * <p>Plusieurs processus peuvent partager une archive. Les nouveaux scores
+ * sont mis en attente en mémoire puis ajoutés par {@link #flush()}, sous un
+ * verrou exclusif du fichier et par enregistrements complets ; l'ouverture
+ * prend le même verrou. Seul un arrêt brutal pendant une écriture peut
+ * laisser un enregistrement incomplet : il est retiré, sous verrou, avant
+ * l'ajout suivant ou à l'ouverture. Le verrou étant tenu par le processus,
+ * une même archive ne doit être ouverte qu'une fois par processus.
+ *
+ * <p>Les méthodes sont synchronisées : l'archive peut être partagée par les
+ * threads d'évaluation.
+ */
+public final class FitnessArchive implements AutoCloseable {
+    private static final int MAGIC = 0x4B415243; // "KARC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 16;
+    // Une projection mémoire est limitée à 2 Go
+    private static final long MAX_RECORDS = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES;
+    // Enregistrements en attente au-delà desquels l'ajout est immédiat
+    private static final int PENDING_RECORDS = 256;
+
+    private final LayoutEvaluator evaluator;
+    private final long fingerprint;
+    private final MappedByteBuffer mapped;
+    private final int mappedRecords;
+    private final FileChannel channel;
+    private final ByteBuffer pending = ByteBuffer.allocate(PENDING_RECORDS * RECORD_BYTES);
+
+    // Index à adressage ouvert : hachage -> numéro d'enregistrement + 1 (0 = libre)
+    private long[] indexKeys;
+    private int[] indexRecords;
+    private int size;
+    private final List<Double> appendedScores = new ArrayList<>();
+    private long hits;
+    private long misses;
+
+    private FitnessArchive(LayoutEvaluator evaluator, MappedByteBuffer mapped, int mappedRecords, FileChannel channel) {
+        this.evaluator = evaluator;
+        this.fingerprint = evaluator.fingerprint();
+        this.mapped = mapped;
+        this.mappedRecords = mappedRecords;
+        this.channel = channel;
+        this.indexKeys = new long[16];
+        this.indexRecords = new int[16];
+        for (int record = 0; record < mappedRecords; record++) {
+            index(mapped.getLong(offset(record)), record);
+        }
+    }
+
+    /**
+     * Ouvre (ou crée) l'archive de l'évaluateur dans un répertoire.
+     */
+    public static FitnessArchive open(Path directory, LayoutEvaluator evaluator) throws IOException {
+        long fingerprint = evaluator.fingerprint();
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format("%016x.archive", fingerprint));
+
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer mapped;
+            long records;
+            FileLock lock = channel.lock();
+            try {
+                if (channel.size() < HEADER_BYTES) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                    header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).flip();
+                    channel.truncate(0);
+                    channel.write(header, 0);
+                }
+                records = completeRecords(channel);
+                if (records > MAX_RECORDS) {
+                    throw new IOException("Archive trop grande pour être projetée en mémoire : " + file);
+                }
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES + records * RECORD_BYTES);
+            } finally {
+                lock.release();
+            }
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || mapped.getLong(8) != fingerprint) {
+                throw new IOException("En-tête d'archive invalide : " + file);
+            }
+            return new FitnessArchive(evaluator, mapped, (int) records, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retire un enregistrement incomplet (arrêt pendant une écriture) et
+     * retourne le nombre d'enregistrements complets. Le verrou doit être tenu.
+     */
+    private static long completeRecords(FileChannel channel) throws IOException {
+        long records = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+        if (channel.size() != HEADER_BYTES + records * RECORD_BYTES) {
+            channel.truncate(HEADER_BYTES + records * RECORD_BYTES);
+        }
+        return records;
+    }
+
+    /**
+     * Retourne le score archivé d'une disposition, s'il existe.
+     */
+    public synchronized OptionalDouble get(KeyboardLayout layout) {
+        int record = find(hash(layout));
+        if (record < 0) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(record < mappedRecords
+            ? mapped.getDouble(offset(record) + Long.BYTES)
+            : appendedScores.get(record - mappedRecords));
+    }
+
+    /**
+     * Ajoute le score d'une disposition, s'il n'est pas déjà archivé.
+     */
+    public synchronized void put(KeyboardLayout layout, double score) {
+        long hash = hash(layout);
+        if (find(hash) >= 0) {
+            return;
+        }
+        if (!pending.hasRemaining()) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new IllegalStateException("Échec de l'écriture dans l'archive", e);
+            }
+        }
+        pending.putLong(hash).putDouble(score);
+        appendedScores.add(score);
+        index(hash, mappedRecords + appendedScores.size() - 1);
+    }
+
+    /**
+     * Retourne le score archivé de la disposition, ou l'évalue et l'archive.
+     */
+    public double score(KeyboardLayout layout) {
+        OptionalDouble archived = get(layout);
+        synchronized (this) {
+            if (archived.isPresent()) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        if (archived.isPresent()) {
+            return archived.getAsDouble();
+        }
+        double score = evaluator.scoreLayout(layout);
+        put(layout, score);
+        return score;
+    }
+
+    /**
+     * Évaluation par lot : les dispositions absentes de l'archive sont évaluées
+     * en parallèle puis archivées.
+     */
+    public double[] scoreAll(List<KeyboardLayout> layouts) {
+        return IntStream.range(0, layouts.size())
+            .parallel()
+            .mapToDouble(i -> score(layouts.get(i)))
+            .toArray();
+    }
+
+    /**
+     * Retourne l'empreinte de l'évaluateur pour lequel l'archive a été ouverte.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Retourne le nombre de scores archivés.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Retourne le nombre de scores trouvés dans l'archive par {@link #score(KeyboardLayout)}.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retourne le nombre d'évaluations faites par {@link #score(KeyboardLayout)}.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Ajoute les scores en attente à la fin du fichier, sous verrou exclusif.
+     */
+    public synchronized void flush() throws IOException {
+        if (pending.position() == 0) {
+            return;
+        }
+        pending.flip();
+        FileLock lock = channel.lock();
+        try {
+            long end = HEADER_BYTES + completeRecords(channel) * RECORD_BYTES;
+            while (pending.hasRemaining()) {
+                end += channel.write(pending, end);
+            }
+        } finally {
+            pending.clear();
+            lock.release();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Position d'un enregistrement dans la projection, limitée à 2 Go par {@link #MAX_RECORDS}.
+     */
+    private static int offset(int record) {
+        return Math.toIntExact(HEADER_BYTES + (long) record * RECORD_BYTES);
+    }
+
+    private int find(long hash) {
+        int mask = indexKeys.length - 1;
+        for (int slot = (int) hash & mask; indexRecords[slot] != 0; slot = (slot + 1) & mask) {
+            if (indexKeys[slot] == hash) {
+                return indexRecords[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void index(long hash, int record) {
+        if (find(hash) >= 0) {
+            return;
+        }
+        if (2 * (size + 1) > indexKeys.length) {
+            long[] oldKeys = indexKeys;
+            int[] oldRecords = indexRecords;
+            indexKeys = new long[oldKeys.length * 2];
+            indexRecords = new int[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldRecords[slot] != 0) {
+                    index(oldKeys[slot], oldRecords[slot] - 1);
+                }
+            }
+        }
+        int mask = indexKeys.length - 1;
+        int slot = (int) hash & mask;
+        while (indexRecords[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        indexKeys[slot] = hash;
+        indexRecords[slot] = record + 1;
+        size++;
+    }
+
+    /**
+     * Hachage 64 bits d'une disposition : caractères et touches, dans l'ordre des caractères.
+     */
+    static long hash(KeyboardLayout layout) {
+        char[] characters = new char[layout.characterToKeyMap().size()];
+        int i = 0;
+        for (char c : layout.characterToKeyMap().keySet()) {
+            characters[i++] = c;
+        }
+        Arrays.sort(characters);
+        long hash = mix(0L, characters.length);
+        for (char c : characters) {
+            KeyboardLayout.Key key = layout.getKey(c);
+            hash = mix(hash, c);
+            hash = mix(hash, key.row());
+            hash = mix(hash, key.column());
+            hash = mix(hash, key.finger().ordinal());
+            hash = mix(hash, key.shiftProduces() != null ? key.shiftProduces() : -1);
+            hash = mix(hash, key.altgrProduces() != null ? key.altgrProduces() : -1);
+        }
+        return hash;
+    }
+
+    /**
+     * Ajoute une valeur à un hachage 64 bits (étape de SplitMix64).
+     */
+    static long mix(long hash, long value) {
+        long z = hash + value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,442 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Évaluation d'une disposition mise à jour par échanges de touches.
+ *
+ * <p>Pour chaque caractère, la liste des bigrammes et trigrammes qui le
+ * contiennent est calculée une fois. Échanger les touches de deux caractères
+ * ne modifie que les comptages de ces n-grammes : le coût d'un échange est
+ * proportionnel au nombre de n-grammes concernés, et non à la taille de la
+ * table. Les comptages restant entiers, le score après échange est
+ * exactement celui d'une évaluation complète de la nouvelle disposition.
+ *
+ * <p>{@link #deltaForSwap(char, char)} ne modifie pas l'état et peut être
+ * appelée depuis plusieurs threads, tant qu'aucun échange n'est appliqué en
+ * même temps.
+ *
+ * @see LayoutEvaluator#incremental(KeyboardLayout)
+ */
+public final class IncrementalEvaluation {
+    private static final int NONE = -1;
+
+    private final NgramTable ngramTable;
+    private final PositionTable positionTable;
+    private final ScoringWeights weights;
+    private final String name;
+
+    /** Position de chaque caractère de la table pour les bigrammes. */
+    private final int[] direct;
+    /** Position de chaque caractère de la table pour les frappes et les trigrammes. */
+    private final int[] stroke;
+    /** Caractère de la disposition dont la touche donne {@link #stroke}, ou {@link #NONE}. */
+    private final int[] strokeSource;
+    /** Caractères de la table dont la frappe dépend de chaque caractère de la disposition. */
+    private final Map<Character, int[]> strokeDependents;
+    /** Shift résolus (voir {@link NgramTable#shiftTarget(char)}) : placés sous l'auriculaire opposé à leur source. */
+    private final boolean[] shifted;
+    /** Shift résolus dont la source est chaque caractère de la disposition. */
+    private final Map<Character, int[]> shiftDependents;
+    private final int leftShiftPosition;
+    private final int rightShiftPosition;
+    private final long[] unigramCountByIndex;
+    private final int[][] bigramsOf;
+    private final int[][] trigramsOf;
+
+    private final Map<Character, KeyboardLayout.Key> keys;
+    private final Map<Character, Integer> keyPosition;
+    private Counts counts;
+    private double score;
+
+    /**
+     * Comptages entiers dont le score se déduit.
+     */
+    private record Counts(long[] movements, long[] fingers, long keystrokes, long bigrams, long trigrams) {
+        MovementProfile profile() {
+            return new MovementProfile(movements, fingers, keystrokes, bigrams, trigrams);
+        }
+    }
+
+    IncrementalEvaluation(
+        NgramTable ngramTable,
+        PositionTable positionTable,
+        ScoringWeights weights,
+        KeyboardLayout layout,
+        int[] direct,
+        int[] stroke,
+        int[] strokeSource,
+        boolean[] shifted,
+        int leftShiftPosition,
+        int rightShiftPosition,
+        MovementProfile profile
+    ) {
+        this.ngramTable = ngramTable;
+        this.positionTable = positionTable;
+        this.weights = weights;
+        this.name = layout.name();
+        this.direct = direct.clone();
+        this.stroke = stroke.clone();
+        this.strokeSource = strokeSource;
+        this.shifted = shifted;
+        this.leftShiftPosition = leftShiftPosition;
+        this.rightShiftPosition = rightShiftPosition;
+        this.keys = new HashMap<>(layout.characterToKeyMap());
+        this.keyPosition = new HashMap<>();
+        KeyboardLayout.Key[] layoutKeys = new KeyboardLayout.Key[1];
+        for (Map.Entry<Character, KeyboardLayout.Key> entry : keys.entrySet()) {
+            layoutKeys[0] = entry.getValue();
+            keyPosition.put(entry.getKey(), positionTable.positionsOf(layoutKeys)[0]);
+        }
+
+        int size = ngramTable.alphabet.length;
+        Map<Character, List<Integer>> dependents = new HashMap<>();
+        Map<Character, List<Integer>> shiftedDependents = new HashMap<>();
+        for (int x = 0; x < size; x++) {
+            if (strokeSource[x] != NONE) {
+                dependents.computeIfAbsent((char) strokeSource[x], c -> new ArrayList<>()).add(x);
+                if (shifted[x]) {
+                    shiftedDependents.computeIfAbsent((char) strokeSource[x], c -> new ArrayList<>()).add(x);
+                }
+            }
+        }
+        this.strokeDependents = new HashMap<>();
+        dependents.forEach((c, list) ->
+            strokeDependents.put(c, list.stream().mapToInt(Integer::intValue).toArray()));
+        this.shiftDependents = new HashMap<>();
+        shiftedDependents.forEach((c, list) ->
+            shiftDependents.put(c, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        this.unigramCountByIndex = new long[size];
+        for (int i = 0; i < ngramTable.unigrams.length; i++) {
+            unigramCountByIndex[ngramTable.unigrams[i]] = ngramTable.unigramCounts[i];
+        }
+        this.bigramsOf = index(size, ngramTable.bigramFirst, ngramTable.bigramSecond, ngramTable.bigramSecond);
+        this.trigramsOf = index(size, ngramTable.trigramFirst, ngramTable.trigramSecond, ngramTable.trigramThird);
+
+        this.counts = new Counts(
+            profile.movementCounts().clone(), profile.fingerKeystrokes().clone(),
+            profile.totalKeystrokes(), profile.totalBigramCount(), profile.totalTrigramCount()
+        );
+        this.score = weights.score(counts.profile());
+    }
+
+    /**
+     * Copie l'état courant ; les tables d'index, immuables, sont partagées.
+     */
+    private IncrementalEvaluation(IncrementalEvaluation other) {
+        this.ngramTable = other.ngramTable;
+        this.positionTable = other.positionTable;
+        this.weights = other.weights;
+        this.name = other.name;
+        this.direct = other.direct.clone();
+        this.stroke = other.stroke.clone();
+        this.strokeSource = other.strokeSource;
+        this.strokeDependents = other.strokeDependents;
+        this.shifted = other.shifted;
+        this.shiftDependents = other.shiftDependents;
+        this.leftShiftPosition = other.leftShiftPosition;
+        this.rightShiftPosition = other.rightShiftPosition;
+        this.unigramCountByIndex = other.unigramCountByIndex;
+        this.bigramsOf = other.bigramsOf;
+        this.trigramsOf = other.trigramsOf;
+        this.keys = new HashMap<>(other.keys);
+        this.keyPosition = new HashMap<>(other.keyPosition);
+        // Les comptages ne sont jamais modifiés sur place
+        this.counts = other.counts;
+        this.score = other.score;
+    }
+
+    /**
+     * Retourne une copie indépendante de cette évaluation, pour explorer des
+     * échanges à partir de la disposition courante sans la modifier. La copie
+     * coûte la taille de la disposition, et non celle de la table.
+     */
+    public IncrementalEvaluation copy() {
+        return new IncrementalEvaluation(this);
+    }
+
+    /**
+     * Liste, pour chaque caractère, les n-grammes qui le contiennent (une seule fois chacun).
+     */
+    private static int[][] index(int size, int[] first, int[] second, int[] third) {
+        int[] lengths = new int[size];
+        for (int i = 0; i < first.length; i++) {
+            lengths[first[i]]++;
+            if (second[i] != first[i]) {
+                lengths[second[i]]++;
+            }
+            if (third[i] != first[i] && third[i] != second[i]) {
+                lengths[third[i]]++;
+            }
+        }
+        int[][] lists = new int[size][];
+        for (int x = 0; x < size; x++) {
+            lists[x] = new int[lengths[x]];
+            lengths[x] = 0;
+        }
+        for (int i = 0; i < first.length; i++) {
+            lists[first[i]][lengths[first[i]]++] = i;
+            if (second[i] != first[i]) {
+                lists[second[i]][lengths[second[i]]++] = i;
+            }
+            if (third[i] != first[i] && third[i] != second[i]) {
+                lists[third[i]][lengths[third[i]]++] = i;
+            }
+        }
+        return lists;
+    }
+
+    /**
+     * Retourne le score de la disposition courante.
+     */
+    public double score() {
+        return score;
+    }
+
+    /**
+     * Retourne les comptages de la disposition courante.
+     */
+    public MovementProfile profile() {
+        return new Counts(
+            counts.movements().clone(), counts.fingers().clone(),
+            counts.keystrokes(), counts.bigrams(), counts.trigrams()
+        ).profile();
+    }
+
+    /**
+     * Retourne la touche d'un caractère sur la disposition courante.
+     */
+    public KeyboardLayout.Key getKey(char c) {
+        return keys.get(c);
+    }
+
+    /**
+     * Retourne une copie de la disposition courante.
+     */
+    public KeyboardLayout layout() {
+        return new KeyboardLayout(name, new HashMap<>(keys));
+    }
+
+    /**
+     * Retourne la variation du score si les touches de c1 et c2 étaient échangées,
+     * sans modifier la disposition courante.
+     */
+    public double deltaForSwap(char c1, char c2) {
+        return scoreAfterSwap(c1, c2) - score;
+    }
+
+    /**
+     * Retourne le score qu'aurait la disposition après l'échange des touches de c1 et c2.
+     */
+    public double scoreAfterSwap(char c1, char c2) {
+        return weights.score(countsAfterSwap(c1, c2).profile());
+    }
+
+    /**
+     * Échange les touches de c1 et c2 sur la disposition courante.
+     * @return le nouveau score
+     */
+    public double applySwap(char c1, char c2) {
+        Counts swapped = countsAfterSwap(c1, c2);
+        int position1 = position(c1);
+        int position2 = position(c2);
+
+        int index1 = ngramTable.indexOf(c1);
+        int index2 = ngramTable.indexOf(c2);
+        if (index1 >= 0) {
+            direct[index1] = position2;
+        }
+        if (index2 >= 0) {
+            direct[index2] = position1;
+        }
+        for (int x : shiftDependents.getOrDefault(c1, new int[0])) {
+            direct[x] = follow(x, position2);
+        }
+        for (int x : shiftDependents.getOrDefault(c2, new int[0])) {
+            direct[x] = follow(x, position1);
+        }
+        for (int x : strokeDependents.getOrDefault(c1, new int[0])) {
+            stroke[x] = follow(x, position2);
+        }
+        for (int x : strokeDependents.getOrDefault(c2, new int[0])) {
+            stroke[x] = follow(x, position1);
+        }
+
+        KeyboardLayout.Key key1 = keys.get(c1);
+        keys.put(c1, keys.get(c2));
+        keys.put(c2, key1);
+        keyPosition.put(c1, position2);
+        keyPosition.put(c2, position1);
+
+        counts = swapped;
+        score = weights.score(counts.profile());
+        return score;
+    }
+
+    private int position(char c) {
+        Integer position = keyPosition.get(c);
+        if (position == null) {
+            throw new IllegalArgumentException("Caractère absent de la disposition : '" + c + "'");
+        }
+        return position;
+    }
+
+    /**
+     * Calcule les comptages après l'échange, en ne reparcourant que les n-grammes
+     * contenant un caractère dont la position change.
+     */
+    private Counts countsAfterSwap(char c1, char c2) {
+        int position1 = position(c1);
+        int position2 = position(c2);
+        long[] movements = counts.movements().clone();
+        long[] fingers = counts.fingers().clone();
+        long bigrams = counts.bigrams();
+        if (c1 == c2 || position1 == position2) {
+            return new Counts(movements, fingers, counts.keystrokes(), bigrams, counts.trigrams());
+        }
+        int stride = positionTable.stride;
+
+        // Bigrammes : positions directes de c1 et c2, et de leurs Shift
+        int index1 = ngramTable.indexOf(c1);
+        int index2 = ngramTable.indexOf(c2);
+        int[] shifts1 = shiftDependents.getOrDefault(c1, new int[0]);
+        int[] shifts2 = shiftDependents.getOrDefault(c2, new int[0]);
+        int[] directChanged = new int[2 + shifts1.length + shifts2.length];
+        int changedCount = 0;
+        if (index1 >= 0) {
+            directChanged[changedCount++] = index1;
+        }
+        if (index2 >= 0) {
+            directChanged[changedCount++] = index2;
+        }
+        for (int x : shifts1) {
+            directChanged[changedCount++] = x;
+        }
+        for (int x : shifts2) {
+            directChanged[changedCount++] = x;
+        }
+        for (int k = 0; k < changedCount; k++) {
+            for (int i : bigramsOf[directChanged[k]]) {
+                int first = ngramTable.bigramFirst[i];
+                int second = ngramTable.bigramSecond[i];
+                if (countedBefore(directChanged, k, first, second, second)) {
+                    continue; // Déjà compté avec un caractère précédent
+                }
+                long count = ngramTable.bigramCounts[i];
+                int oldCode = positionTable.bigramCodes[direct[first] * stride + direct[second]];
+                int newCode = positionTable.bigramCodes[
+                    directAfter(first, c1, c2, index1, index2, position1, position2) * stride
+                    + directAfter(second, c1, c2, index1, index2, position1, position2)];
+                if (oldCode != newCode) {
+                    if (oldCode != 0) {
+                        movements[oldCode - 1] -= count;
+                        bigrams -= count;
+                    }
+                    if (newCode != 0) {
+                        movements[newCode - 1] += count;
+                        bigrams += count;
+                    }
+                }
+            }
+        }
+
+        // Frappes et trigrammes : caractères tapés sur la touche de c1 ou de c2
+        int[] dependents1 = strokeDependents.getOrDefault(c1, new int[0]);
+        int[] dependents2 = strokeDependents.getOrDefault(c2, new int[0]);
+        int[] strokeChanged = new int[dependents1.length + dependents2.length];
+        System.arraycopy(dependents1, 0, strokeChanged, 0, dependents1.length);
+        System.arraycopy(dependents2, 0, strokeChanged, dependents1.length, dependents2.length);
+
+        for (int x : strokeChanged) {
+            int oldPosition = stroke[x];
+            int newPosition = strokeAfter(x, c1, c2, position1, position2);
+            if (oldPosition != positionTable.unmapped && newPosition != positionTable.unmapped) {
+                fingers[positionTable.fingers[oldPosition].ordinal()] -= unigramCountByIndex[x];
+                fingers[positionTable.fingers[newPosition].ordinal()] += unigramCountByIndex[x];
+            }
+        }
+
+        for (int k = 0; k < strokeChanged.length; k++) {
+            for (int i : trigramsOf[strokeChanged[k]]) {
+                int first = ngramTable.trigramFirst[i];
+                int second = ngramTable.trigramSecond[i];
+                int third = ngramTable.trigramThird[i];
+                if (countedBefore(strokeChanged, k, first, second, third)) {
+                    continue;
+                }
+                long count = ngramTable.trigramCounts[i];
+                int oldCode = positionTable.trigramCodes[
+                    (stroke[first] * stride + stroke[second]) * stride + stroke[third]];
+                int newCode = positionTable.trigramCodes[
+                    (strokeAfter(first, c1, c2, position1, position2) * stride
+                        + strokeAfter(second, c1, c2, position1, position2)) * stride
+                        + strokeAfter(third, c1, c2, position1, position2)];
+                if (oldCode != newCode) {
+                    addTrigramCode(movements, oldCode, -count);
+                    addTrigramCode(movements, newCode, count);
+                }
+            }
+        }
+
+        return new Counts(movements, fingers, counts.keystrokes(), bigrams, counts.trigrams());
+    }
+
+    private int directAfter(int x, char c1, char c2, int index1, int index2, int position1, int position2) {
+        if (x == index1) {
+            return position2;
+        }
+        if (x == index2) {
+            return position1;
+        }
+        if (shifted[x]) {
+            int source = strokeSource[x];
+            return source == c1 ? follow(x, position2) : source == c2 ? follow(x, position1) : direct[x];
+        }
+        return direct[x];
+    }
+
+    private int strokeAfter(int x, char c1, char c2, int position1, int position2) {
+        int source = strokeSource[x];
+        return source == c1 ? follow(x, position2) : source == c2 ? follow(x, position1) : stroke[x];
+    }
+
+    /**
+     * Position d'un caractère dont la source est à la position donnée : la
+     * même, ou pour un Shift résolu la touche Shift de l'auriculaire opposé.
+     */
+    private int follow(int x, int sourcePosition) {
+        if (!shifted[x] || sourcePosition == positionTable.unmapped) {
+            return sourcePosition;
+        }
+        return positionTable.fingers[sourcePosition].shiftFinger() == KeyboardLayout.Finger.LEFT_PINKY
+            ? leftShiftPosition
+            : rightShiftPosition;
+    }
+
+    private static boolean countedBefore(int[] changed, int k, int first, int second, int third) {
+        for (int j = 0; j < k; j++) {
+            int x = changed[j];
+            if (first == x || second == x || third == x) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addTrigramCode(long[] movements, int code, long count) {
+        if ((code & PositionTable.TRIGRAM_BAD_REDIRECTION) != 0) {
+            movements[MovementType.BAD_REDIRECTION.ordinal()] += count;
+        } else if ((code & PositionTable.TRIGRAM_REDIRECTION) != 0) {
+            movements[MovementType.REDIRECTION.ordinal()] += count;
+        }
+        if ((code & PositionTable.TRIGRAM_SKIPGRAM) != 0) {
+            movements[MovementType.SAME_FINGER_SKIPGRAM.ordinal()] += count;
+        }
+    }
+}
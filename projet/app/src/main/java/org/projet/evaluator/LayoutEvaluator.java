@@ -1,23 +1,49 @@
 package org.projet.evaluator;
 
 import org.projet.model.KeyboardLayout;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Évalue les dispositions de clavier selon différents critères ergonomiques.
  */
 public class LayoutEvaluator {
-    private final Map<String, Long> ngramFrequencies;
+    private final NgramTable ngramTable;
     private final MovementEvaluator movementEvaluator;
+    private final ScoringWeights scoringWeights;
     private final Map<MovementType, Double> weights;
     private final Map<MovementType, Long> movementCounts;
     private long totalBigramCount;
     private long totalTrigramCount;
     private Map<KeyboardLayout.Finger, Double> fingerLoads;
+    private final long[] fingerKeystrokes;
+    private long totalKeystrokes;
+    private int parallelThreshold;
+    private TallyKernel kernel;
+    private volatile PositionTable positionTable;
     
-    private static final Map<KeyboardLayout.Finger, Double> IDEAL_FINGER_LOADS;
+    // À incrémenter quand le calcul du score change, pour invalider les archives de scores
+    private static final int SCORING_VERSION = 2;
+    
+    // Taille de table à partir de laquelle une évaluation est découpée en parallèle
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    
+    // Caractères tapés sur la touche d'un autre caractère (touches mortes AZERTY)
+    private static final Map<Character, Character> KEY_ALIASES = Map.of(
+        '`', '7',  // Sur AZERTY, l'accent grave est sur la touche 7
+        '^', '9',  // Sur AZERTY, l'accent circonflexe est sur la touche 9
+        '¨', '¨',  // Sur AZERTY, le tréma est une touche morte
+        '´', 'é'   // Sur AZERTY, l'accent aigu est sur la touche é
+    );
+    
+    static final Map<KeyboardLayout.Finger, Double> IDEAL_FINGER_LOADS;
     static {
         IDEAL_FINGER_LOADS = new EnumMap<>(KeyboardLayout.Finger.class);
         // Index (les plus forts)
@@ -35,11 +61,24 @@ public class LayoutEvaluator {
     }
 
     public LayoutEvaluator(Map<String, Long> ngramFrequencies) {
-        this.ngramFrequencies = Map.copyOf(ngramFrequencies);
+        this(ngramFrequencies, ScoringWeights.defaults());
+    }
+    
+    /**
+     * Crée un évaluateur utilisant un jeu de poids personnalisé.
+     */
+    public LayoutEvaluator(Map<String, Long> ngramFrequencies, ScoringWeights weights) {
+        this(NgramTable.from(ngramFrequencies), weights);
+    }
+    
+    private LayoutEvaluator(NgramTable ngramTable, ScoringWeights scoringWeights) {
+        this.ngramTable = ngramTable;
         this.movementEvaluator = new MovementEvaluator();
-        this.weights = initializeWeights();
+        this.scoringWeights = scoringWeights;
+        this.weights = scoringWeights.movementWeights();
         this.movementCounts = new EnumMap<>(MovementType.class);
         this.fingerLoads = new EnumMap<>(KeyboardLayout.Finger.class);
+        this.fingerKeystrokes = new long[KeyboardLayout.Finger.values().length];
         for (MovementType type : MovementType.values()) {
             movementCounts.put(type, 0L);
         }
@@ -48,25 +87,56 @@ public class LayoutEvaluator {
         }
         this.totalBigramCount = 0;
         this.totalTrigramCount = 0;
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        this.kernel = TallyKernels.selected();
     }
     
-    private Map<MovementType, Double> initializeWeights() {
-        Map<MovementType, Double> weights = new EnumMap<>(MovementType.class);
-        
-        // Pénalités pour les mouvements indésirables
-        weights.put(MovementType.SAME_FINGER, 2.0);        // Forte pénalité pour même doigt
-        weights.put(MovementType.LATERAL_STRETCH, 1.5);    // Pénalité pour extension
-        weights.put(MovementType.SCISSORS, 1.8);           // Pénalité pour ciseaux
-        weights.put(MovementType.BAD_REDIRECTION, 1.7);    // Pénalité pour mauvaise redirection
-        weights.put(MovementType.REDIRECTION, 1.2);        // Pénalité légère pour redirection
-        weights.put(MovementType.SAME_FINGER_SKIPGRAM, 1.6); // Pénalité pour skipgram
-        
-        // Bonus pour les bons mouvements
-        weights.put(MovementType.HAND_ALTERNATION, -0.8);  // Bonus pour alternance
-        weights.put(MovementType.INWARD_ROLL, -1.0);       // Bonus pour roulement intérieur
-        weights.put(MovementType.OUTWARD_ROLL, -0.5);      // Petit bonus pour roulement extérieur
-        
-        return weights;
+    /**
+     * Retourne le jeu de poids utilisé par cet évaluateur.
+     */
+    public ScoringWeights getWeights() {
+        return scoringWeights;
+    }
+    
+    /**
+     * Crée un évaluateur partageant la même table de fréquences avec d'autres poids.
+     */
+    public LayoutEvaluator withWeights(ScoringWeights weights) {
+        return new LayoutEvaluator(ngramTable, weights);
+    }
+    
+    /**
+     * Retourne l'empreinte de la table des fréquences et du jeu de poids : deux
+     * évaluateurs de même empreinte donnent le même score à toute disposition.
+     */
+    public long fingerprint() {
+        long hash = FitnessArchive.mix(ngramTable.fingerprint(), SCORING_VERSION);
+        for (double weight : scoringWeights.toVector()) {
+            hash = FitnessArchive.mix(hash, Double.doubleToLongBits(weight));
+        }
+        return FitnessArchive.mix(hash, Double.doubleToLongBits(scoringWeights.fingerLoadFactor()));
+    }
+    
+    /**
+     * Définit le nombre de bigrammes et trigrammes à partir duquel une évaluation
+     * est répartie sur le pool fork/join commun.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    /**
+     * Remplace le noyau de comptage choisi au démarrage (tests et bancs d'essai).
+     */
+    void useKernel(TallyKernel kernel) {
+        this.kernel = kernel;
+    }
+    
+    /**
+     * Retourne le nom du noyau de comptage utilisé ("scalar" ou "vector-…").
+     */
+    public String getKernelName() {
+        return kernel.name();
     }
     
     /**
@@ -83,6 +153,57 @@ public class LayoutEvaluator {
         return Map.copyOf(fingerLoads);
     }
     
+    /**
+     * Retourne les charges de chaque main (en %) après l'évaluation.
+     */
+    public Map<KeyboardLayout.Hand, Double> getHandLoads() {
+        Map<KeyboardLayout.Hand, Double> handLoads = new EnumMap<>(KeyboardLayout.Hand.class);
+        for (KeyboardLayout.Hand hand : KeyboardLayout.Hand.values()) {
+            handLoads.put(hand, 0.0);
+        }
+        for (Map.Entry<KeyboardLayout.Finger, Double> entry : fingerLoads.entrySet()) {
+            handLoads.merge(entry.getKey().hand(), entry.getValue(), Double::sum);
+        }
+        return handLoads;
+    }
+    
+    /**
+     * Crée un évaluateur approché qui ne garde que les bigrammes et trigrammes
+     * les plus fréquents couvrant la part donnée de leur masse totale.
+     * Les unigrammes (charges des doigts) restent exacts.
+     * 
+     * <p>Il sert au criblage rapide des candidats ; le classement final doit
+     * se faire avec l'évaluateur exact.
+     * 
+     * @param massShare part de la masse des n-grammes à conserver, dans ]0, 1]
+     */
+    public LayoutEvaluator approximate(double massShare) {
+        return new LayoutEvaluator(ngramTable.truncate(massShare), scoringWeights);
+    }
+    
+    /**
+     * Indique si cet évaluateur ignore une partie de la table des fréquences.
+     */
+    public boolean isApproximate() {
+        return ngramTable.droppedBigramMass > 0 || ngramTable.droppedTrigramMass > 0;
+    }
+    
+    /**
+     * Retourne une borne de l'écart maximal entre le score approché et le score exact,
+     * valable pour toute disposition (0 pour un évaluateur exact).
+     * 
+     * <p>Chaque bigramme écarté aurait contribué au plus |poids max| par occurrence,
+     * chaque trigramme écarté au plus 2 × |poids max| (redirection et skipgram).
+     * La borne suppose qu'au moins un bigramme conservé est présent sur la disposition.
+     */
+    public double getMaxApproximationError() {
+        double maxAbsWeight = weights.values().stream()
+            .mapToDouble(Math::abs)
+            .max()
+            .orElse(0.0);
+        return maxAbsWeight * (ngramTable.droppedBigramMass + 2.0 * ngramTable.droppedTrigramMass);
+    }
+    
     /**
      * Évalue une disposition de clavier et retourne un score.
      * Plus le score est bas, meilleure est la disposition.
@@ -92,106 +213,338 @@ public class LayoutEvaluator {
             return 0.0;
         }
 
-        // Réinitialiser les compteurs
-        movementCounts.clear();
-        fingerLoads.clear();
+        MovementProfile profile = profileLayout(layout);
         
-        // Initialiser les compteurs à zéro
+        // Conserver les statistiques de cette évaluation
         for (MovementType type : MovementType.values()) {
-            movementCounts.put(type, 0L);
+            movementCounts.put(type, profile.count(type));
         }
-        for (KeyboardLayout.Finger finger : KeyboardLayout.Finger.values()) {
-            fingerLoads.put(finger, 0.0);
-        }
-        
-        totalBigramCount = 0;
-        totalTrigramCount = 0;
-        
-        double score = 0.0;
+        System.arraycopy(profile.fingerKeystrokes(), 0, fingerKeystrokes, 0, fingerKeystrokes.length);
+        totalKeystrokes = profile.totalKeystrokes();
+        totalBigramCount = profile.totalBigramCount();
+        totalTrigramCount = profile.totalTrigramCount();
+        updateFingerLoads();
         
-        // Évaluer les bigrammes
-        for (Map.Entry<String, Long> entry : ngramFrequencies.entrySet()) {
-            String ngram = entry.getKey();
-            if (ngram.length() == 2) {
-                MovementType movement = movementEvaluator.evaluateBigramMovement(layout, ngram);
-                if (movement != null) {
-                    long count = entry.getValue();
-                    movementCounts.merge(movement, count, Long::sum);
-                    totalBigramCount += count;
-                    score += weights.get(movement) * count;
-                }
-            }
-        }
+        return scoringWeights.score(profile);
+    }
 
-        // Si aucun bigramme n'a été trouvé, retourner 0
-        if (totalBigramCount == 0) {
+    /**
+     * Retourne le même score que {@link #evaluateLayout(KeyboardLayout)} sans
+     * modifier les statistiques de l'évaluateur : peut être appelée depuis
+     * plusieurs threads à la fois.
+     */
+    public double scoreLayout(KeyboardLayout layout) {
+        if (layout == null || layout.getKeys().isEmpty()) {
             return 0.0;
         }
+        return scoringWeights.score(profileLayout(layout));
+    }
+
+    /**
+     * Prépare l'évaluation incrémentale d'une disposition, pour noter des
+     * échanges de touches sans réévaluer toute la table.
+     * Cette méthode ne modifie pas les statistiques de l'évaluateur.
+     */
+    public IncrementalEvaluation incremental(KeyboardLayout layout) {
+        LayoutPositions positions = resolvePositions(layout);
+        char[] alphabet = ngramTable.alphabet;
+        int[] strokeSource = new int[alphabet.length];
+        boolean[] shifted = new boolean[alphabet.length];
+        for (int i = 0; i < alphabet.length; i++) {
+            // Caractère de la disposition dont la touche sert à taper alphabet[i],
+            // ou dont la touche choisit l'auriculaire qui tient Shift
+            Character shiftTarget = ngramTable.shiftTarget(alphabet[i]);
+            shifted[i] = shiftTarget != null;
+            char typed = shifted[i] ? shiftTarget : alphabet[i];
+            Character target = KEY_ALIASES.getOrDefault(typed, typed);
+            strokeSource[i] = alphabet[i] != NgramTable.SHIFT && layout.characterToKeyMap().containsKey(target) ? target : -1;
+        }
+        ShiftKeys shiftKeys = ShiftKeys.of(layout);
+        int[] shiftPositions = positions.table().positionsOf(
+            new KeyboardLayout.Key[] {shiftKeys.left(), shiftKeys.right()});
+        return new IncrementalEvaluation(
+            ngramTable, positions.table(), scoringWeights, layout,
+            positions.direct(), positions.stroke(), strokeSource, shifted,
+            shiftPositions[0], shiftPositions[1], profileLayout(layout)
+        );
+    }
+
+    /**
+     * Prépare l'attribution des bigrammes pénalisés aux caractères, pour les
+     * permutations de la disposition donnée (voir {@link PenaltyModel}).
+     * Cette méthode ne modifie pas les statistiques de l'évaluateur.
+     */
+    public PenaltyModel penaltyModel(KeyboardLayout initial) {
+        return new PenaltyModel(initial, ngramTable, movementEvaluator);
+    }
+
+    /**
+     * Construit la table des coûts de bigrammes entre les caractères et les
+     * touches données, avec les poids de cet évaluateur (voir {@link BigramCostTable}).
+     * Cette méthode ne modifie pas les statistiques de l'évaluateur.
+     */
+    public BigramCostTable bigramCostTable(char[] characters, List<KeyboardLayout.Key> keys) {
+        return new BigramCostTable(characters, keys, ngramTable, movementEvaluator, scoringWeights);
+    }
+
+    /**
+     * Compte les mouvements et les frappes par doigt d'une disposition, en un seul
+     * parcours de la table des fréquences.
+     * Le score s'en déduit pour n'importe quel jeu de poids
+     * (voir {@link ScoringWeights#score(MovementProfile)}).
+     * Cette méthode ne modifie pas les statistiques de l'évaluateur.
+     */
+    public MovementProfile profileLayout(KeyboardLayout layout) {
+        long[] strokesPerFinger = new long[KeyboardLayout.Finger.values().length];
+        long keystrokes = 0;
         
-        // Évaluer les trigrammes
-        for (Map.Entry<String, Long> entry : ngramFrequencies.entrySet()) {
-            String ngram = entry.getKey();
-            if (ngram.length() == 3) {
-                score += evaluateTrigram(layout, ngram, entry.getValue());
-                totalTrigramCount += entry.getValue();
+        LayoutPositions positions = resolvePositions(layout);
+        
+        // Un seul parcours de la table : caractères, bigrammes et trigrammes
+        NgramTable table = ngramTable;
+        for (int i = 0; i < table.unigrams.length; i++) {
+            int position = positions.stroke()[table.unigrams[i]];
+            if (position != positions.table().unmapped) {
+                strokesPerFinger[positions.table().fingers[position].ordinal()] += table.unigramCounts[i];
+                keystrokes += table.unigramCounts[i];
             }
         }
+        int size = table.bigramCounts.length + table.trigramCounts.length;
+        long[] histogram = size >= parallelThreshold
+            ? ForkJoinPool.commonPool().invoke(new TallyTask(positions, 0, size))
+            : tally(positions, 0, size);
         
-        // Ajouter la pénalité pour la répartition des doigts
-        score += calculateFingerLoadScore();
+        // Convertir les histogrammes de codes en occurrences par type de mouvement
+        long[] counts = new long[MovementType.values().length];
+        long bigrams = 0;
+        for (int code = 1; code < PositionTable.BIGRAM_CODES; code++) {
+            counts[code - 1] += histogram[code];
+            bigrams += histogram[code];
+        }
+        long trigrams = 0;
+        for (int code = 0; code < PositionTable.TRIGRAM_CODES; code++) {
+            long count = histogram[PositionTable.BIGRAM_CODES + code];
+            if ((code & PositionTable.TRIGRAM_BAD_REDIRECTION) != 0) {
+                counts[MovementType.BAD_REDIRECTION.ordinal()] += count;
+            } else if ((code & PositionTable.TRIGRAM_REDIRECTION) != 0) {
+                counts[MovementType.REDIRECTION.ordinal()] += count;
+            }
+            if ((code & PositionTable.TRIGRAM_SKIPGRAM) != 0) {
+                counts[MovementType.SAME_FINGER_SKIPGRAM.ordinal()] += count;
+            }
+            trigrams += count;
+        }
         
-        return score;
+        return new MovementProfile(counts, strokesPerFinger, keystrokes, bigrams, trigrams);
     }
     
-    private KeyboardLayout.Key getKeyForCharacter(KeyboardLayout layout, char c) {
-        // Gérer les caractères spéciaux
-        switch (c) {
-            case '`':  // accent grave
-                return layout.characterToKeyMap().get('7');  // Sur AZERTY, l'accent grave est sur la touche 7
-            case '^':  // accent circonflexe
-                return layout.characterToKeyMap().get('9');  // Sur AZERTY, l'accent circonflexe est sur la touche 9
-            case '¨':  // tréma
-                return layout.characterToKeyMap().get('¨');  // Sur AZERTY, le tréma est une touche morte
-            case '´':  // accent aigu
-                return layout.characterToKeyMap().get('é');  // Sur AZERTY, l'accent aigu est sur la touche é
-            case '⇧':  // touche Shift
-                return new KeyboardLayout.Key(0, 0, KeyboardLayout.Finger.LEFT_PINKY, '⇧', '⇧');  // Position approximative de Shift
-            default:
-                return layout.characterToKeyMap().get(c);
+    /**
+     * Positions des caractères de la table sur une disposition : directes pour les
+     * bigrammes, avec touches mortes résolues pour les frappes et les trigrammes.
+     */
+    private record LayoutPositions(PositionTable table, int[] direct, int[] stroke) {}
+    
+    /**
+     * Touches Shift d'une disposition : sous la touche la plus basse de chaque
+     * auriculaire, du côté extérieur. Shift est tenu par l'auriculaire opposé à
+     * la touche modifiée ({@link KeyboardLayout.Finger#shiftFinger()}), comme
+     * dans l'optimisation des couches.
+     */
+    private record ShiftKeys(KeyboardLayout.Key left, KeyboardLayout.Key right) {
+        static ShiftKeys of(KeyboardLayout layout) {
+            return new ShiftKeys(
+                below(layout, KeyboardLayout.Finger.LEFT_PINKY),
+                below(layout, KeyboardLayout.Finger.RIGHT_PINKY));
+        }
+
+        private static KeyboardLayout.Key below(KeyboardLayout layout, KeyboardLayout.Finger pinky) {
+            boolean left = pinky.hand() == KeyboardLayout.Hand.LEFT;
+            Collection<KeyboardLayout.Key> keys = layout.characterToKeyMap().values();
+            List<KeyboardLayout.Key> pinkyKeys = keys.stream().filter(key -> key.finger() == pinky).toList();
+            Collection<KeyboardLayout.Key> reference = pinkyKeys.isEmpty() ? keys : pinkyKeys;
+            int row = reference.stream().mapToInt(KeyboardLayout.Key::row).max().orElse(0) + 1;
+            int column = left
+                ? reference.stream().mapToInt(KeyboardLayout.Key::column).min().orElse(0)
+                : reference.stream().mapToInt(KeyboardLayout.Key::column).max().orElse(0);
+            return new KeyboardLayout.Key(row, column, pinky, null, null);
+        }
+
+        /**
+         * Retourne la touche Shift tenue pendant la frappe d'une touche.
+         */
+        KeyboardLayout.Key heldFor(KeyboardLayout.Key key) {
+            return key.finger().shiftFinger() == KeyboardLayout.Finger.LEFT_PINKY ? left : right;
         }
     }
     
-    private double evaluateTrigram(KeyboardLayout layout, String trigram, long frequency) {
-        if (trigram.length() != 3) return 0.0;
+    private LayoutPositions resolvePositions(KeyboardLayout layout) {
+        ShiftKeys shiftKeys = ShiftKeys.of(layout);
+        KeyboardLayout.Key[] keys = resolveKeys(layout, shiftKeys, false);
+        KeyboardLayout.Key[] strokeKeys = resolveKeys(layout, shiftKeys, true);
         
-        char c1 = trigram.charAt(0);
-        char c2 = trigram.charAt(1);
-        char c3 = trigram.charAt(2);
+        // Les permutations d'une même disposition réutilisent la même table
+        List<KeyboardLayout.Key> layoutKeys = new ArrayList<>(layout.characterToKeyMap().values());
+        layoutKeys.add(shiftKeys.left());
+        layoutKeys.add(shiftKeys.right());
+        PositionTable table = positionTable;
+        if (table == null || !table.covers(layoutKeys)) {
+            table = PositionTable.of(layoutKeys, movementEvaluator);
+            positionTable = table;
+        }
+        return new LayoutPositions(table, table.positionsOf(keys), table.positionsOf(strokeKeys));
+    }
+    
+    /**
+     * Compte les n-grammes d'indices [from, to), les bigrammes précédant les trigrammes.
+     * Le résultat est l'histogramme des codes de bigramme suivi de celui des codes
+     * de trigramme (voir {@link PositionTable}).
+     */
+    private long[] tally(LayoutPositions positions, int from, int to) {
+        NgramTable table = ngramTable;
+        PositionTable positionTable = positions.table();
+        long[] bigramHistogram = new long[PositionTable.BIGRAM_CODES];
+        long[] trigramHistogram = new long[PositionTable.TRIGRAM_CODES];
+        int bigramCount = table.bigramCounts.length;
         
-        KeyboardLayout.Key key1 = getKeyForCharacter(layout, c1);
-        KeyboardLayout.Key key2 = getKeyForCharacter(layout, c2);
-        KeyboardLayout.Key key3 = getKeyForCharacter(layout, c3);
+        if (from < bigramCount) {
+            kernel.tallyBigrams(
+                table.bigramFirst, table.bigramSecond, table.bigramCounts,
+                from, Math.min(to, bigramCount),
+                positions.direct(), positionTable.stride, positionTable.bigramCodes, bigramHistogram
+            );
+        }
+        if (to > bigramCount) {
+            kernel.tallyTrigrams(
+                table.trigramFirst, table.trigramSecond, table.trigramThird, table.trigramCounts,
+                Math.max(from, bigramCount) - bigramCount, to - bigramCount,
+                positions.stroke(), positionTable.stride, positionTable.trigramCodes, trigramHistogram
+            );
+        }
         
-        if (key1 == null || key2 == null || key3 == null) return 0.0;
+        long[] histogram = Arrays.copyOf(bigramHistogram, PositionTable.BIGRAM_CODES + PositionTable.TRIGRAM_CODES);
+        System.arraycopy(trigramHistogram, 0, histogram, PositionTable.BIGRAM_CODES, PositionTable.TRIGRAM_CODES);
+        return histogram;
+    }
+    
+    /**
+     * Découpe la table en plages comptées en parallèle.
+     * Les comptages étant des sommes entières, le résultat est identique bit à bit
+     * au parcours séquentiel, quel que soit le découpage.
+     */
+    private class TallyTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final LayoutPositions positions;
+        private final int from;
+        private final int to;
         
-        double score = 0.0;
+        TallyTask(LayoutPositions positions, int from, int to) {
+            this.positions = positions;
+            this.from = from;
+            this.to = to;
+        }
         
-        if (movementEvaluator.isBadRedirection(key1, key2, key3)) {
-            score += weights.get(MovementType.BAD_REDIRECTION);
-            movementCounts.merge(MovementType.BAD_REDIRECTION, frequency, Long::sum);
+        @Override
+        protected long[] compute() {
+            // Environ huit plages par évaluation au seuil
+            if (to - from <= Math.max(1, parallelThreshold / 8)) {
+                return tally(positions, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            TallyTask left = new TallyTask(positions, from, middle);
+            left.fork();
+            long[] right = new TallyTask(positions, middle, to).compute();
+            long[] result = left.join();
+            for (int i = 0; i < result.length; i++) {
+                result[i] += right[i];
+            }
+            return result;
         }
-        else if (movementEvaluator.isRedirection(key1, key2, key3)) {
-            score += weights.get(MovementType.REDIRECTION);
-            movementCounts.merge(MovementType.REDIRECTION, frequency, Long::sum);
+    }
+    
+    /**
+     * Met à jour les charges des doigts après l'échange des touches de deux caractères,
+     * sans reparcourir la table des fréquences.
+     * La disposition passée est celle évaluée en dernier, avant l'échange.
+     * @return la nouvelle pénalité de répartition des doigts
+     */
+    public double applySwapToFingerLoads(KeyboardLayout layout, char c1, char c2) {
+        KeyboardLayout.Key key1 = layout.getKey(c1);
+        KeyboardLayout.Key key2 = layout.getKey(c2);
+        if (key1 != null && key2 != null && key1.finger() != key2.finger()) {
+            // c1 passe sur la touche de c2 et inversement
+            long moved = keystrokeCount(c1) - keystrokeCount(c2);
+            fingerKeystrokes[key1.finger().ordinal()] -= moved;
+            fingerKeystrokes[key2.finger().ordinal()] += moved;
+            // Les Shift de ces touches changent d'auriculaire avec la main
+            long shifts = shiftCount(c1) - shiftCount(c2);
+            fingerKeystrokes[key1.finger().shiftFinger().ordinal()] -= shifts;
+            fingerKeystrokes[key2.finger().shiftFinger().ordinal()] += shifts;
+            updateFingerLoads();
         }
-        
-        // Vérifier les skipgrams
-        if (movementEvaluator.isSameFinger(key1, key3)) {
-            score += weights.get(MovementType.SAME_FINGER_SKIPGRAM);
-            movementCounts.merge(MovementType.SAME_FINGER_SKIPGRAM, frequency, Long::sum);
+        return calculateFingerLoadScore();
+    }
+    
+    /**
+     * Associe à chaque caractère de la table sa touche sur la disposition.
+     * Un Shift est placé sur la touche Shift tenue pendant la frappe du
+     * caractère modifié, ou sur le Shift gauche si ce caractère est inconnu.
+     * @param resolveAliases si vrai, les touches mortes sont ramenées à leur touche physique
+     */
+    private KeyboardLayout.Key[] resolveKeys(KeyboardLayout layout, ShiftKeys shiftKeys, boolean resolveAliases) {
+        char[] alphabet = ngramTable.alphabet;
+        KeyboardLayout.Key[] keys = new KeyboardLayout.Key[alphabet.length];
+        for (int i = 0; i < alphabet.length; i++) {
+            Character shiftTarget = ngramTable.shiftTarget(alphabet[i]);
+            if (shiftTarget != null) {
+                KeyboardLayout.Key shiftedKey = getKeyForCharacter(layout, shiftTarget);
+                keys[i] = shiftedKey != null ? shiftKeys.heldFor(shiftedKey) : null;
+            } else if (alphabet[i] == NgramTable.SHIFT) {
+                keys[i] = shiftKeys.left();
+            } else {
+                keys[i] = resolveAliases ? getKeyForCharacter(layout, alphabet[i]) : layout.getKey(alphabet[i]);
+            }
         }
-        
-        return score * frequency;
+        return keys;
+    }
+    
+    /**
+     * Nombre de frappes réalisées sur la touche du caractère, touches mortes comprises.
+     */
+    private long keystrokeCount(char c) {
+        long count = ngramTable.unigramCount(c);
+        for (Map.Entry<Character, Character> alias : KEY_ALIASES.entrySet()) {
+            if (alias.getValue() == c && alias.getKey() != c) {
+                count += ngramTable.unigramCount(alias.getKey());
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Nombre de Shift tenus pendant la frappe de la touche du caractère.
+     */
+    private long shiftCount(char c) {
+        long count = 0;
+        for (char symbol : ngramTable.alphabet) {
+            Character target = ngramTable.shiftTarget(symbol);
+            if (target != null && KEY_ALIASES.getOrDefault(target, target) == c) {
+                count += ngramTable.unigramCount(symbol);
+            }
+        }
+        return count;
+    }
+    
+    private void updateFingerLoads() {
+        for (KeyboardLayout.Finger finger : KeyboardLayout.Finger.values()) {
+            long strokes = fingerKeystrokes[finger.ordinal()];
+            fingerLoads.put(finger, totalKeystrokes > 0 ? (strokes * 100.0) / totalKeystrokes : 0.0);
+        }
+    }
+    
+    private KeyboardLayout.Key getKeyForCharacter(KeyboardLayout layout, char c) {
+        Character target = KEY_ALIASES.get(c);
+        return layout.characterToKeyMap().get(target != null ? target : c);
     }
     
     /**
@@ -206,7 +559,7 @@ public class LayoutEvaluator {
             double idealLoad = IDEAL_FINGER_LOADS.get(finger);
             score += Math.abs(actualLoad - idealLoad);
         }
-        return score * 0.1; // Facteur de pondération pour ne pas trop pénaliser
+        return score * scoringWeights.fingerLoadFactor();
     }
 
     /**
@@ -221,23 +574,25 @@ public class LayoutEvaluator {
         // Afficher la formule du score
         System.out.println("\nFormule du score :");
         System.out.println("-".repeat(30));
-        System.out.println("Score = Score_bigrammes + Score_trigrammes");
+        System.out.println("Score = Score_bigrammes + Score_trigrammes + Pénalité_charges");
         System.out.println("où :");
         System.out.println("  Score_bigrammes = Σ(occurrences_bigramme × poids_bigramme)");
         System.out.println("  Score_trigrammes = Σ(occurrences_trigramme × poids_trigramme)");
+        System.out.println("  Pénalité_charges = " + String.format("%.2f", scoringWeights.fingerLoadFactor())
+            + " × Σ|charge_doigt - charge_idéale|");
         System.out.println("\nPoids = {");
         System.out.println("  // Pénalités (mouvements indésirables) -> augmentent le score");
-        System.out.println("  même_doigt          : +2.00");
-        System.out.println("  extension_latérale  : +1.50");
-        System.out.println("  ciseaux            : +1.80");
-        System.out.println("  mauvaise_redirection: +1.70");
-        System.out.println("  redirection        : +1.20");
-        System.out.println("  skipgram_même_doigt : +1.60");
+        printWeight("même_doigt          ", MovementType.SAME_FINGER);
+        printWeight("extension_latérale  ", MovementType.LATERAL_STRETCH);
+        printWeight("ciseaux            ", MovementType.SCISSORS);
+        printWeight("mauvaise_redirection", MovementType.BAD_REDIRECTION);
+        printWeight("redirection        ", MovementType.REDIRECTION);
+        printWeight("skipgram_même_doigt ", MovementType.SAME_FINGER_SKIPGRAM);
         System.out.println();
         System.out.println("  // Bonus (mouvements favorables) -> diminuent le score");
-        System.out.println("  alternance_mains    : -0.80");
-        System.out.println("  roulement_intérieur : -1.00");
-        System.out.println("  roulement_extérieur : -0.50");
+        printWeight("alternance_mains    ", MovementType.HAND_ALTERNATION);
+        printWeight("roulement_intérieur ", MovementType.INWARD_ROLL);
+        printWeight("roulement_extérieur ", MovementType.OUTWARD_ROLL);
         System.out.println("}");
         System.out.println("\nNote : Un score négatif est meilleur car il indique plus de");
         System.out.println("mouvements favorables (bonus) que de mouvements pénalisés.");
@@ -248,6 +603,9 @@ public class LayoutEvaluator {
         for (Map.Entry<KeyboardLayout.Finger, Double> entry : fingerLoads.entrySet()) {
             System.out.printf("%-15s : %6.2f%%\n", entry.getKey(), entry.getValue());
         }
+        for (Map.Entry<KeyboardLayout.Hand, Double> entry : getHandLoads().entrySet()) {
+            System.out.printf("Main %-10s : %6.2f%%\n", entry.getKey(), entry.getValue());
+        }
         
         // Afficher les statistiques des mouvements avec leurs contributions au score
         System.out.println("\nContribution des mouvements au score :");
@@ -275,14 +633,19 @@ public class LayoutEvaluator {
         System.out.printf("Sous-total trigrammes : %.2f\n", trigramScore);
         
         System.out.println("\nScore global : " + String.format("%.2f", score));
-        System.out.printf("             = %.2f (bigrammes) + %.2f (trigrammes)\n", bigramScore, trigramScore);
+        System.out.printf("             = %.2f (bigrammes) + %.2f (trigrammes) + %.2f (charges)\n",
+            bigramScore, trigramScore, calculateFingerLoadScore());
         System.out.println("Plus le score est bas, meilleure est la disposition.");
         System.out.println("=".repeat(50));
     }
     
+    private void printWeight(String label, MovementType type) {
+        System.out.printf("  %s: %+.2f%n", label, scoringWeights.weight(type));
+    }
+    
     private double displayMovementStats(MovementType type, String label, long total) {
         long count = movementCounts.getOrDefault(type, 0L);
-        double weight = weights.get(type);
+        double weight = scoringWeights.weight(type);
         double impact = count * weight;
         double percentage = total > 0 ? (count * 100.0) / total : 0.0;
         
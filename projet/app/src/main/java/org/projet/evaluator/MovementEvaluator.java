@@ -188,9 +188,17 @@ public class MovementEvaluator {
             return null;
         }
 
-        Key key1 = layout.getKey(bigram.charAt(0));
-        Key key2 = layout.getKey(bigram.charAt(1));
-
+        return evaluateBigramMovement(
+            layout.getKey(bigram.charAt(0)),
+            layout.getKey(bigram.charAt(1))
+        );
+    }
+    
+    /**
+     * Évalue le type de mouvement entre deux touches frappées successivement.
+     * 
+     */
+    public MovementType evaluateBigramMovement(Key key1, Key key2) {
         if (key1 == null || key2 == null) {
             return null;
         }
@@ -0,0 +1,52 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Comptages bruts d'une disposition : occurrences de chaque type de mouvement
+ * et frappes par doigt.
+ *
+ * <p>Le score d'une disposition est linéaire en ces comptages
+ * (voir {@link ScoringWeights#score(MovementProfile)}), ce qui permet de
+ * rejouer n'importe quel jeu de poids sans réévaluer la disposition.
+ * Les tableaux sont partagés : ils ne doivent pas être modifiés.
+ *
+ * @param movementCounts occurrences par type de mouvement, indexées par {@link MovementType#ordinal()}
+ * @param fingerKeystrokes frappes par doigt, indexées par {@link KeyboardLayout.Finger#ordinal()}
+ * @param totalKeystrokes nombre total de frappes placées sur la disposition
+ * @param totalBigramCount nombre de bigrammes placés sur la disposition
+ * @param totalTrigramCount nombre de trigrammes de la table
+ */
+public record MovementProfile(
+    long[] movementCounts,
+    long[] fingerKeystrokes,
+    long totalKeystrokes,
+    long totalBigramCount,
+    long totalTrigramCount
+) {
+    /**
+     * Retourne le nombre d'occurrences d'un type de mouvement.
+     */
+    public long count(MovementType type) {
+        return movementCounts[type.ordinal()];
+    }
+
+    /**
+     * Retourne la charge d'un doigt en pourcentage des frappes.
+     */
+    public double fingerLoad(KeyboardLayout.Finger finger) {
+        return totalKeystrokes > 0 ? (fingerKeystrokes[finger.ordinal()] * 100.0) / totalKeystrokes : 0.0;
+    }
+
+    /**
+     * Retourne la distance entre la répartition des doigts et la répartition idéale,
+     * soit Σ|charge - charge idéale| en points de pourcentage.
+     */
+    public double fingerLoadDeviation() {
+        double deviation = 0.0;
+        for (KeyboardLayout.Finger finger : KeyboardLayout.Finger.values()) {
+            deviation += Math.abs(fingerLoad(finger) - LayoutEvaluator.IDEAL_FINGER_LOADS.get(finger));
+        }
+        return deviation;
+    }
+}
@@ -0,0 +1,298 @@
+package org.projet.evaluator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Table compacte des fréquences de n-grammes, stockée dans des tableaux primitifs.
+ *
+ * <p>Les caractères sont remplacés par leur indice dans {@link #alphabet}, et chaque
+ * ordre (unigrammes, bigrammes, trigrammes) est trié par fréquence décroissante :
+ * une version tronquée de la table n'est donc qu'un préfixe de chaque tableau.
+ *
+ * <p>La touche Shift ({@value #SHIFT}, produite par l'analyseur) est tenue
+ * par l'auriculaire opposé à la touche qu'elle modifie : sa position dépend
+ * du caractère qui la suit. Chaque « ⇧X » est donc remplacé par un caractère
+ * propre à X (voir {@link #shiftTarget(char)}), placé par l'évaluateur sous
+ * l'auriculaire opposé à la touche de X. Un Shift en fin de n-gramme, dont
+ * la touche suivante n'est pas connue, est réparti entre ces caractères selon
+ * les fréquences des bigrammes « ⇧X ».
+ */
+final class NgramTable {
+    /** Touche Shift dans les séquences de frappes de l'analyseur. */
+    static final char SHIFT = '⇧';
+    /** Premier caractère (zone à usage privé) utilisable pour un Shift résolu. */
+    private static final char FIRST_SHIFT_SYMBOL = '\uE000';
+
+    final char[] alphabet;
+
+    final int[] unigrams;
+    final long[] unigramCounts;
+
+    final int[] bigramFirst;
+    final int[] bigramSecond;
+    final long[] bigramCounts;
+
+    final int[] trigramFirst;
+    final int[] trigramSecond;
+    final int[] trigramThird;
+    final long[] trigramCounts;
+
+    /** Masse des bigrammes et trigrammes écartés par une troncature. */
+    final long droppedBigramMass;
+    final long droppedTrigramMass;
+
+    private final Map<Character, Integer> indexOf;
+    private final long[] unigramCountByIndex;
+    private final Map<Character, Character> shiftTargets;
+
+    private NgramTable(
+        char[] alphabet,
+        Map<Character, Integer> indexOf,
+        Map<Character, Character> shiftTargets,
+        int[][] unigrams, long[] unigramCounts,
+        int[][] bigrams, long[] bigramCounts,
+        int[][] trigrams, long[] trigramCounts,
+        long droppedBigramMass,
+        long droppedTrigramMass
+    ) {
+        this.alphabet = alphabet;
+        this.indexOf = indexOf;
+        this.shiftTargets = shiftTargets;
+        this.unigrams = unigrams[0];
+        this.unigramCounts = unigramCounts;
+        this.bigramFirst = bigrams[0];
+        this.bigramSecond = bigrams[1];
+        this.bigramCounts = bigramCounts;
+        this.trigramFirst = trigrams[0];
+        this.trigramSecond = trigrams[1];
+        this.trigramThird = trigrams[2];
+        this.trigramCounts = trigramCounts;
+        this.droppedBigramMass = droppedBigramMass;
+        this.droppedTrigramMass = droppedTrigramMass;
+        this.unigramCountByIndex = new long[alphabet.length];
+        for (int i = 0; i < this.unigrams.length; i++) {
+            unigramCountByIndex[this.unigrams[i]] = unigramCounts[i];
+        }
+    }
+
+    /**
+     * Construit la table à partir des fréquences produites par l'analyseur.
+     * Les n-grammes de longueur supérieure à 3 sont ignorés.
+     */
+    static NgramTable from(Map<String, Long> ngramFrequencies) {
+        Map<Character, Character> shiftTargets = new HashMap<>();
+        ngramFrequencies = resolveShift(ngramFrequencies, shiftTargets);
+        Map<Character, Integer> indexOf = new HashMap<>();
+        List<List<Map.Entry<String, Long>>> byOrder = List.of(
+            new ArrayList<>(), new ArrayList<>(), new ArrayList<>()
+        );
+        ngramFrequencies.entrySet().stream()
+            .filter(entry -> entry.getKey().length() >= 1 && entry.getKey().length() <= 3)
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+            .forEach(entry -> {
+                for (char c : entry.getKey().toCharArray()) {
+                    indexOf.putIfAbsent(c, indexOf.size());
+                }
+                byOrder.get(entry.getKey().length() - 1).add(entry);
+            });
+
+        char[] alphabet = new char[indexOf.size()];
+        indexOf.forEach((c, index) -> alphabet[index] = c);
+
+        return new NgramTable(
+            alphabet, indexOf, shiftTargets,
+            encode(byOrder.get(0), 1, indexOf), counts(byOrder.get(0)),
+            encode(byOrder.get(1), 2, indexOf), counts(byOrder.get(1)),
+            encode(byOrder.get(2), 3, indexOf), counts(byOrder.get(2)),
+            0L, 0L
+        );
+    }
+
+    /**
+     * Remplace chaque Shift par le caractère propre à la touche qu'il modifie.
+     * @param shiftTargets reçoit, pour chaque caractère de Shift résolu, le caractère modifié
+     */
+    private static Map<String, Long> resolveShift(Map<String, Long> frequencies, Map<Character, Character> shiftTargets) {
+        // Caractères modifiés et fréquence de chacun après un Shift
+        Map<Character, Long> weights = new TreeMap<>();
+        Set<Character> used = new HashSet<>();
+        frequencies.forEach((ngram, count) -> {
+            for (char c : ngram.toCharArray()) {
+                used.add(c);
+            }
+            if (ngram.length() == 2 && ngram.charAt(0) == SHIFT && ngram.charAt(1) != SHIFT && count > 0) {
+                weights.merge(ngram.charAt(1), count, Long::sum);
+            }
+        });
+        if (weights.isEmpty()) {
+            return frequencies;
+        }
+        Map<Character, Character> symbolOf = new HashMap<>();
+        char next = FIRST_SHIFT_SYMBOL;
+        for (char target : weights.keySet()) {
+            while (used.contains(next)) {
+                next++;
+            }
+            symbolOf.put(target, next);
+            shiftTargets.put(next, target);
+            next++;
+        }
+        long totalWeight = weights.values().stream().mapToLong(Long::longValue).sum();
+        char heaviest = weights.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+
+        Map<String, Long> resolved = new HashMap<>();
+        frequencies.forEach((ngram, count) -> {
+            if (ngram.indexOf(SHIFT) < 0) {
+                resolved.merge(ngram, count, Long::sum);
+                return;
+            }
+            char[] chars = ngram.toCharArray();
+            for (int i = 0; i + 1 < chars.length; i++) {
+                if (chars[i] == SHIFT && symbolOf.containsKey(chars[i + 1])) {
+                    chars[i] = symbolOf.get(chars[i + 1]);
+                }
+            }
+            int last = chars.length - 1;
+            if (chars[last] != SHIFT) {
+                resolved.merge(new String(chars), count, Long::sum);
+                return;
+            }
+            // Touche suivante inconnue : répartition entière, le reste au caractère le plus fréquent
+            long remainder = count;
+            for (Map.Entry<Character, Long> weight : weights.entrySet()) {
+                long share = (long) ((double) count * weight.getValue() / totalWeight);
+                remainder -= share;
+                chars[last] = symbolOf.get(weight.getKey());
+                if (share > 0) {
+                    resolved.merge(new String(chars), share, Long::sum);
+                }
+            }
+            if (remainder > 0) {
+                chars[last] = symbolOf.get(heaviest);
+                resolved.merge(new String(chars), remainder, Long::sum);
+            }
+        });
+        return resolved;
+    }
+
+    private static int[][] encode(List<Map.Entry<String, Long>> entries, int order, Map<Character, Integer> indexOf) {
+        int[][] columns = new int[order][entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            String ngram = entries.get(i).getKey();
+            for (int j = 0; j < order; j++) {
+                columns[j][i] = indexOf.get(ngram.charAt(j));
+            }
+        }
+        return columns;
+    }
+
+    private static long[] counts(List<Map.Entry<String, Long>> entries) {
+        return entries.stream().mapToLong(Map.Entry::getValue).toArray();
+    }
+
+    /**
+     * Retourne une table ne gardant que les bigrammes et trigrammes les plus fréquents
+     * couvrant au moins la part donnée de la masse de chaque ordre.
+     * Les unigrammes sont toujours conservés.
+     *
+     * @param massShare part de la masse à conserver, entre 0 (exclu) et 1
+     */
+    NgramTable truncate(double massShare) {
+        if (massShare <= 0.0 || massShare > 1.0) {
+            throw new IllegalArgumentException("La part de masse doit être dans ]0, 1]");
+        }
+        int bigramsKept = prefixCovering(bigramCounts, massShare);
+        int trigramsKept = prefixCovering(trigramCounts, massShare);
+
+        return new NgramTable(
+            alphabet, indexOf, shiftTargets,
+            new int[][] {unigrams}, unigramCounts,
+            new int[][] {
+                Arrays.copyOf(bigramFirst, bigramsKept),
+                Arrays.copyOf(bigramSecond, bigramsKept)
+            },
+            Arrays.copyOf(bigramCounts, bigramsKept),
+            new int[][] {
+                Arrays.copyOf(trigramFirst, trigramsKept),
+                Arrays.copyOf(trigramSecond, trigramsKept),
+                Arrays.copyOf(trigramThird, trigramsKept)
+            },
+            Arrays.copyOf(trigramCounts, trigramsKept),
+            droppedBigramMass + sum(bigramCounts, bigramsKept, bigramCounts.length),
+            droppedTrigramMass + sum(trigramCounts, trigramsKept, trigramCounts.length)
+        );
+    }
+
+    /**
+     * Empreinte du contenu de la table : deux tables de mêmes n-grammes et de
+     * mêmes fréquences ont la même empreinte.
+     */
+    long fingerprint() {
+        long hash = FitnessArchive.mix(0L, alphabet.length);
+        for (char c : alphabet) {
+            hash = FitnessArchive.mix(hash, c);
+        }
+        for (int[] column : new int[][] {unigrams, bigramFirst, bigramSecond, trigramFirst, trigramSecond, trigramThird}) {
+            hash = FitnessArchive.mix(hash, column.length);
+            for (int value : column) {
+                hash = FitnessArchive.mix(hash, value);
+            }
+        }
+        for (long[] column : new long[][] {unigramCounts, bigramCounts, trigramCounts}) {
+            for (long value : column) {
+                hash = FitnessArchive.mix(hash, value);
+            }
+        }
+        hash = FitnessArchive.mix(hash, droppedBigramMass);
+        return FitnessArchive.mix(hash, droppedTrigramMass);
+    }
+
+    private static int prefixCovering(long[] counts, double massShare) {
+        double target = massShare * sum(counts, 0, counts.length);
+        long covered = 0;
+        int kept = 0;
+        while (kept < counts.length && covered < target) {
+            covered += counts[kept++];
+        }
+        return kept;
+    }
+
+    private static long sum(long[] counts, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    /**
+     * Retourne l'indice d'un caractère dans l'alphabet, ou -1 s'il n'apparaît pas.
+     */
+    int indexOf(char c) {
+        return indexOf.getOrDefault(c, -1);
+    }
+
+    /**
+     * Retourne le caractère modifié par un Shift résolu, ou null pour un autre caractère.
+     */
+    Character shiftTarget(char c) {
+        return shiftTargets.get(c);
+    }
+
+    /**
+     * Retourne le nombre d'occurrences d'un caractère seul.
+     */
+    long unigramCount(char c) {
+        int index = indexOf(c);
+        return index < 0 ? 0L : unigramCountByIndex[index];
+    }
+}
@@ -0,0 +1,225 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attribution des bigrammes pénalisés (même doigt, ciseaux, extension
+ * latérale) aux caractères d'une disposition.
+ *
+ * <p>Le modèle travaille sur le codage par permutation des optimiseurs : les
+ * caractères de la disposition de départ sont numérotés dans l'ordre
+ * croissant, la touche initiale du caractère i est l'emplacement i, et
+ * {@code genome[i]} est l'emplacement occupé par le caractère i. Seuls les
+ * bigrammes dont les deux caractères sont sur la disposition sont retenus,
+ * avec pour chaque caractère la liste des bigrammes qui le contiennent :
+ * l'attribution coûte un parcours de ces bigrammes, sans passer par la table
+ * complète.
+ *
+ * <p>Le modèle est immuable et peut être partagé entre threads.
+ *
+ * @see LayoutEvaluator#penaltyModel(KeyboardLayout)
+ */
+public final class PenaltyModel {
+    private final char[] characters;
+    private final int slots;
+    /** Vrai si le bigramme de l'emplacement a vers l'emplacement b est pénalisé. */
+    private final boolean[] penalized;
+    private final int[] bigramFirst;
+    private final int[] bigramSecond;
+    private final long[] bigramCounts;
+    private final int[][] bigramsOf;
+
+    PenaltyModel(KeyboardLayout initial, NgramTable ngramTable, MovementEvaluator movementEvaluator) {
+        Map<Character, KeyboardLayout.Key> keys = initial.characterToKeyMap();
+        this.characters = new char[keys.size()];
+        int n = 0;
+        for (char c : keys.keySet()) {
+            characters[n++] = c;
+        }
+        Arrays.sort(characters);
+        this.slots = n;
+
+        this.penalized = new boolean[n * n];
+        for (int a = 0; a < n; a++) {
+            for (int b = 0; b < n; b++) {
+                MovementType movement = movementEvaluator.evaluateBigramMovement(
+                    keys.get(characters[a]), keys.get(characters[b]));
+                penalized[a * n + b] = movement == MovementType.SAME_FINGER
+                    || movement == MovementType.SCISSORS
+                    || movement == MovementType.LATERAL_STRETCH;
+            }
+        }
+
+        // Indice dans la disposition de chaque caractère de la table, -1 s'il n'y est pas
+        int[] layoutIndex = new int[ngramTable.alphabet.length];
+        for (int i = 0; i < layoutIndex.length; i++) {
+            layoutIndex[i] = Arrays.binarySearch(characters, ngramTable.alphabet[i]);
+            if (layoutIndex[i] < 0) {
+                layoutIndex[i] = -1;
+            }
+        }
+        List<Integer> kept = new ArrayList<>();
+        for (int b = 0; b < ngramTable.bigramCounts.length; b++) {
+            if (layoutIndex[ngramTable.bigramFirst[b]] >= 0 && layoutIndex[ngramTable.bigramSecond[b]] >= 0) {
+                kept.add(b);
+            }
+        }
+        this.bigramFirst = new int[kept.size()];
+        this.bigramSecond = new int[kept.size()];
+        this.bigramCounts = new long[kept.size()];
+        int[] degree = new int[n];
+        for (int k = 0; k < kept.size(); k++) {
+            int b = kept.get(k);
+            bigramFirst[k] = layoutIndex[ngramTable.bigramFirst[b]];
+            bigramSecond[k] = layoutIndex[ngramTable.bigramSecond[b]];
+            bigramCounts[k] = ngramTable.bigramCounts[b];
+            degree[bigramFirst[k]]++;
+            if (bigramSecond[k] != bigramFirst[k]) {
+                degree[bigramSecond[k]]++;
+            }
+        }
+        this.bigramsOf = new int[n][];
+        for (int c = 0; c < n; c++) {
+            bigramsOf[c] = new int[degree[c]];
+            degree[c] = 0;
+        }
+        for (int k = 0; k < bigramCounts.length; k++) {
+            bigramsOf[bigramFirst[k]][degree[bigramFirst[k]]++] = k;
+            if (bigramSecond[k] != bigramFirst[k]) {
+                bigramsOf[bigramSecond[k]][degree[bigramSecond[k]]++] = k;
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de caractères (et d'emplacements).
+     */
+    public int size() {
+        return slots;
+    }
+
+    /**
+     * Retourne le caractère d'indice i.
+     */
+    public char character(int i) {
+        return characters[i];
+    }
+
+    /**
+     * Occurrences de bigrammes pénalisés attribuées à chaque caractère :
+     * chaque bigramme pénalisé compte pour moitié à chacun de ses deux
+     * caractères, de sorte que la somme vaut {@link #totalPenalty(short[])}.
+     */
+    public double[] characterPenalties(short[] genome) {
+        checkGenome(genome);
+        double[] penalties = new double[slots];
+        for (int k = 0; k < bigramCounts.length; k++) {
+            if (penalized[genome[bigramFirst[k]] * slots + genome[bigramSecond[k]]]) {
+                penalties[bigramFirst[k]] += bigramCounts[k] / 2.0;
+                penalties[bigramSecond[k]] += bigramCounts[k] / 2.0;
+            }
+        }
+        return penalties;
+    }
+
+    /**
+     * Met à jour les pénalités par caractère d'un codage (voir
+     * {@link #characterPenalties(short[])}) pour l'échange des caractères c1
+     * et c2, en ne parcourant que les bigrammes qui les contiennent.
+     * @param penalties pénalités du codage avant l'échange, modifiées en place
+     * @param genome codage avant l'échange
+     */
+    public void applySwap(double[] penalties, short[] genome, int c1, int c2) {
+        checkGenome(genome);
+        if (c1 == c2) {
+            return;
+        }
+        updateSwap(penalties, genome, c1, c2, -1);
+        updateSwap(penalties, genome, c2, c1, c1);
+    }
+
+    /**
+     * Reporte la variation des bigrammes de c, sauf ceux contenant skip (déjà comptés).
+     */
+    private void updateSwap(double[] penalties, short[] genome, int c, int other, int skip) {
+        int slot = genome[other];
+        for (int k : bigramsOf[c]) {
+            int first = bigramFirst[k];
+            int second = bigramSecond[k];
+            if (first == skip || second == skip) {
+                continue;
+            }
+            boolean before = penalized[genome[first] * slots + genome[second]];
+            boolean after = penalized[position(genome, first, c, other, slot) * slots
+                + position(genome, second, c, other, slot)];
+            if (before != after) {
+                double half = (after ? bigramCounts[k] : -bigramCounts[k]) / 2.0;
+                penalties[first] += half;
+                penalties[second] += half;
+            }
+        }
+    }
+
+    /**
+     * Nombre total d'occurrences de bigrammes pénalisés.
+     */
+    public long totalPenalty(short[] genome) {
+        checkGenome(genome);
+        long total = 0;
+        for (int k = 0; k < bigramCounts.length; k++) {
+            if (penalized[genome[bigramFirst[k]] * slots + genome[bigramSecond[k]]]) {
+                total += bigramCounts[k];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Occurrences pénalisées des bigrammes du caractère c si on l'échangeait
+     * avec l'occupant de chaque emplacement. L'entrée de l'emplacement actuel
+     * de c correspond à la situation présente.
+     */
+    public long[] placementPenalties(short[] genome, int c) {
+        checkGenome(genome);
+        int[] occupant = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            occupant[genome[i]] = i;
+        }
+        long[] penalties = new long[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            int other = occupant[slot];
+            long total = 0;
+            for (int k : bigramsOf[c]) {
+                int first = position(genome, bigramFirst[k], c, other, slot);
+                int second = position(genome, bigramSecond[k], c, other, slot);
+                if (penalized[first * slots + second]) {
+                    total += bigramCounts[k];
+                }
+            }
+            penalties[slot] = total;
+        }
+        return penalties;
+    }
+
+    /**
+     * Emplacement du caractère x après l'échange de c (vers slot) avec other.
+     */
+    private static int position(short[] genome, int x, int c, int other, int slot) {
+        if (x == c) {
+            return slot;
+        }
+        return x == other ? genome[c] : genome[x];
+    }
+
+    private void checkGenome(short[] genome) {
+        if (genome.length != slots) {
+            throw new IllegalArgumentException(
+                "Codage de " + genome.length + " caractères pour un modèle de " + slots);
+        }
+    }
+}
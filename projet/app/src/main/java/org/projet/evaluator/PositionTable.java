@@ -0,0 +1,111 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tables de classification des mouvements entre positions physiques.
+ *
+ * <p>Chaque touche distincte reçoit un indice de position ; l'indice
+ * {@link #unmapped} désigne un caractère absent de la disposition. Les tables
+ * donnent directement le code de mouvement d'un bigramme ou d'un trigramme
+ * à partir des positions de ses caractères, ce qui ramène l'évaluation à des
+ * accès indexés dans des tableaux primitifs.
+ *
+ * <p>Les dispositions obtenues par permutation des caractères partagent les
+ * mêmes touches, donc la même table.
+ */
+final class PositionTable {
+    /** Code de trigramme : bits 0-1 pour la redirection, bit 2 pour le skipgram. */
+    static final int TRIGRAM_REDIRECTION = 1;
+    static final int TRIGRAM_BAD_REDIRECTION = 2;
+    static final int TRIGRAM_SKIPGRAM = 4;
+    static final int TRIGRAM_CODES = 8;
+
+    /** Nombre de codes de bigramme : 0 pour aucun mouvement, puis ordinal + 1. */
+    static final int BIGRAM_CODES = MovementType.values().length + 1;
+
+    final int unmapped;
+    final int stride;
+    final int[] bigramCodes;
+    final int[] trigramCodes;
+    final KeyboardLayout.Finger[] fingers;
+
+    private final Map<KeyboardLayout.Key, Integer> indexOf;
+
+    private PositionTable(List<KeyboardLayout.Key> keys, MovementEvaluator movementEvaluator) {
+        int count = keys.size();
+        this.unmapped = count;
+        this.stride = count + 1;
+        this.indexOf = new HashMap<>();
+        this.fingers = new KeyboardLayout.Finger[count];
+        for (int i = 0; i < count; i++) {
+            indexOf.put(keys.get(i), i);
+            fingers[i] = keys.get(i).finger();
+        }
+
+        this.bigramCodes = new int[stride * stride];
+        this.trigramCodes = new int[stride * stride * stride];
+        for (int i = 0; i < count; i++) {
+            KeyboardLayout.Key key1 = keys.get(i);
+            for (int j = 0; j < count; j++) {
+                KeyboardLayout.Key key2 = keys.get(j);
+                MovementType movement = movementEvaluator.evaluateBigramMovement(key1, key2);
+                bigramCodes[i * stride + j] = movement != null ? movement.ordinal() + 1 : 0;
+                for (int k = 0; k < count; k++) {
+                    trigramCodes[(i * stride + j) * stride + k] =
+                        trigramCode(movementEvaluator, key1, key2, keys.get(k));
+                }
+            }
+        }
+    }
+
+    /**
+     * Construit la table pour un ensemble de touches (les doublons sont ignorés).
+     */
+    static PositionTable of(Collection<KeyboardLayout.Key> keys, MovementEvaluator movementEvaluator) {
+        return new PositionTable(new ArrayList<>(new LinkedHashSet<>(keys)), movementEvaluator);
+    }
+
+    private static int trigramCode(
+        MovementEvaluator movementEvaluator,
+        KeyboardLayout.Key key1,
+        KeyboardLayout.Key key2,
+        KeyboardLayout.Key key3
+    ) {
+        int code = 0;
+        if (movementEvaluator.isBadRedirection(key1, key2, key3)) {
+            code = TRIGRAM_BAD_REDIRECTION;
+        } else if (movementEvaluator.isRedirection(key1, key2, key3)) {
+            code = TRIGRAM_REDIRECTION;
+        }
+        if (movementEvaluator.isSameFinger(key1, key3)) {
+            code |= TRIGRAM_SKIPGRAM;
+        }
+        return code;
+    }
+
+    /**
+     * Indique si toutes les touches données ont une position dans cette table.
+     */
+    boolean covers(Collection<KeyboardLayout.Key> keys) {
+        return indexOf.keySet().containsAll(keys);
+    }
+
+    /**
+     * Retourne la position de chaque touche, {@link #unmapped} pour une touche absente.
+     */
+    int[] positionsOf(KeyboardLayout.Key[] keys) {
+        int[] positions = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            positions[i] = keys[i] != null ? indexOf.getOrDefault(keys[i], unmapped) : unmapped;
+        }
+        return positions;
+    }
+}
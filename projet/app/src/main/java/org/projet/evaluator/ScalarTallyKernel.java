@@ -0,0 +1,33 @@
+package org.projet.evaluator;
+
+/**
+ * Noyau de comptage scalaire, disponible sur toute JVM.
+ */
+final class ScalarTallyKernel implements TallyKernel {
+
+    @Override
+    public void tallyBigrams(
+        int[] first, int[] second, long[] counts, int from, int to,
+        int[] position, int stride, int[] codes, long[] histogram
+    ) {
+        for (int i = from; i < to; i++) {
+            histogram[codes[position[first[i]] * stride + position[second[i]]]] += counts[i];
+        }
+    }
+
+    @Override
+    public void tallyTrigrams(
+        int[] first, int[] second, int[] third, long[] counts, int from, int to,
+        int[] position, int stride, int[] codes, long[] histogram
+    ) {
+        for (int i = from; i < to; i++) {
+            int index = (position[first[i]] * stride + position[second[i]]) * stride + position[third[i]];
+            histogram[codes[index]] += counts[i];
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,80 @@
+package org.projet.evaluator;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Jeu de poids utilisé pour calculer le score d'une disposition.
+ *
+ * <p>Score = Σ(poids_mouvement × occurrences_mouvement) + facteur_charges × écart_charges.
+ * Les pénalités sont positives, les bonus négatifs ; un type absent a un poids nul.
+ *
+ * @param name nom du jeu de poids
+ * @param movementWeights poids de chaque type de mouvement
+ * @param fingerLoadFactor facteur appliqué à l'écart à la répartition idéale des doigts
+ */
+public record ScoringWeights(
+    String name,
+    Map<MovementType, Double> movementWeights,
+    double fingerLoadFactor
+) {
+    public ScoringWeights {
+        movementWeights = Map.copyOf(movementWeights);
+    }
+
+    /**
+     * Retourne les poids par défaut de l'évaluateur.
+     */
+    public static ScoringWeights defaults() {
+        Map<MovementType, Double> weights = new EnumMap<>(MovementType.class);
+
+        // Pénalités pour les mouvements indésirables
+        weights.put(MovementType.SAME_FINGER, 2.0);        // Forte pénalité pour même doigt
+        weights.put(MovementType.LATERAL_STRETCH, 1.5);    // Pénalité pour extension
+        weights.put(MovementType.SCISSORS, 1.8);           // Pénalité pour ciseaux
+        weights.put(MovementType.BAD_REDIRECTION, 1.7);    // Pénalité pour mauvaise redirection
+        weights.put(MovementType.REDIRECTION, 1.2);        // Pénalité légère pour redirection
+        weights.put(MovementType.SAME_FINGER_SKIPGRAM, 1.6); // Pénalité pour skipgram
+
+        // Bonus pour les bons mouvements
+        weights.put(MovementType.HAND_ALTERNATION, -0.8);  // Bonus pour alternance
+        weights.put(MovementType.INWARD_ROLL, -1.0);       // Bonus pour roulement intérieur
+        weights.put(MovementType.OUTWARD_ROLL, -0.5);      // Petit bonus pour roulement extérieur
+
+        // Facteur de pondération pour ne pas trop pénaliser la répartition des doigts
+        return new ScoringWeights("default", weights, 0.1);
+    }
+
+    /**
+     * Retourne le poids d'un type de mouvement.
+     */
+    public double weight(MovementType type) {
+        return movementWeights.getOrDefault(type, 0.0);
+    }
+
+    /**
+     * Retourne les poids sous forme de vecteur indexé par {@link MovementType#ordinal()}.
+     */
+    public double[] toVector() {
+        double[] vector = new double[MovementType.values().length];
+        for (MovementType type : MovementType.values()) {
+            vector[type.ordinal()] = weight(type);
+        }
+        return vector;
+    }
+
+    /**
+     * Calcule le score d'une disposition à partir de ses comptages.
+     * Une disposition sur laquelle aucun bigramme n'est placé a un score nul.
+     */
+    public double score(MovementProfile profile) {
+        if (profile.totalBigramCount() == 0) {
+            return 0.0;
+        }
+        double score = 0.0;
+        for (MovementType type : MovementType.values()) {
+            score += weight(type) * profile.count(type);
+        }
+        return score + fingerLoadFactor * profile.fingerLoadDeviation();
+    }
+}
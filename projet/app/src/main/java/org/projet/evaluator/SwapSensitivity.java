@@ -0,0 +1,286 @@
+package org.projet.evaluator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.projet.model.KeyboardLayout;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Sensibilité d'une disposition aux échanges de touches : variation du score
+ * pour chaque paire de caractères, et résumé du « regret » de chaque touche.
+ *
+ * <p>Les N(N-1)/2 échanges sont notés par une seule
+ * {@link IncrementalEvaluation}, sans jamais l'appliquer : chaque ligne de
+ * la matrice est calculée en parallèle et ne coûte que les n-grammes des
+ * caractères concernés, et non une évaluation complète.
+ *
+ * <p>Un delta négatif signale un échange qui améliorerait le score (plus bas
+ * est meilleur). Le regret d'un caractère est le gain du meilleur échange qui
+ * le concerne, nul si aucun échange ne l'améliore.
+ *
+ * <p>Exemple d'utilisation :
+ * <pre>{@code
+ * SwapSensitivity sensitivity = new SwapSensitivity(evaluator, layout);
+ * double delta = sensitivity.delta('e', 'a');
+ * List<SwapSensitivity.KeyRegret> regrets = sensitivity.regrets();  // plus grand regret d'abord
+ * sensitivity.writeCsv(Path.of("sensibilite.csv"));
+ * }</pre>
+ */
+public class SwapSensitivity {
+    private final String layoutName;
+    private final double score;
+    private final char[] characters;
+    private final Map<Character, KeyboardLayout.Key> keys;
+    private final double[][] deltas;   // [caractère][caractère], symétrique, diagonale nulle
+
+    /**
+     * Résumé des échanges d'un caractère.
+     *
+     * @param character le caractère
+     * @param key sa touche sur la disposition analysée
+     * @param regret gain du meilleur échange, nul si aucun n'améliore le score
+     * @param bestPartner caractère du meilleur échange (le plus petit delta)
+     * @param bestDelta variation du score pour ce meilleur échange
+     * @param improvingSwaps nombre d'échanges qui amélioreraient le score
+     * @param meanDelta variation moyenne sur tous les échanges du caractère
+     */
+    public record KeyRegret(
+        char character,
+        KeyboardLayout.Key key,
+        double regret,
+        char bestPartner,
+        double bestDelta,
+        int improvingSwaps,
+        double meanDelta
+    ) {}
+
+    /**
+     * Calcule la matrice des échanges de tous les caractères de la disposition.
+     * Cette méthode ne modifie pas les statistiques de l'évaluateur.
+     */
+    public SwapSensitivity(LayoutEvaluator evaluator, KeyboardLayout layout) {
+        if (layout.characterToKeyMap().size() < 2) {
+            throw new IllegalArgumentException("Au moins deux caractères sont nécessaires pour un échange");
+        }
+        IncrementalEvaluation evaluation = evaluator.incremental(layout);
+        this.layoutName = layout.name();
+        this.score = evaluation.score();
+        this.keys = Map.copyOf(layout.characterToKeyMap());
+        this.characters = new char[layout.characterToKeyMap().size()];
+        int index = 0;
+        for (char c : layout.characterToKeyMap().keySet()) {
+            characters[index++] = c;
+        }
+        Arrays.sort(characters);
+
+        int n = characters.length;
+        this.deltas = new double[n][n];
+        // Lignes appariées (i, n-1-i) pour équilibrer le triangle supérieur entre les threads
+        IntStream.range(0, (n + 1) / 2).parallel().forEach(r -> {
+            fillRow(evaluation, r);
+            if (n - 1 - r != r) {
+                fillRow(evaluation, n - 1 - r);
+            }
+        });
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                deltas[i][j] = deltas[j][i];
+            }
+        }
+    }
+
+    /**
+     * Remplit la partie de la ligne i au-dessus de la diagonale.
+     * {@link IncrementalEvaluation#deltaForSwap(char, char)} ne modifie pas l'état.
+     */
+    private void fillRow(IncrementalEvaluation evaluation, int i) {
+        for (int j = i + 1; j < characters.length; j++) {
+            deltas[i][j] = evaluation.deltaForSwap(characters[i], characters[j]);
+        }
+    }
+
+    /**
+     * Retourne le nom de la disposition analysée.
+     */
+    public String getLayoutName() {
+        return layoutName;
+    }
+
+    /**
+     * Retourne le score de la disposition analysée.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Retourne les caractères dans l'ordre des lignes et des colonnes de la matrice.
+     */
+    public String getCharacters() {
+        return new String(characters);
+    }
+
+    /**
+     * Retourne la variation du score si les touches de c1 et c2 étaient échangées.
+     */
+    public double delta(char c1, char c2) {
+        return deltas[indexOf(c1)][indexOf(c2)];
+    }
+
+    /**
+     * Retourne une copie de la matrice des variations [caractère][caractère],
+     * dans l'ordre de {@link #getCharacters()}.
+     */
+    public double[][] getMatrix() {
+        double[][] copy = new double[deltas.length][];
+        for (int i = 0; i < deltas.length; i++) {
+            copy[i] = deltas[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Retourne le regret de chaque caractère, du plus grand au plus petit.
+     */
+    public List<KeyRegret> regrets() {
+        return IntStream.range(0, characters.length)
+            .mapToObj(this::regret)
+            .sorted(Comparator.comparingDouble(KeyRegret::regret).reversed()
+                .thenComparing(KeyRegret::character))
+            .toList();
+    }
+
+    /**
+     * Retourne le regret d'un caractère de la disposition.
+     */
+    public KeyRegret regret(char c) {
+        return regret(indexOf(c));
+    }
+
+    private KeyRegret regret(int i) {
+        int best = -1;
+        int improving = 0;
+        double sum = 0.0;
+        for (int j = 0; j < characters.length; j++) {
+            if (j == i) continue;
+            double delta = deltas[i][j];
+            sum += delta;
+            if (delta < 0) {
+                improving++;
+            }
+            if (best < 0 || delta < deltas[i][best]) {
+                best = j;
+            }
+        }
+        double bestDelta = deltas[i][best];
+        return new KeyRegret(characters[i], keys.get(characters[i]), Math.max(0.0, -bestDelta),
+            characters[best], bestDelta, improving, sum / (characters.length - 1));
+    }
+
+    /**
+     * Écrit la matrice au format CSV : une ligne d'en-tête avec les
+     * caractères, puis une ligne par caractère.
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            StringBuilder header = new StringBuilder();
+            for (char c : characters) {
+                header.append(',').append(csvField(c));
+            }
+            writer.println(header);
+            for (int i = 0; i < characters.length; i++) {
+                StringBuilder line = new StringBuilder(csvField(characters[i]));
+                for (int j = 0; j < characters.length; j++) {
+                    line.append(',').append(String.format(Locale.ROOT, "%.4f", deltas[i][j]));
+                }
+                writer.println(line);
+            }
+        }
+    }
+
+    /**
+     * Écrit le regret de chaque caractère au format CSV, du plus grand au plus petit.
+     */
+    public void writeRegretsCsv(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            writer.println("character,row,column,finger,regret,best_partner,best_delta,improving_swaps,mean_delta");
+            for (KeyRegret regret : regrets()) {
+                writer.println(String.join(",",
+                    csvField(regret.character()),
+                    String.valueOf(regret.key().row()),
+                    String.valueOf(regret.key().column()),
+                    regret.key().finger().name(),
+                    String.format(Locale.ROOT, "%.4f", regret.regret()),
+                    csvField(regret.bestPartner()),
+                    String.format(Locale.ROOT, "%.4f", regret.bestDelta()),
+                    String.valueOf(regret.improvingSwaps()),
+                    String.format(Locale.ROOT, "%.4f", regret.meanDelta())));
+            }
+        }
+    }
+
+    /**
+     * Écrit la matrice et les regrets au format JSON.
+     */
+    public void writeJson(Path file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = mapper.createObjectNode();
+        root.put("layout", layoutName);
+        root.put("score", score);
+        ArrayNode header = root.putArray("characters");
+        for (char c : characters) {
+            header.add(String.valueOf(c));
+        }
+        ArrayNode matrix = root.putArray("deltas");
+        for (double[] row : deltas) {
+            ArrayNode line = matrix.addArray();
+            for (double delta : row) {
+                line.add(delta);
+            }
+        }
+        ArrayNode regrets = root.putArray("regrets");
+        for (KeyRegret regret : regrets()) {
+            ObjectNode node = regrets.addObject();
+            node.put("character", String.valueOf(regret.character()));
+            node.put("row", regret.key().row());
+            node.put("column", regret.key().column());
+            node.put("finger", regret.key().finger().name());
+            node.put("regret", regret.regret());
+            node.put("bestPartner", String.valueOf(regret.bestPartner()));
+            node.put("bestDelta", regret.bestDelta());
+            node.put("improvingSwaps", regret.improvingSwaps());
+            node.put("meanDelta", regret.meanDelta());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+    }
+
+    private int indexOf(char c) {
+        int index = Arrays.binarySearch(characters, c);
+        if (index < 0) {
+            throw new IllegalArgumentException("Caractère absent de la disposition : '" + c + "'");
+        }
+        return index;
+    }
+
+    /**
+     * Champ CSV d'un caractère, entre guillemets s'il contient un séparateur.
+     */
+    private static String csvField(char c) {
+        if (c == ',' || c == '"' || c == '\n' || c == '\r' || c == ' ') {
+            return "\"" + (c == '"' ? "\"\"" : String.valueOf(c)) + "\"";
+        }
+        return String.valueOf(c);
+    }
+}
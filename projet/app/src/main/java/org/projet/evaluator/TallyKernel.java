@@ -0,0 +1,31 @@
+package org.projet.evaluator;
+
+/**
+ * Boucle centrale de l'évaluation : histogramme des codes de mouvement
+ * pondéré par les fréquences des n-grammes.
+ *
+ * <p>Pour chaque n-gramme i de [from, to), le code est lu dans la table
+ * {@code codes} à l'indice formé par les positions de ses caractères
+ * ({@code position[c1] * stride + position[c2]} pour un bigramme), puis
+ * {@code histogram[code] += counts[i]}. Les sommes étant entières, toutes
+ * les implémentations donnent exactement le même résultat.
+ *
+ * @see TallyKernels#select()
+ */
+interface TallyKernel {
+
+    void tallyBigrams(
+        int[] first, int[] second, long[] counts, int from, int to,
+        int[] position, int stride, int[] codes, long[] histogram
+    );
+
+    void tallyTrigrams(
+        int[] first, int[] second, int[] third, long[] counts, int from, int to,
+        int[] position, int stride, int[] codes, long[] histogram
+    );
+
+    /**
+     * Retourne le nom du noyau, pour les traces et les bancs d'essai.
+     */
+    String name();
+}
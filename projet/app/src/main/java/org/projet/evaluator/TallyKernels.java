@@ -0,0 +1,56 @@
+package org.projet.evaluator;
+
+/**
+ * Choix du noyau de comptage à l'exécution.
+ */
+final class TallyKernels {
+    /** Propriété système permettant de choisir le noyau : "scalar" (défaut) ou "vector". */
+    static final String KERNEL_PROPERTY = "projet.kernel";
+
+    private static final TallyKernel SELECTED = select();
+
+    private TallyKernels() {
+    }
+
+    /**
+     * Retourne le noyau sélectionné au chargement de la classe.
+     */
+    static TallyKernel selected() {
+        return SELECTED;
+    }
+
+    /**
+     * Retourne le noyau vectorisé si {@code -Dprojet.kernel=vector} est donné
+     * et que le module jdk.incubator.vector est chargé, le noyau scalaire sinon.
+     *
+     * <p>Le noyau scalaire reste le défaut : sur les tables mesurées (voir
+     * TallyKernelBenchmark), le noyau vectorisé ne fait que l'égaler.
+     */
+    static TallyKernel select() {
+        if ("vector".equals(System.getProperty(KERNEL_PROPERTY))) {
+            TallyKernel vector = vector();
+            if (vector != null) {
+                return vector;
+            }
+        }
+        return new ScalarTallyKernel();
+    }
+
+    /**
+     * Retourne le noyau vectorisé, ou null si l'API Vector n'est pas disponible.
+     */
+    static TallyKernel vector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            // Chargé par réflexion pour ne pas lier cette classe au module incubateur
+            return (TallyKernel) Class.forName("org.projet.evaluator.VectorTallyKernel")
+                .getDeclaredConstructor()
+                .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            System.err.println("Noyau vectorisé indisponible : " + e.getMessage());
+            return null;
+        }
+    }
+}
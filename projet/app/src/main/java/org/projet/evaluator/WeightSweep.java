@@ -0,0 +1,104 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Compare un ensemble de dispositions sous de nombreux jeux de poids.
+ *
+ * <p>Chaque disposition n'est évaluée qu'une fois pour obtenir son vecteur de
+ * comptages ({@link MovementProfile}). Le score étant linéaire en les poids,
+ * la matrice des scores est ensuite un simple produit matriciel
+ * poids × comptages, sans nouvelle évaluation.
+ *
+ * <p>Exemple d'utilisation :
+ * <pre>{@code
+ * WeightSweep sweep = new WeightSweep(evaluator, layouts);
+ * List<ScoringWeights> weightSets = new WeightConfigLoader().loadWeightSets(path);
+ * double[][] scores = sweep.scores(weightSets);   // [jeu de poids][disposition]
+ * int[][] rankings = sweep.rankings(weightSets);  // indices du meilleur au pire
+ * }</pre>
+ */
+public class WeightSweep {
+    private final List<KeyboardLayout> layouts;
+    private final double[][] counts;          // [disposition][type de mouvement]
+    private final double[] loadDeviations;    // écart à la répartition idéale
+    private final boolean[] scored;           // au moins un bigramme placé
+
+    /**
+     * Évalue une fois chaque disposition avec l'évaluateur donné.
+     */
+    public WeightSweep(LayoutEvaluator evaluator, List<KeyboardLayout> layouts) {
+        this(layouts, layouts.stream().map(evaluator::profileLayout).toList());
+    }
+
+    /**
+     * Construit le balayage à partir de comptages déjà calculés.
+     */
+    public WeightSweep(List<KeyboardLayout> layouts, List<MovementProfile> profiles) {
+        if (layouts.size() != profiles.size()) {
+            throw new IllegalArgumentException("Une disposition par profil est attendue");
+        }
+        this.layouts = List.copyOf(layouts);
+        this.counts = new double[profiles.size()][];
+        this.loadDeviations = new double[profiles.size()];
+        this.scored = new boolean[profiles.size()];
+        for (int i = 0; i < profiles.size(); i++) {
+            MovementProfile profile = profiles.get(i);
+            counts[i] = new double[MovementType.values().length];
+            for (MovementType type : MovementType.values()) {
+                counts[i][type.ordinal()] = profile.count(type);
+            }
+            loadDeviations[i] = profile.fingerLoadDeviation();
+            scored[i] = profile.totalBigramCount() > 0;
+        }
+    }
+
+    /**
+     * Retourne les dispositions comparées, dans l'ordre des colonnes.
+     */
+    public List<KeyboardLayout> getLayouts() {
+        return layouts;
+    }
+
+    /**
+     * Calcule la matrice des scores [jeu de poids][disposition].
+     */
+    public double[][] scores(List<ScoringWeights> weightSets) {
+        double[][] scores = new double[weightSets.size()][layouts.size()];
+        for (int w = 0; w < weightSets.size(); w++) {
+            double[] weights = weightSets.get(w).toVector();
+            double loadFactor = weightSets.get(w).fingerLoadFactor();
+            for (int l = 0; l < layouts.size(); l++) {
+                if (!scored[l]) continue;
+                double score = 0.0;
+                for (int k = 0; k < weights.length; k++) {
+                    score += weights[k] * counts[l][k];
+                }
+                scores[w][l] = score + loadFactor * loadDeviations[l];
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Retourne, pour chaque jeu de poids, les indices des dispositions
+     * triés du meilleur score (le plus bas) au pire.
+     */
+    public int[][] rankings(List<ScoringWeights> weightSets) {
+        double[][] scores = scores(weightSets);
+        List<int[]> rankings = new ArrayList<>();
+        for (double[] row : scores) {
+            rankings.add(IntStream.range(0, row.length)
+                .boxed()
+                .sorted(Comparator.comparingDouble(l -> row[l]))
+                .mapToInt(Integer::intValue)
+                .toArray());
+        }
+        return rankings.toArray(new int[0][]);
+    }
+}
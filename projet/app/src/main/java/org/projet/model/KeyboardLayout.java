@@ -26,7 +26,27 @@ public record KeyboardLayout(
         RIGHT_INDEX,
         RIGHT_MIDDLE,
         RIGHT_RING,
-        RIGHT_PINKY
+        RIGHT_PINKY;
+
+        /**
+         * Returns the hand this finger belongs to.
+         */
+        public Hand hand() {
+            return ordinal() < 4 ? Hand.LEFT : Hand.RIGHT;
+        }
+
+        /**
+         * Returns the finger holding Shift while this finger types:
+         * the pinky of the other hand.
+         */
+        public Finger shiftFinger() {
+            return hand() == Hand.LEFT ? RIGHT_PINKY : LEFT_PINKY;
+        }
+    }
+
+    public enum Hand {
+        LEFT,
+        RIGHT
     }
 
     /**
@@ -0,0 +1,261 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.IncrementalEvaluation;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Optimise une disposition de clavier par recuit simulé.
+ *
+ * <p>Chaque itération propose l'échange des touches de deux caractères ; sa
+ * variation de score est calculée de façon incrémentale (voir
+ * {@link IncrementalEvaluation}), sans réévaluer toute la table. Un échange
+ * qui dégrade le score de Δ est accepté avec la probabilité exp(-Δ / T).
+ *
+ * <p>La température suit une {@link CoolingSchedule} sur le budget
+ * d'itérations ou de temps. Après {@code reheatInterval} itérations sans
+ * nouveau meilleur score, le recuit repart du meilleur état avec une
+ * température réchauffée, sur le budget restant.
+ */
+public class AnnealingOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private long seed;
+    private CoolingSchedule schedule = CoolingSchedule.GEOMETRIC;
+    private double initialTemperature = Double.NaN;
+    private double finalTemperature = Double.NaN;
+    private long maxIterations = 200_000;
+    private Duration timeBudget;
+    private long reheatInterval = 20_000;
+    private double reheatRatio = 0.5;
+    private AnnealingStats lastStats;
+
+    // Acceptation visée pour une dégradation moyenne au début du recuit
+    private static final double INITIAL_ACCEPTANCE = 0.8;
+    private static final double FINAL_TEMPERATURE_RATIO = 1e-4;
+    private static final int CALIBRATION_SWAPS = 200;
+
+    /**
+     * Crée un recuit avec 200 000 itérations, une décroissance géométrique et
+     * des températures calibrées sur la disposition de départ.
+     */
+    public AnnealingOptimizer(LayoutEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.seed = new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Choisit la loi de refroidissement (géométrique par défaut).
+     */
+    public void setCoolingSchedule(CoolingSchedule schedule) {
+        this.schedule = Objects.requireNonNull(schedule);
+    }
+
+    /**
+     * Fixe les températures de début et de fin.
+     * Par défaut, la température initiale accepte 80 % des dégradations moyennes
+     * et la température finale en vaut 1/10 000.
+     */
+    public void setTemperatures(double initialTemperature, double finalTemperature) {
+        if (!(initialTemperature > 0) || !(finalTemperature > 0) || finalTemperature > initialTemperature) {
+            throw new IllegalArgumentException(
+                "Températures invalides : " + initialTemperature + " -> " + finalTemperature);
+        }
+        this.initialTemperature = initialTemperature;
+        this.finalTemperature = finalTemperature;
+    }
+
+    /**
+     * Fixe le nombre maximal d'itérations.
+     */
+    public void setMaxIterations(long maxIterations) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Le nombre d'itérations doit être positif : " + maxIterations);
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Limite la durée du recuit ; null pour ne limiter que les itérations.
+     * Avec une limite de temps, l'avancement de la température suit la plus
+     * avancée des deux limites.
+     */
+    public void setTimeBudget(Duration timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Réchauffe après {@code interval} itérations sans amélioration du meilleur
+     * score, à {@code ratio} fois la température initiale ; 0 désactive les réchauffements.
+     */
+    public void setReheat(long interval, double ratio) {
+        if (interval < 0 || !(ratio > 0) || ratio > 1) {
+            throw new IllegalArgumentException("Réchauffement invalide : " + interval + ", " + ratio);
+        }
+        this.reheatInterval = interval;
+        this.reheatRatio = ratio;
+    }
+
+    /**
+     * Retourne les statistiques du dernier appel à {@link #optimize(KeyboardLayout)}.
+     */
+    public AnnealingStats getLastStats() {
+        return lastStats;
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        IncrementalEvaluation state = evaluator.incremental(initial);
+        int n = encoding.size();
+
+        short[] genome = encoding.identity();
+        short[] bestGenome = genome.clone();
+        double initialScore = state.score();
+        double bestScore = initialScore;
+
+        System.out.printf("Score initial : %.2f%n%n", initialScore);
+        if (n < 2) {
+            lastStats = new AnnealingStats(0, 0, 0, 0, 0, initialScore, bestScore, Duration.ZERO);
+            return initial;
+        }
+
+        double startTemperature = Double.isNaN(initialTemperature)
+            ? calibrateTemperature(state, encoding, random)
+            : initialTemperature;
+        double endTemperature = Double.isNaN(finalTemperature)
+            ? startTemperature * FINAL_TEMPERATURE_RATIO
+            : finalTemperature;
+        long deadline = timeBudget != null ? start + timeBudget.toNanos() : Long.MAX_VALUE;
+
+        long improving = 0;
+        long acceptedWorse = 0;
+        long rejected = 0;
+        int reheats = 0;
+        long lastImprovement = 0;
+        double cycleStart = 0.0;
+        double cycleTemperature = startTemperature;
+        double progress = 0.0;
+
+        long iteration = 0;
+        while (iteration < maxIterations) {
+            // Lire l'horloge toutes les 1024 itérations seulement
+            if ((iteration & 1023) == 0) {
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    break;
+                }
+                progress = timeBudget != null
+                    ? Math.max((double) iteration / maxIterations,
+                        (double) (now - start) / timeBudget.toNanos())
+                    : (double) iteration / maxIterations;
+            } else if (timeBudget == null) {
+                progress = (double) iteration / maxIterations;
+            }
+
+            if (reheatInterval > 0 && iteration - lastImprovement >= reheatInterval && progress < 1.0) {
+                // Repartir du meilleur état, plus chaud, pour le budget restant
+                for (int i = 0; i < n; i++) {
+                    while (genome[i] != bestGenome[i]) {
+                        int j = indexOf(genome, bestGenome[i]);
+                        state.applySwap(encoding.character(i), encoding.character(j));
+                        swap(genome, i, j);
+                    }
+                }
+                cycleStart = progress;
+                cycleTemperature = Math.max(endTemperature, startTemperature * reheatRatio);
+                lastImprovement = iteration;
+                reheats++;
+            }
+            double cycleProgress = cycleStart < 1.0 ? (progress - cycleStart) / (1.0 - cycleStart) : 1.0;
+            double temperature = schedule.temperature(cycleTemperature, endTemperature, Math.min(1.0, cycleProgress));
+
+            int i = random.nextInt(n);
+            int j = random.nextInt(n - 1);
+            if (j >= i) {
+                j++;
+            }
+            char c1 = encoding.character(i);
+            char c2 = encoding.character(j);
+            double delta = state.deltaForSwap(c1, c2);
+            iteration++;
+
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                if (delta <= 0) {
+                    improving++;
+                } else {
+                    acceptedWorse++;
+                }
+                state.applySwap(c1, c2);
+                swap(genome, i, j);
+                if (state.score() < bestScore) {
+                    bestScore = state.score();
+                    System.arraycopy(genome, 0, bestGenome, 0, n);
+                    lastImprovement = iteration;
+                }
+            } else {
+                rejected++;
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        lastStats = new AnnealingStats(
+            iteration, improving, acceptedWorse, rejected, reheats, initialScore, bestScore, elapsed);
+
+        KeyboardOptimizer.printChanges(encoding, bestGenome);
+        System.out.printf("%nItérations : %d (%d réchauffements, %.2f s)%n",
+            iteration, reheats, elapsed.toNanos() / 1e9);
+        System.out.printf("Acceptés : %.1f%% (%d améliorations, %d dégradations), refusés : %d%n",
+            lastStats.acceptanceRate() * 100, improving, acceptedWorse, rejected);
+        System.out.printf("%nScore final : %.2f%n", bestScore);
+
+        return encoding.decode(bestGenome, "Optimized");
+    }
+
+    /**
+     * Choisit la température initiale pour qu'une dégradation moyenne soit
+     * acceptée avec une probabilité de 80 %.
+     */
+    private double calibrateTemperature(IncrementalEvaluation state, LayoutEncoding encoding, SplittableRandom random) {
+        int n = encoding.size();
+        double total = 0.0;
+        int worse = 0;
+        for (int k = 0; k < CALIBRATION_SWAPS; k++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            double delta = state.deltaForSwap(encoding.character(i), encoding.character(j));
+            if (delta > 0) {
+                total += delta;
+                worse++;
+            }
+        }
+        return worse > 0 ? -(total / worse) / Math.log(INITIAL_ACCEPTANCE) : 1.0;
+    }
+
+    private static int indexOf(short[] genome, short slot) {
+        for (int i = 0; i < genome.length; i++) {
+            if (genome[i] == slot) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void swap(short[] genome, int i, int j) {
+        short slot = genome[i];
+        genome[i] = genome[j];
+        genome[j] = slot;
+    }
+}
@@ -0,0 +1,33 @@
+package org.projet.optimizer;
+
+import java.time.Duration;
+
+/**
+ * Statistiques d'un recuit simulé.
+ *
+ * @param iterations nombre d'échanges évalués
+ * @param improving échanges acceptés qui amélioraient le score (ou le laissaient égal)
+ * @param acceptedWorse échanges acceptés qui dégradaient le score
+ * @param rejected échanges refusés
+ * @param reheats nombre de réchauffements
+ * @param initialScore score de la disposition de départ
+ * @param bestScore meilleur score atteint
+ * @param elapsed durée du recuit
+ */
+public record AnnealingStats(
+    long iterations,
+    long improving,
+    long acceptedWorse,
+    long rejected,
+    int reheats,
+    double initialScore,
+    double bestScore,
+    Duration elapsed
+) {
+    /**
+     * Retourne la proportion d'échanges acceptés.
+     */
+    public double acceptanceRate() {
+        return iterations > 0 ? (double) (improving + acceptedWorse) / iterations : 0.0;
+    }
+}
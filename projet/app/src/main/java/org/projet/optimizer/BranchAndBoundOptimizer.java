@@ -0,0 +1,557 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.BigramCostTable;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Placement exact d'un petit nombre de caractères par séparation et évaluation.
+ *
+ * <p>Les caractères libres sont placés un à un, du plus lié aux autres au
+ * moins lié, sur un ensemble de touches ; les autres caractères restent sur
+ * leur touche. Le critère est la part bigramme du score (voir
+ * {@link BigramCostTable}) : les bigrammes entre un caractère libre et un
+ * caractère fixe, et entre deux caractères libres. Les trigrammes et la
+ * répartition des doigts n'en font pas partie ; le placement obtenu sert de
+ * point de départ à une recherche sur le score complet, par exemple
+ * {@code new BranchAndBoundOptimizer(evaluator).then(new KeyboardOptimizer(evaluator))}.
+ *
+ * <p>La borne inférieure d'un placement partiel ajoute à son coût exact,
+ * pour chaque caractère restant, son meilleur coût sur les touches encore
+ * libres face aux caractères déjà placés, et pour chaque paire de caractères
+ * restants, son meilleur coût sur deux touches distinctes. Chaque terme étant
+ * minimisé séparément, la borne ne dépasse jamais le coût d'un placement
+ * complet : une branche dont la borne dépasse le meilleur coût connu est
+ * abandonnée sans perdre l'optimum.
+ *
+ * <p>Les premiers niveaux de l'arbre sont répartis sur un {@link ForkJoinPool}.
+ * À coût égal, le placement retenu est le plus petit dans l'ordre
+ * lexicographique : le résultat ne dépend pas du nombre de threads.
+ */
+public class BranchAndBoundOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private int freeCharacters = 10;
+    private int homeRow = 1;
+    private int threads;
+    private BranchAndBoundStats lastStats;
+
+    // Profondeur jusqu'à laquelle les sous-arbres sont des tâches séparées
+    private static final int SPLIT_DEPTH = 2;
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * Crée une recherche qui place les 10 caractères les plus fréquents.
+     */
+    public BranchAndBoundOptimizer(LayoutEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Fixe le nombre de caractères placés par {@link #optimize(KeyboardLayout)} :
+     * les plus fréquents, sur autant de touches de la rangée de repos. Le
+     * nombre de placements croît comme la factorielle de ce nombre ; au-delà
+     * de 12 environ, la recherche devient longue.
+     */
+    public void setFreeCharacters(int freeCharacters) {
+        if (freeCharacters < 1) {
+            throw new IllegalArgumentException("Le nombre de caractères doit être positif : " + freeCharacters);
+        }
+        this.freeCharacters = freeCharacters;
+    }
+
+    /**
+     * Fixe la rangée de repos utilisée par {@link #optimize(KeyboardLayout)}.
+     * Par défaut la rangée 1, comme dans les dispositions fournies.
+     */
+    public void setHomeRow(int homeRow) {
+        this.homeRow = homeRow;
+    }
+
+    /**
+     * Fixe le nombre de threads de la recherche.
+     * Par défaut, le nombre de processeurs disponibles.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Retourne les statistiques de la dernière recherche.
+     */
+    public BranchAndBoundStats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * Place de façon optimale les caractères les plus fréquents (voir
+     * {@link #setFreeCharacters(int)}) sur les meilleures touches de la rangée
+     * de repos, complétée par les rangées voisines si elle ne suffit pas.
+     *
+     * <p>Parmi ces touches, celles des caractères les plus fréquents sont
+     * retenues en premier. Les caractères qui occupaient une touche retenue
+     * sans faire partie des plus fréquents prennent les touches libérées par
+     * ceux-ci, puis restent fixes pendant la recherche.
+     */
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        List<Character> characters = new ArrayList<>(initial.characterToKeyMap().keySet());
+        char[] all = new char[characters.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = characters.get(i);
+        }
+        BigramCostTable table = evaluator.bigramCostTable(all, List.of());
+        Map<Character, Long> frequencies = new HashMap<>();
+        for (int i = 0; i < all.length; i++) {
+            frequencies.put(all[i], table.frequency(i));
+        }
+        characters.sort(Comparator.<Character>comparingLong(frequencies::get).reversed()
+            .thenComparing(Comparator.naturalOrder()));
+
+        List<Character> free = characters.subList(0, Math.min(freeCharacters, characters.size()));
+        List<KeyboardLayout.Key> positions = homePositions(initial, characters, free.size());
+        return optimize(freePositions(initial, free, positions), free, positions);
+    }
+
+    /**
+     * Retourne les {@code count} touches les plus proches de la rangée de
+     * repos, et sur une même rangée celles des caractères les plus fréquents.
+     * @param characters caractères de la disposition, du plus fréquent au moins fréquent
+     */
+    private List<KeyboardLayout.Key> homePositions(KeyboardLayout layout, List<Character> characters, int count) {
+        List<KeyboardLayout.Key> keys = new ArrayList<>();
+        for (char c : characters) {
+            keys.add(layout.getKey(c));
+        }
+        // Tri stable : à distance égale, l'ordre des fréquences est conservé
+        keys.sort(Comparator.comparingInt((KeyboardLayout.Key key) -> Math.abs(key.row() - homeRow))
+            .thenComparingInt(KeyboardLayout.Key::row));
+        return keys.subList(0, count);
+    }
+
+    /**
+     * Libère les touches retenues : les caractères fixes qui les occupent
+     * prennent, dans l'ordre, les touches des caractères libres restés
+     * ailleurs, et ceux-ci les touches retenues ainsi libérées.
+     */
+    private static KeyboardLayout freePositions(
+        KeyboardLayout initial,
+        List<Character> free,
+        List<KeyboardLayout.Key> positions
+    ) {
+        List<Character> displaced = new ArrayList<>();
+        for (Map.Entry<Character, KeyboardLayout.Key> entry : initial.characterToKeyMap().entrySet()) {
+            if (!free.contains(entry.getKey()) && positions.contains(entry.getValue())) {
+                displaced.add(entry.getKey());
+            }
+        }
+        if (displaced.isEmpty()) {
+            return initial;
+        }
+        displaced.sort(Comparator.naturalOrder());
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>(initial.characterToKeyMap());
+        int next = 0;
+        for (char c : free) {
+            KeyboardLayout.Key key = initial.getKey(c);
+            if (!positions.contains(key)) {
+                char other = displaced.get(next++);
+                keys.put(c, initial.getKey(other));
+                keys.put(other, key);
+            }
+        }
+        return new KeyboardLayout(initial.name(), keys);
+    }
+
+    /**
+     * Place de façon optimale des caractères sur un ensemble de touches, les
+     * autres caractères restant en place.
+     * @param free caractères à placer, présents sur la disposition
+     * @param positions touches disponibles : au moins une par caractère, sans caractère fixe
+     * @return la disposition où les caractères libres occupent leur placement optimal
+     * @throws IllegalArgumentException si les caractères ou les touches ne conviennent pas
+     */
+    public KeyboardLayout optimize(
+        KeyboardLayout initial,
+        Collection<Character> free,
+        Collection<KeyboardLayout.Key> positions
+    ) {
+        long start = System.nanoTime();
+        Problem problem = Problem.of(evaluator, initial, free, positions);
+        int[] current = problem.currentAssignment(initial);
+        double initialCost = current != null ? problem.cost(current) : Double.NaN;
+
+        // Premier majorant : la disposition actuelle ou une construction gloutonne
+        int[] greedy = problem.greedy();
+        Incumbent incumbent = new Incumbent(problem.cost(greedy), greedy);
+        if (current != null) {
+            incumbent = incumbent.better(new Incumbent(initialCost, current));
+        }
+        AtomicReference<Incumbent> best = new AtomicReference<>(incumbent);
+        LongAdder nodes = new LongAdder();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new SearchTask(problem, problem.root(), best, nodes));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Incumbent optimum = best.get();
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>(initial.characterToKeyMap());
+        for (int f = 0; f < problem.size; f++) {
+            keys.put(problem.characters[f], problem.positions[optimum.assignment()[f]]);
+        }
+        KeyboardLayout result = new KeyboardLayout("Optimized", keys);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        lastStats = new BranchAndBoundStats(
+            problem.size, problem.keys, nodes.sum(), initialCost, optimum.cost(), elapsed);
+
+        System.out.printf("Score initial : %.2f%n%n", evaluator.scoreLayout(initial));
+        if (current != null && problem.keys == problem.size) {
+            // Les caractères libres ont été permutés entre leurs touches
+            LayoutEncoding encoding = new LayoutEncoding(initial);
+            KeyboardOptimizer.printChanges(encoding, encoding.encode(result));
+        } else {
+            System.out.println("=== Changements de touches ===");
+            for (char c : problem.characters) {
+                KeyboardLayout.Key key = result.getKey(c);
+                if (!key.equals(initial.getKey(c))) {
+                    System.out.printf("%c -> ligne %d, colonne %d%n", c, key.row(), key.column());
+                }
+            }
+        }
+        System.out.printf("%nPlacement optimal de %d caractères sur %d touches : %d nœuds (%.2f s)%n",
+            problem.size, problem.keys, lastStats.nodes(), elapsed.toNanos() / 1e9);
+        System.out.printf("Coût des bigrammes : %.2f -> %.2f%n", initialCost, optimum.cost());
+        System.out.printf("%nScore final : %.2f%n", evaluator.scoreLayout(result));
+        return result;
+    }
+
+    /**
+     * Meilleur placement connu : touche de chaque caractère libre, dans l'ordre de placement.
+     */
+    private record Incumbent(double cost, int[] assignment) {
+        Incumbent better(Incumbent other) {
+            if (other.cost < cost || (other.cost == cost && Arrays.compare(other.assignment, assignment) < 0)) {
+                return other;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Placement partiel : les {@code depth} premiers caractères sont placés.
+     * {@code partial[g * keys + q]} est le coût exact qu'ajouterait le
+     * caractère g sur la touche q face aux caractères fixes et déjà placés.
+     */
+    private record Node(int depth, int[] assignment, long used, double cost, double[] partial) {}
+
+    /**
+     * Données précalculées de la recherche, indexées par ordre de placement.
+     */
+    private static final class Problem {
+        final int size;
+        final int keys;
+        final char[] characters;
+        final KeyboardLayout.Key[] positions;
+        /** Coût du caractère f sur la touche p face aux caractères fixes et à lui-même. */
+        final double[] fixedCost;
+        final long[] counts;
+        final double[] moveCost;
+        /** Somme des meilleurs coûts des paires de caractères à partir de chaque profondeur. */
+        final double[] remainingPairs;
+
+        private Problem(char[] characters, KeyboardLayout.Key[] positions, BigramCostTable table, int[] fixedKey) {
+            this.size = characters.length;
+            this.keys = positions.length;
+            this.characters = characters;
+            this.positions = positions;
+
+            this.counts = new long[size * size];
+            for (int f = 0; f < size; f++) {
+                for (int g = 0; g < size; g++) {
+                    counts[f * size + g] = table.count(f, g);
+                }
+            }
+            this.moveCost = new double[keys * keys];
+            for (int p = 0; p < keys; p++) {
+                for (int q = 0; q < keys; q++) {
+                    moveCost[p * keys + q] = table.cost(p, q);
+                }
+            }
+            this.fixedCost = new double[size * keys];
+            for (int f = 0; f < size; f++) {
+                for (int p = 0; p < keys; p++) {
+                    double cost = table.count(f, f) * table.cost(p, p);
+                    for (int x = size; x < table.characters(); x++) {
+                        cost += table.count(f, x) * table.cost(p, fixedKey[x - size])
+                            + table.count(x, f) * table.cost(fixedKey[x - size], p);
+                    }
+                    fixedCost[f * keys + p] = cost;
+                }
+            }
+            this.remainingPairs = new double[size + 1];
+            for (int depth = size - 1; depth >= 0; depth--) {
+                double sum = 0.0;
+                for (int h = depth + 1; h < size; h++) {
+                    double min = Double.POSITIVE_INFINITY;
+                    for (int p = 0; p < keys; p++) {
+                        for (int q = 0; q < keys; q++) {
+                            if (p != q) {
+                                min = Math.min(min, pairCost(depth, h, p, q));
+                            }
+                        }
+                    }
+                    sum += min;
+                }
+                remainingPairs[depth] = remainingPairs[depth + 1] + sum;
+            }
+        }
+
+        static Problem of(
+            LayoutEvaluator evaluator,
+            KeyboardLayout initial,
+            Collection<Character> free,
+            Collection<KeyboardLayout.Key> positions
+        ) {
+            Map<Character, KeyboardLayout.Key> layoutKeys = initial.characterToKeyMap();
+            List<Character> freeList = new ArrayList<>(new LinkedHashSet<>(free));
+            List<KeyboardLayout.Key> positionList = new ArrayList<>(new LinkedHashSet<>(positions));
+            if (freeList.isEmpty()) {
+                throw new IllegalArgumentException("Aucun caractère à placer");
+            }
+            for (char c : freeList) {
+                if (!layoutKeys.containsKey(c)) {
+                    throw new IllegalArgumentException("Caractère absent de la disposition : '" + c + "'");
+                }
+            }
+            if (positionList.size() < freeList.size()) {
+                throw new IllegalArgumentException(
+                    positionList.size() + " touches pour " + freeList.size() + " caractères");
+            }
+            if (positionList.size() > Long.SIZE) {
+                throw new IllegalArgumentException("Trop de touches : " + positionList.size());
+            }
+
+            // Touches de la table : les touches disponibles, puis celles des caractères fixes
+            List<Character> fixed = new ArrayList<>();
+            List<KeyboardLayout.Key> tableKeys = new ArrayList<>(positionList);
+            for (Map.Entry<Character, KeyboardLayout.Key> entry : layoutKeys.entrySet()) {
+                if (freeList.contains(entry.getKey())) {
+                    continue;
+                }
+                if (positionList.contains(entry.getValue())) {
+                    throw new IllegalArgumentException(
+                        "La touche " + entry.getValue() + " porte le caractère fixe '" + entry.getKey() + "'");
+                }
+                fixed.add(entry.getKey());
+                if (!tableKeys.contains(entry.getValue())) {
+                    tableKeys.add(entry.getValue());
+                }
+            }
+
+            char[] all = new char[freeList.size() + fixed.size()];
+            for (int i = 0; i < freeList.size(); i++) {
+                all[i] = freeList.get(i);
+            }
+            for (int i = 0; i < fixed.size(); i++) {
+                all[freeList.size() + i] = fixed.get(i);
+            }
+            BigramCostTable table = evaluator.bigramCostTable(all, tableKeys);
+
+            // Placer d'abord les caractères les plus liés aux autres : la borne se resserre plus vite
+            long[] weight = new long[freeList.size()];
+            for (int f = 0; f < weight.length; f++) {
+                for (int x = 0; x < all.length; x++) {
+                    weight[f] += table.count(f, x) + (x != f ? table.count(x, f) : 0);
+                }
+            }
+            Integer[] order = new Integer[freeList.size()];
+            for (int f = 0; f < order.length; f++) {
+                order[f] = f;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingLong(f -> -weight[f])
+                .thenComparing(f -> all[f]));
+            char[] ordered = new char[all.length];
+            for (int f = 0; f < order.length; f++) {
+                ordered[f] = all[order[f]];
+            }
+            System.arraycopy(all, freeList.size(), ordered, freeList.size(), fixed.size());
+            table = evaluator.bigramCostTable(ordered, tableKeys);
+
+            int[] fixedKey = new int[fixed.size()];
+            for (int i = 0; i < fixed.size(); i++) {
+                fixedKey[i] = tableKeys.indexOf(layoutKeys.get(fixed.get(i)));
+            }
+            return new Problem(
+                Arrays.copyOf(ordered, freeList.size()),
+                positionList.toArray(new KeyboardLayout.Key[0]),
+                table, fixedKey
+            );
+        }
+
+        double pairCost(int f, int g, int p, int q) {
+            return counts[f * size + g] * moveCost[p * keys + q]
+                + counts[g * size + f] * moveCost[q * keys + p];
+        }
+
+        Node root() {
+            return new Node(0, new int[size], 0L, 0.0, fixedCost.clone());
+        }
+
+        /**
+         * Place le caractère de profondeur {@code node.depth()} sur la touche q.
+         */
+        Node child(Node node, int q) {
+            int f = node.depth();
+            int[] assignment = node.assignment().clone();
+            assignment[f] = q;
+            double[] partial = node.partial().clone();
+            for (int g = f + 1; g < size; g++) {
+                for (int r = 0; r < keys; r++) {
+                    partial[g * keys + r] += pairCost(f, g, q, r);
+                }
+            }
+            return new Node(f + 1, assignment, node.used() | (1L << q),
+                node.cost() + node.partial()[f * keys + q], partial);
+        }
+
+        double lowerBound(Node node) {
+            double bound = node.cost() + remainingPairs[node.depth()];
+            for (int g = node.depth(); g < size; g++) {
+                double min = Double.POSITIVE_INFINITY;
+                for (int q = 0; q < keys; q++) {
+                    if ((node.used() & (1L << q)) == 0) {
+                        min = Math.min(min, node.partial()[g * keys + q]);
+                    }
+                }
+                bound += min;
+            }
+            return bound;
+        }
+
+        /**
+         * Touches libres du nœud, de la moins coûteuse à la plus coûteuse pour le prochain caractère.
+         */
+        int[] candidates(Node node) {
+            int f = node.depth();
+            return IntStream.range(0, keys)
+                .filter(q -> (node.used() & (1L << q)) == 0)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(q -> node.partial()[f * keys + q])
+                    .thenComparing(Comparator.naturalOrder()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+
+        int[] greedy() {
+            Node node = root();
+            while (node.depth() < size) {
+                node = child(node, candidates(node)[0]);
+            }
+            return node.assignment();
+        }
+
+        double cost(int[] assignment) {
+            Node node = root();
+            for (int f = 0; f < size; f++) {
+                node = child(node, assignment[f]);
+            }
+            return node.cost();
+        }
+
+        /**
+         * Placement actuel des caractères libres, ou null si l'un d'eux n'est pas sur une touche disponible.
+         */
+        int[] currentAssignment(KeyboardLayout layout) {
+            int[] assignment = new int[size];
+            for (int f = 0; f < size; f++) {
+                assignment[f] = Arrays.asList(positions).indexOf(layout.getKey(characters[f]));
+                if (assignment[f] < 0) {
+                    return null;
+                }
+            }
+            return assignment;
+        }
+    }
+
+    /**
+     * Explore un sous-arbre ; les premiers niveaux sont répartis en tâches.
+     */
+    private static final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Problem problem;
+        private final Node node;
+        private final AtomicReference<Incumbent> best;
+        private final LongAdder nodes;
+
+        SearchTask(Problem problem, Node node, AtomicReference<Incumbent> best, LongAdder nodes) {
+            this.problem = problem;
+            this.node = node;
+            this.best = best;
+            this.nodes = nodes;
+        }
+
+        @Override
+        protected void compute() {
+            if (node.depth() < SPLIT_DEPTH && node.depth() < problem.size) {
+                nodes.increment();
+                if (pruned(node)) {
+                    return;
+                }
+                List<SearchTask> tasks = new ArrayList<>();
+                for (int q : problem.candidates(node)) {
+                    tasks.add(new SearchTask(problem, problem.child(node, q), best, nodes));
+                }
+                invokeAll(tasks);
+            } else {
+                search(node);
+            }
+        }
+
+        private void search(Node current) {
+            nodes.increment();
+            if (current.depth() == problem.size) {
+                Incumbent leaf = new Incumbent(current.cost(), current.assignment());
+                best.accumulateAndGet(leaf, Incumbent::better);
+                return;
+            }
+            if (pruned(current)) {
+                return;
+            }
+            for (int q : problem.candidates(current)) {
+                search(problem.child(current, q));
+            }
+        }
+
+        /**
+         * Vrai si la borne du nœud dépasse le meilleur coût connu. La marge
+         * absorbe les écarts d'arrondi entre la borne et le coût exact, pour
+         * ne jamais écarter un placement de coût égal à l'optimum.
+         */
+        private boolean pruned(Node current) {
+            double bestCost = best.get().cost();
+            return problem.lowerBound(current) > bestCost + TOLERANCE * Math.max(1.0, Math.abs(bestCost));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.projet.optimizer;
+
+import java.time.Duration;
+
+/**
+ * Statistiques d'une recherche par séparation et évaluation.
+ *
+ * @param characters nombre de caractères placés
+ * @param positions nombre de touches disponibles
+ * @param nodes nombre de nœuds explorés (placements partiels)
+ * @param initialCost coût des bigrammes de la disposition de départ, NaN si elle ne respecte pas les touches imposées
+ * @param optimalCost coût des bigrammes du placement optimal
+ * @param elapsed durée de la recherche
+ */
+public record BranchAndBoundStats(
+    int characters,
+    int positions,
+    long nodes,
+    double initialCost,
+    double optimalCost,
+    Duration elapsed
+) {}
@@ -0,0 +1,155 @@
+package org.projet.optimizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * État de l'algorithme génétique à la fin d'une génération, après
+ * l'évaluation de la population et avant la production de la suivante.
+ *
+ * <p>Format binaire (big-endian) : en-tête {@code KOPT}, version, caractères
+ * du codage, compteurs, état du générateur, meilleur individu, puis chaque
+ * individu suivi de son score. Le fichier est écrit à côté, forcé sur le
+ * disque puis renommé, de sorte qu'un arrêt pendant l'écriture, même du
+ * système, laisse le point de reprise précédent intact.
+ *
+ * @param characters caractères du codage, pour vérifier que la reprise porte sur la même disposition
+ * @param generation génération évaluée
+ * @param generationsWithoutImprovement compteur de stagnation après cette génération
+ * @param restarts nombre de redémarrages déjà effectués après un effondrement de la diversité
+ * @param randomState graine du générateur pour la suite de l'optimisation
+ * @param bestGenome meilleur individu trouvé
+ * @param bestScore score exact du meilleur individu
+ * @param population individus de la génération
+ * @param scores score de chaque individu
+ */
+record Checkpoint(
+    String characters,
+    int generation,
+    int generationsWithoutImprovement,
+    int restarts,
+    long randomState,
+    short[] bestGenome,
+    double bestScore,
+    List<short[]> population,
+    double[] scores
+) {
+    private static final int MAGIC = 0x4B4F5054; // "KOPT"
+    private static final int VERSION = 2;
+
+    /**
+     * Écrit le point de reprise de façon atomique.
+     * @return vrai si l'écriture a réussi
+     */
+    boolean write(Path file) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)));
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(characters);
+                out.writeInt(generation);
+                out.writeInt(generationsWithoutImprovement);
+                out.writeInt(restarts);
+                out.writeLong(randomState);
+                writeGenome(out, bestGenome);
+                out.writeDouble(bestScore);
+                out.writeInt(population.size());
+                for (int i = 0; i < population.size(); i++) {
+                    writeGenome(out, population.get(i));
+                    out.writeDouble(scores[i]);
+                }
+                out.flush();
+                // Le contenu doit être sur le disque avant que le renommage le rende visible
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Échec de l'écriture du point de reprise " + file + " : " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lit un point de reprise.
+     * @return le point de reprise, ou vide si le fichier est absent ou illisible
+     */
+    static Optional<Checkpoint> read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("format inconnu");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("version inconnue : " + version);
+            }
+            String characters = in.readUTF();
+            int generation = in.readInt();
+            int generationsWithoutImprovement = in.readInt();
+            int restarts = in.readInt();
+            long randomState = in.readLong();
+            short[] bestGenome = readGenome(in, characters.length());
+            double bestScore = in.readDouble();
+            int size = in.readInt();
+            if (size < 0) {
+                throw new IOException("taille de population invalide : " + size);
+            }
+            List<short[]> population = new ArrayList<>(size);
+            double[] scores = new double[size];
+            for (int i = 0; i < size; i++) {
+                population.add(readGenome(in, characters.length()));
+                scores[i] = in.readDouble();
+            }
+            return Optional.of(new Checkpoint(
+                characters, generation, generationsWithoutImprovement, restarts, randomState,
+                bestGenome, bestScore, population, scores
+            ));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            System.err.println("Point de reprise illisible " + file + " : " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void writeGenome(DataOutputStream out, short[] genome) throws IOException {
+        for (short slot : genome) {
+            out.writeShort(slot);
+        }
+    }
+
+    private static short[] readGenome(DataInputStream in, int length) throws IOException {
+        short[] genome = new short[length];
+        boolean[] seen = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            genome[i] = in.readShort();
+            if (genome[i] < 0 || genome[i] >= length || seen[genome[i]]) {
+                throw new IOException("codage invalide : ce n'est pas une permutation");
+            }
+            seen[genome[i]] = true;
+        }
+        return genome;
+    }
+}
@@ -0,0 +1,90 @@
+package org.projet.optimizer;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Emplacements autorisés pour chaque caractère du codage (voir
+ * {@link LayoutConstraints}). Les opérations ne produisent que des
+ * codages qui respectent les contraintes.
+ */
+final class ConstraintMask {
+    private final boolean[][] allows;
+    /** Caractères qui ont au moins un autre emplacement autorisé que leur emplacement de départ. */
+    private final int[] movable;
+
+    ConstraintMask(boolean[][] allows) {
+        this.allows = allows;
+        int count = 0;
+        int[] candidates = new int[allows.length];
+        for (int i = 0; i < allows.length; i++) {
+            int slots = 0;
+            for (boolean allowed : allows[i]) {
+                slots += allowed ? 1 : 0;
+            }
+            if (slots > 1) {
+                candidates[count++] = i;
+            }
+        }
+        this.movable = Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Indique si le caractère i peut occuper l'emplacement donné.
+     */
+    boolean allows(int i, int slot) {
+        return allows[i][slot];
+    }
+
+    /**
+     * Indique si l'échange des emplacements des caractères i et j respecte les contraintes.
+     */
+    boolean allowsSwap(short[] genome, int i, int j) {
+        return allows[i][genome[j]] && allows[j][genome[i]];
+    }
+
+    /**
+     * Indique si un codage respecte les contraintes.
+     */
+    boolean isFeasible(short[] genome) {
+        for (int i = 0; i < genome.length; i++) {
+            if (!allows[i][genome[i]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indique si le caractère i a un autre emplacement autorisé que son emplacement de départ.
+     */
+    boolean isMovable(int i) {
+        return Arrays.binarySearch(movable, i) >= 0;
+    }
+
+    /**
+     * Échange un caractère mobile avec un partenaire tiré parmi les échanges
+     * autorisés. Retourne une copie inchangée si aucun échange n'est possible.
+     */
+    short[] mutate(short[] genome, SplittableRandom random) {
+        short[] mutant = genome.clone();
+        if (movable.length == 0) {
+            return mutant;
+        }
+        int i = movable[random.nextInt(movable.length)];
+        int[] partners = new int[genome.length];
+        int count = 0;
+        for (int j = 0; j < genome.length; j++) {
+            if (j != i && allowsSwap(genome, i, j)) {
+                partners[count++] = j;
+            }
+        }
+        if (count == 0) {
+            return mutant;
+        }
+        int j = partners[random.nextInt(count)];
+        mutant[i] = genome[j];
+        mutant[j] = genome[i];
+        return mutant;
+    }
+}
@@ -0,0 +1,39 @@
+package org.projet.optimizer;
+
+/**
+ * Loi de refroidissement du recuit simulé : température en fonction de
+ * l'avancement p ∈ [0, 1] entre la température initiale et la température finale.
+ */
+public enum CoolingSchedule {
+    /** Décroissance géométrique : T0 × (Tf / T0)^p. */
+    GEOMETRIC {
+        @Override
+        public double temperature(double initial, double target, double progress) {
+            return initial * Math.pow(target / initial, progress);
+        }
+    },
+
+    /** Décroissance linéaire : T0 + (Tf - T0) × p. */
+    LINEAR {
+        @Override
+        public double temperature(double initial, double target, double progress) {
+            return initial + (target - initial) * progress;
+        }
+    },
+
+    /** Demi-cosinus : lent au début et à la fin, rapide au milieu. */
+    COSINE {
+        @Override
+        public double temperature(double initial, double target, double progress) {
+            return target + (initial - target) * (1 + Math.cos(Math.PI * progress)) / 2;
+        }
+    };
+
+    /**
+     * Retourne la température à l'avancement donné.
+     * @param initial température au début du cycle
+     * @param target température en fin de cycle
+     * @param progress avancement dans le cycle, entre 0 et 1
+     */
+    public abstract double temperature(double initial, double target, double progress);
+}
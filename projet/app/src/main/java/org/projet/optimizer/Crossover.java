@@ -0,0 +1,128 @@
+package org.projet.optimizer;
+
+import java.util.SplittableRandom;
+
+/**
+ * Opérateurs de croisement préservant les permutations
+ * (voir {@link LayoutEncoding}) : les enfants sont toujours des
+ * dispositions valides.
+ */
+public enum Crossover {
+    /**
+     * Croisement PMX (partially mapped) : l'enfant reçoit un segment du
+     * premier parent, le reste vient du second parent en suivant la
+     * correspondance définie par le segment.
+     */
+    PMX {
+        @Override
+        short[] cross(short[] parent1, short[] parent2, int from, int to) {
+            int n = parent1.length;
+            short[] child = new short[n];
+            boolean[] inSegment = new boolean[n];
+            int[] indexIn1 = inverse(parent1);
+            for (int i = from; i <= to; i++) {
+                child[i] = parent1[i];
+                inSegment[parent1[i]] = true;
+            }
+            for (int i = 0; i < n; i++) {
+                if (i >= from && i <= to) {
+                    continue;
+                }
+                short value = parent2[i];
+                while (inSegment[value]) {
+                    value = parent2[indexIn1[value]];
+                }
+                child[i] = value;
+            }
+            return child;
+        }
+    },
+
+    /**
+     * Croisement OX (order) : l'enfant reçoit un segment du premier parent,
+     * les autres valeurs sont placées dans l'ordre où elles apparaissent chez
+     * le second parent, à partir de la fin du segment.
+     */
+    OX {
+        @Override
+        short[] cross(short[] parent1, short[] parent2, int from, int to) {
+            int n = parent1.length;
+            short[] child = new short[n];
+            boolean[] inSegment = new boolean[n];
+            for (int i = from; i <= to; i++) {
+                child[i] = parent1[i];
+                inSegment[parent1[i]] = true;
+            }
+            int target = (to + 1) % n;
+            for (int k = 0; k < n; k++) {
+                short value = parent2[(to + 1 + k) % n];
+                if (!inSegment[value]) {
+                    child[target] = value;
+                    target = (target + 1) % n;
+                }
+            }
+            return child;
+        }
+    },
+
+    /**
+     * Croisement CX (cycle) : les indices sont partagés en cycles, pris
+     * alternativement chez l'un et l'autre parent. Chaque valeur garde une
+     * position qu'elle occupe chez l'un des parents ; les points de coupe
+     * sont ignorés.
+     */
+    CX {
+        @Override
+        short[] cross(short[] parent1, short[] parent2, int from, int to) {
+            int n = parent1.length;
+            short[] child = new short[n];
+            boolean[] visited = new boolean[n];
+            int[] indexIn1 = inverse(parent1);
+            boolean fromFirst = true;
+            for (int start = 0; start < n; start++) {
+                if (visited[start]) {
+                    continue;
+                }
+                int i = start;
+                do {
+                    visited[i] = true;
+                    child[i] = fromFirst ? parent1[i] : parent2[i];
+                    i = indexIn1[parent2[i]];
+                } while (i != start);
+                fromFirst = !fromFirst;
+            }
+            return child;
+        }
+    };
+
+    /**
+     * Produit deux enfants, un par ordre des parents, avec les mêmes points de coupe.
+     */
+    public short[][] apply(short[] parent1, short[] parent2, SplittableRandom random) {
+        int n = parent1.length;
+        if (n == 0) {
+            return new short[][] {parent1.clone(), parent2.clone()};
+        }
+        int a = random.nextInt(n);
+        int b = random.nextInt(n);
+        int from = Math.min(a, b);
+        int to = Math.max(a, b);
+        return new short[][] {
+            cross(parent1, parent2, from, to),
+            cross(parent2, parent1, from, to)
+        };
+    }
+
+    /**
+     * Produit un enfant à partir du segment [from, to] (bornes incluses).
+     */
+    abstract short[] cross(short[] parent1, short[] parent2, int from, int to);
+
+    private static int[] inverse(short[] permutation) {
+        int[] index = new int[permutation.length];
+        for (int i = 0; i < permutation.length; i++) {
+            index[permutation[i]] = i;
+        }
+        return index;
+    }
+}
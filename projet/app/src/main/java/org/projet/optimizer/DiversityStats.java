@@ -0,0 +1,19 @@
+package org.projet.optimizer;
+
+/**
+ * Diversité d'une génération de l'algorithme génétique, mesurée sur les
+ * enfants produits avant l'élimination des doublons.
+ *
+ * @param generation génération qui a produit les enfants
+ * @param uniqueIndividuals nombre d'individus distincts
+ * @param duplicatesReplaced nombre de doublons remplacés par des mutants
+ * @param meanSwapDistance nombre moyen d'échanges séparant deux individus, après remplacement des doublons
+ * @param restarted vrai si la population a été réinitialisée autour du meilleur individu
+ */
+public record DiversityStats(
+    int generation,
+    int uniqueIndividuals,
+    int duplicatesReplaced,
+    double meanSwapDistance,
+    boolean restarted
+) {}
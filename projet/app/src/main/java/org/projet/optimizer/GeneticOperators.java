@@ -0,0 +1,188 @@
+package org.projet.optimizer;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sélection, croisement et mutation de l'algorithme génétique, sur le codage
+ * par permutation (voir {@link LayoutEncoding}).
+ */
+final class GeneticOperators {
+    private final Crossover crossover;
+    private final double crossoverRate;
+    private final double mutationRate;
+    private final GuidedMutation guidedMutation;
+    private final double guidedShare;
+    private final ConstraintMask constraints;
+
+    GeneticOperators(Crossover crossover, double crossoverRate, double mutationRate) {
+        this(crossover, crossoverRate, mutationRate, null, 0.0, null);
+    }
+
+    /**
+     * @param guidedMutation mutation guidée, ou null pour des mutations uniformes
+     * @param guidedShare part des mutations confiées à la mutation guidée
+     * @param constraints emplacements autorisés, ou null sans contrainte
+     */
+    GeneticOperators(
+        Crossover crossover,
+        double crossoverRate,
+        double mutationRate,
+        GuidedMutation guidedMutation,
+        double guidedShare,
+        ConstraintMask constraints
+    ) {
+        this.crossover = crossover;
+        this.crossoverRate = crossoverRate;
+        this.mutationRate = mutationRate;
+        this.guidedMutation = guidedMutation;
+        this.guidedShare = guidedShare;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Produit deux enfants à partir de deux parents choisis par tournoi.
+     */
+    short[][] breed(
+        List<short[]> population,
+        double[] scores,
+        SplittableRandom random
+    ) {
+        // Sélection des parents
+        short[] parent1 = selectParent(population, scores, random);
+        short[] parent2 = selectParent(population, scores, random);
+        return reproduce(parent1, parent2, random);
+    }
+
+    /**
+     * Produit deux enfants par croisement puis mutation de deux parents donnés.
+     */
+    short[][] reproduce(short[] parent1, short[] parent2, SplittableRandom random) {
+        // Croisement
+        short[][] children = random.nextDouble() < crossoverRate
+            ? cross(crossover, parent1, parent2, random)
+            : new short[][] {parent1, parent2};
+        
+        // Mutation
+        for (int i = 0; i < children.length; i++) {
+            if (random.nextDouble() < mutationRate) {
+                children[i] = guidedMutation != null && random.nextDouble() < guidedShare
+                    ? guidedMutation.mutate(children[i], random)
+                    : mutateChild(children[i], random);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Produit deux enfants avec un seul opérateur : croisement des deux
+     * parents, ou mutation de chacun d'eux. Les taux de croisement et de
+     * mutation ne s'appliquent pas.
+     */
+    short[][] vary(VariationOperator operator, short[] parent1, short[] parent2, SplittableRandom random) {
+        return switch (operator) {
+            case PMX -> cross(Crossover.PMX, parent1, parent2, random);
+            case OX -> cross(Crossover.OX, parent1, parent2, random);
+            case CX -> cross(Crossover.CX, parent1, parent2, random);
+            case SWAP -> new short[][] {mutateChild(parent1, random), mutateChild(parent2, random)};
+            case MULTI_SWAP -> new short[][] {multiSwap(parent1, random), multiSwap(parent2, random)};
+            case GUIDED -> {
+                if (guidedMutation == null) {
+                    throw new IllegalStateException("Mutation guidée non configurée");
+                }
+                yield new short[][] {guidedMutation.mutate(parent1, random), guidedMutation.mutate(parent2, random)};
+            }
+        };
+    }
+
+    /**
+     * Indique si la mutation guidée est disponible.
+     */
+    boolean hasGuidedMutation() {
+        return guidedMutation != null;
+    }
+
+    /**
+     * Applique de deux à quatre échanges successifs.
+     */
+    private short[] multiSwap(short[] genome, SplittableRandom random) {
+        int swaps = 2 + random.nextInt(3);
+        short[] mutant = genome;
+        for (int i = 0; i < swaps; i++) {
+            mutant = mutateChild(mutant, random);
+        }
+        return mutant;
+    }
+
+    /**
+     * Croise deux parents. Avec des contraintes, un enfant qui ne les respecte
+     * pas est remplacé par l'enfant du croisement CX : chaque caractère y
+     * garde l'emplacement qu'il occupe chez l'un des parents, donc un
+     * emplacement autorisé.
+     */
+    private short[][] cross(Crossover crossover, short[] parent1, short[] parent2, SplittableRandom random) {
+        short[][] children = crossover.apply(parent1, parent2, random);
+        if (constraints != null && crossover != Crossover.CX) {
+            short[][] cycle = null;
+            for (int k = 0; k < children.length; k++) {
+                if (!constraints.isFeasible(children[k])) {
+                    if (cycle == null) {
+                        cycle = Crossover.CX.apply(parent1, parent2, random);
+                    }
+                    children[k] = cycle[k];
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Échange deux caractères, parmi les échanges autorisés s'il y a des contraintes.
+     */
+    short[] mutateChild(short[] genome, SplittableRandom random) {
+        return constraints != null ? constraints.mutate(genome, random) : mutate(genome, random);
+    }
+
+    static short[] selectParent(
+        List<short[]> population,
+        double[] scores,
+        SplittableRandom random
+    ) {
+        return population.get(selectIndex(scores, random));
+    }
+
+    /**
+     * Retourne l'indice du vainqueur d'un tournoi entre trois individus tirés au hasard.
+     */
+    static int selectIndex(double[] scores, SplittableRandom random) {
+        // Sélection par tournoi
+        int tournamentSize = 3;
+        int best = -1;
+        double bestScore = Double.POSITIVE_INFINITY;
+        
+        for (int i = 0; i < tournamentSize; i++) {
+            int candidate = random.nextInt(scores.length);
+            double score = scores[candidate];
+            
+            if (best < 0 || score < bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        
+        return best;
+    }
+
+    static short[] mutate(short[] genome, SplittableRandom random) {
+        // Sélectionner deux caractères aléatoires et échanger leurs positions
+        short[] mutant = genome.clone();
+        int idx1 = random.nextInt(mutant.length);
+        int idx2 = random.nextInt(mutant.length);
+        
+        short slot = mutant[idx1];
+        mutant[idx1] = mutant[idx2];
+        mutant[idx2] = slot;
+        
+        return mutant;
+    }
+}
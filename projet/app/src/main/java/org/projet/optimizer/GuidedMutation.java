@@ -0,0 +1,133 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.PenaltyModel;
+
+import java.nio.ShortBuffer;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mutation guidée par les pénalités : le caractère à déplacer est tiré
+ * proportionnellement à sa part des bigrammes pénalisés (même doigt, ciseaux,
+ * extension latérale), puis l'emplacement d'arrivée est tiré en favorisant
+ * ceux où ses bigrammes seraient le moins pénalisés.
+ *
+ * <p>Une mutation uniforme échange surtout des symboles rares, sans effet sur
+ * le score ; celle-ci concentre les échanges sur les touches coûteuses.
+ *
+ * <p>Les pénalités par caractère sont gardées pour chaque codage rencontré :
+ * un parent muté plusieurs fois n'est attribué qu'une fois, et celles d'un
+ * mutant se déduisent de son parent en ne reparcourant que les bigrammes
+ * des deux caractères échangés.
+ */
+final class GuidedMutation {
+    // Au-delà, le cache est vidé : il ne sert qu'aux parents des générations récentes
+    private static final int MAX_CACHED = 1 << 12;
+
+    private final PenaltyModel model;
+    private final ConstraintMask constraints;
+    private final Map<ShortBuffer, double[]> penaltyCache = new ConcurrentHashMap<>();
+
+    /**
+     * @param constraints emplacements autorisés, ou null sans contrainte
+     */
+    GuidedMutation(PenaltyModel model, ConstraintMask constraints) {
+        this.model = model;
+        this.constraints = constraints;
+    }
+
+    /**
+     * Retourne une copie du codage où un caractère pénalisé a été échangé.
+     * Sans bigramme pénalisé, l'échange est tiré uniformément.
+     */
+    short[] mutate(short[] genome, SplittableRandom random) {
+        double[] genomePenalties = penalties(genome);
+        double[] penalties = genomePenalties.clone();
+        if (constraints != null) {
+            for (int i = 0; i < penalties.length; i++) {
+                if (!constraints.isMovable(i)) {
+                    penalties[i] = 0.0;
+                }
+            }
+        }
+        int c = sample(penalties, random);
+        if (c < 0) {
+            return constraints != null ? constraints.mutate(genome, random) : GeneticOperators.mutate(genome, random);
+        }
+
+        // Poids d'un emplacement : écart à la pire position pour c, plus un
+        long[] placements = model.placementPenalties(genome, c);
+        long worst = 0;
+        for (long penalty : placements) {
+            worst = Math.max(worst, penalty);
+        }
+        int[] occupant = new int[genome.length];
+        for (int i = 0; i < genome.length; i++) {
+            occupant[genome[i]] = i;
+        }
+        double[] weights = new double[placements.length];
+        for (int slot = 0; slot < placements.length; slot++) {
+            boolean allowed = slot != genome[c]
+                && (constraints == null || constraints.allowsSwap(genome, c, occupant[slot]));
+            weights[slot] = allowed ? worst - placements[slot] + 1.0 : 0.0;
+        }
+        int slot = sample(weights, random);
+        if (slot < 0) {
+            return genome.clone();
+        }
+
+        short[] mutant = genome.clone();
+        mutant[occupant[slot]] = genome[c];
+        mutant[c] = (short) slot;
+        double[] mutantPenalties = genomePenalties.clone();
+        model.applySwap(mutantPenalties, genome, c, occupant[slot]);
+        remember(mutant.clone(), mutantPenalties);
+        return mutant;
+    }
+
+    /**
+     * Pénalités par caractère d'un codage, calculées au premier appel.
+     * Le tableau retourné est partagé et ne doit pas être modifié.
+     */
+    private double[] penalties(short[] genome) {
+        double[] penalties = penaltyCache.get(ShortBuffer.wrap(genome));
+        if (penalties == null) {
+            penalties = model.characterPenalties(genome);
+            remember(genome.clone(), penalties);
+        }
+        return penalties;
+    }
+
+    private void remember(short[] genome, double[] penalties) {
+        if (penaltyCache.size() >= MAX_CACHED) {
+            penaltyCache.clear();
+        }
+        penaltyCache.put(ShortBuffer.wrap(genome), penalties);
+    }
+
+    /**
+     * Tire un indice proportionnellement aux poids, ou -1 si tous sont nuls.
+     */
+    private static int sample(double[] weights, SplittableRandom random) {
+        double total = 0.0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        if (!(total > 0)) {
+            return -1;
+        }
+        double target = random.nextDouble() * total;
+        int last = -1;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                last = i;
+                target -= weights[i];
+                if (target < 0) {
+                    return i;
+                }
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,152 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Sous-population du modèle en îles, évoluée par un seul thread à la fois
+ * avec son propre générateur aléatoire.
+ */
+final class Island {
+    final int index;
+    private final LayoutEncoding encoding;
+    private final LayoutEvaluator evaluator;
+    private final GeneticOperators operators;
+    private final SplittableRandom random;
+
+    private List<short[]> population;
+    private double[] scores;
+    private short[] bestGenome;
+    private double bestScore = Double.POSITIVE_INFINITY;
+    private int generation;
+    private int lastImprovement;
+    private final List<Double> bestScoreHistory = new ArrayList<>();
+
+    Island(
+        int index,
+        int size,
+        LayoutEncoding encoding,
+        LayoutEvaluator evaluator,
+        GeneticOperators operators,
+        SplittableRandom random
+    ) {
+        this.index = index;
+        this.encoding = encoding;
+        this.evaluator = evaluator;
+        this.operators = operators;
+        this.random = random;
+
+        // Disposition de départ et variations par mutation
+        short[] initial = encoding.identity();
+        population = new ArrayList<>(size);
+        population.add(initial);
+        while (population.size() < size) {
+            population.add(operators.mutateChild(initial, random));
+        }
+        scores = evaluate(population);
+        updateBest();
+    }
+
+    private double[] evaluate(List<short[]> genomes) {
+        double[] result = new double[genomes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = evaluator.scoreLayout(encoding.decode(genomes.get(i), "Island-" + index));
+        }
+        return result;
+    }
+
+    private void updateBest() {
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] < bestScore) {
+                bestScore = scores[i];
+                bestGenome = population.get(i);
+                lastImprovement = generation;
+            }
+        }
+    }
+
+    /**
+     * Fait évoluer l'île pendant le nombre de générations donné.
+     */
+    void evolve(int generations) {
+        for (int g = 0; g < generations; g++) {
+            List<short[]> next = new ArrayList<>(population.size());
+            while (next.size() < population.size()) {
+                for (short[] child : operators.breed(population, scores, random)) {
+                    if (next.size() < population.size()) {
+                        next.add(child);
+                    }
+                }
+            }
+            population = next;
+            scores = evaluate(population);
+            generation++;
+            updateBest();
+            bestScoreHistory.add(bestScore);
+        }
+    }
+
+    /**
+     * Retourne des copies des meilleurs individus de l'île, du meilleur au moins bon.
+     */
+    List<short[]> emigrants(int count) {
+        return rankByScore().limit(count)
+            .mapToObj(i -> population.get(i).clone())
+            .toList();
+    }
+
+    /**
+     * Retourne les scores des individus renvoyés par {@link #emigrants(int)}.
+     */
+    double[] emigrantScores(int count) {
+        return rankByScore().limit(count).mapToDouble(i -> scores[i]).toArray();
+    }
+
+    /**
+     * Remplace les moins bons individus par des migrants déjà évalués.
+     */
+    void immigrate(List<short[]> migrants, double[] migrantScores) {
+        int[] worst = rankByScore().toArray();
+        int count = Math.min(migrants.size(), population.size());
+        for (int k = 0; k < count; k++) {
+            int slot = worst[worst.length - 1 - k];
+            population.set(slot, migrants.get(k));
+            scores[slot] = migrantScores[k];
+        }
+        updateBest();
+    }
+
+    private IntStream rankByScore() {
+        return IntStream.range(0, scores.length).boxed()
+            .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).thenComparingInt(i -> i))
+            .mapToInt(Integer::intValue);
+    }
+
+    short[] bestGenome() {
+        return bestGenome;
+    }
+
+    double bestScore() {
+        return bestScore;
+    }
+
+    int generation() {
+        return generation;
+    }
+
+    /**
+     * Indique si l'île n'a pas amélioré son meilleur score depuis plus de {@code patience} générations.
+     */
+    boolean hasConverged(int patience) {
+        return generation - lastImprovement > patience;
+    }
+
+    IslandStats stats(int patience) {
+        return new IslandStats(index, bestScore, lastImprovement, bestScoreHistory, hasConverged(patience));
+    }
+}
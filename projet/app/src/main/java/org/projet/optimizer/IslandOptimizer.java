@@ -0,0 +1,208 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optimise une disposition avec un algorithme génétique en îles.
+ *
+ * <p>Plusieurs sous-populations évoluent indépendamment, chacune sur un
+ * thread. Toutes les {@code migrationInterval} générations, les meilleurs
+ * individus de chaque île remplacent les moins bons de ses voisines selon la
+ * {@link MigrationTopology}. Chaque île ayant son propre générateur et la
+ * migration ayant lieu entre deux époques, le résultat ne dépend que de la
+ * graine, pas du nombre de threads.
+ */
+public class IslandOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private long seed;
+    private int islands;
+    private int threads;
+    private int islandSize = 50;
+    private int maxGenerations = 100;
+    private int migrationInterval = 10;
+    private int migrants = 2;
+    private MigrationTopology topology = MigrationTopology.RING;
+    private Crossover crossover = Crossover.PMX;
+    private double mutationRate = 0.2;
+    private double crossoverRate = 0.9;
+    private LayoutConstraints constraints;
+    private List<IslandStats> lastStats = List.of();
+
+    // Générations sans amélioration après lesquelles une île est considérée convergée
+    private static final int PATIENCE = 20;
+
+    /**
+     * Crée un optimiseur avec une île de 50 individus par processeur.
+     */
+    public IslandOptimizer(LayoutEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.seed = new SplittableRandom().nextLong();
+        this.islands = Runtime.getRuntime().availableProcessors();
+        this.threads = islands;
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Fixe le nombre d'îles et la taille de chacune.
+     */
+    public void setIslands(int islands, int islandSize) {
+        if (islands < 1 || islandSize < 2) {
+            throw new IllegalArgumentException("Îles invalides : " + islands + " × " + islandSize);
+        }
+        this.islands = islands;
+        this.islandSize = islandSize;
+    }
+
+    /**
+     * Fixe le nombre de threads (par défaut, le nombre de processeurs).
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Fixe le nombre maximal de générations de chaque île.
+     */
+    public void setMaxGenerations(int maxGenerations) {
+        this.maxGenerations = maxGenerations;
+    }
+
+    /**
+     * Fait migrer {@code migrants} individus toutes les {@code interval} générations.
+     */
+    public void setMigration(int interval, int migrants, MigrationTopology topology) {
+        if (interval < 1 || migrants < 0) {
+            throw new IllegalArgumentException("Migration invalide : " + interval + ", " + migrants);
+        }
+        this.migrationInterval = interval;
+        this.migrants = migrants;
+        this.topology = Objects.requireNonNull(topology);
+    }
+
+    /**
+     * Fixe les opérateurs génétiques de chaque île.
+     */
+    public void setOperators(Crossover crossover, double crossoverRate, double mutationRate) {
+        this.crossover = Objects.requireNonNull(crossover);
+        this.crossoverRate = crossoverRate;
+        this.mutationRate = mutationRate;
+    }
+
+    /**
+     * Restreint les dispositions explorées par toutes les îles (voir {@link LayoutConstraints}).
+     * @param constraints les contraintes, ou null pour permuter librement tous les caractères
+     */
+    public void setConstraints(LayoutConstraints constraints) {
+        this.constraints = constraints;
+    }
+
+    /**
+     * Retourne le suivi de convergence de chaque île lors du dernier appel
+     * à {@link #optimize(KeyboardLayout)}.
+     */
+    public List<IslandStats> getLastStats() {
+        return lastStats;
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        GeneticOperators operators = new GeneticOperators(crossover, crossoverRate, mutationRate,
+            null, 0.0, constraints != null ? constraints.compile(encoding) : null);
+        double initialScore = evaluator.scoreLayout(initial);
+        System.out.printf("Score initial : %.2f%n%n", initialScore);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, islands));
+        try {
+            // Chaque île reçoit un générateur dérivé dans un ordre fixe
+            SplittableRandom[] randoms = new SplittableRandom[islands];
+            for (int i = 0; i < islands; i++) {
+                randoms[i] = random.split();
+            }
+            List<Island> population = KeyboardOptimizer.runParallel(executor, threads, islands,
+                i -> new Island(i, islandSize, encoding, evaluator, operators, randoms[i]));
+
+            int generation = 0;
+            while (generation < maxGenerations) {
+                int epoch = Math.min(migrationInterval, maxGenerations - generation);
+                KeyboardOptimizer.runParallel(executor, threads, islands, i -> {
+                    population.get(i).evolve(epoch);
+                    return null;
+                });
+                generation += epoch;
+
+                if (population.stream().allMatch(island -> island.hasConverged(PATIENCE))) {
+                    System.out.println("Convergence de toutes les îles après " + generation + " générations");
+                    break;
+                }
+                if (generation < maxGenerations) {
+                    migrate(population);
+                }
+            }
+
+            Island best = population.get(0);
+            for (Island island : population) {
+                if (island.bestScore() < best.bestScore()) {
+                    best = island;
+                }
+            }
+            lastStats = population.stream().map(island -> island.stats(PATIENCE)).toList();
+
+            short[] bestGenome = best.bestScore() < initialScore ? best.bestGenome() : encoding.identity();
+            double bestScore = Math.min(best.bestScore(), initialScore);
+
+            System.out.println("=== Îles ===");
+            for (IslandStats stats : lastStats) {
+                System.out.printf("Île %d : %.2f (dernière amélioration : génération %d%s)%n",
+                    stats.island(), stats.bestScore(), stats.lastImprovement(),
+                    stats.converged() ? ", convergée" : "");
+            }
+            KeyboardOptimizer.printChanges(encoding, bestGenome);
+            System.out.printf("%nScore final : %.2f%n", bestScore);
+
+            return encoding.decode(bestGenome, "Optimized");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Envoie les meilleurs individus de chaque île vers ses voisines.
+     * Tous les migrants sont choisis avant d'être insérés.
+     */
+    private void migrate(List<Island> population) {
+        if (migrants == 0) {
+            return;
+        }
+        List<List<short[]>> emigrants = new ArrayList<>(islands);
+        List<double[]> emigrantScores = new ArrayList<>(islands);
+        for (Island island : population) {
+            emigrants.add(island.emigrants(migrants));
+            emigrantScores.add(island.emigrantScores(migrants));
+        }
+        for (Island source : population) {
+            for (int destination : topology.destinations(source.index, islands)) {
+                List<short[]> copies = emigrants.get(source.index).stream().map(short[]::clone).toList();
+                population.get(destination).immigrate(copies, emigrantScores.get(source.index));
+            }
+        }
+    }
+}
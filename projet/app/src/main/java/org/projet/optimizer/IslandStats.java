@@ -0,0 +1,24 @@
+package org.projet.optimizer;
+
+import java.util.List;
+
+/**
+ * Suivi de la convergence d'une île.
+ *
+ * @param island numéro de l'île
+ * @param bestScore meilleur score atteint sur l'île
+ * @param lastImprovement génération du dernier meilleur score de l'île
+ * @param bestScoreHistory meilleur score de l'île à la fin de chaque génération
+ * @param converged vrai si l'île n'a plus progressé depuis le seuil de stagnation
+ */
+public record IslandStats(
+    int island,
+    double bestScore,
+    int lastImprovement,
+    List<Double> bestScoreHistory,
+    boolean converged
+) {
+    public IslandStats {
+        bestScoreHistory = List.copyOf(bestScoreHistory);
+    }
+}
@@ -1,21 +1,43 @@
 package org.projet.optimizer;
 
 import org.projet.model.KeyboardLayout;
-import org.projet.model.KeyboardDisplay;
+import org.projet.evaluator.FitnessArchive;
 import org.projet.evaluator.LayoutEvaluator;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
 
 /**
  * Optimise une disposition de clavier en utilisant un algorithme génétique.
  */
-public class KeyboardOptimizer {
+public class KeyboardOptimizer implements LayoutOptimizer {
     private final LayoutEvaluator evaluator;
-    private final Random random;
+    private long seed;
+    private int threads;
     private final int populationSize;
     private final int maxGenerations;
     private final double mutationRate;
     private final double crossoverRate;
+    private LayoutEvaluator screeningEvaluator;
+    private Crossover crossover = Crossover.PMX;
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private boolean resume;
+    private FitnessArchive archive;
+    private double guidedMutationShare;
+    private LayoutConstraints constraints;
+    private double collapseRatio = 0.05;
+    private int maxRestarts = 3;
+    private List<DiversityStats> lastDiversity = List.of();
+    private boolean adaptiveOperators;
+    private List<OperatorAdaptation> lastOperatorHistory = List.of();
     
     /**
      * Crée un nouvel optimiseur de disposition.
@@ -37,203 +59,534 @@ public class KeyboardOptimizer {
         double crossoverRate
     ) {
         this.evaluator = evaluator;
-        this.random = new Random();
+        this.seed = new SplittableRandom().nextLong();
+        this.threads = Runtime.getRuntime().availableProcessors();
         this.populationSize = populationSize;
         this.maxGenerations = maxGenerations;
         this.mutationRate = mutationRate;
         this.crossoverRate = crossoverRate;
     }
     
+    /**
+     * Note la population avec un évaluateur approché, par exemple
+     * {@code evaluator.approximate(0.95)}, pour accélérer chaque génération.
+     * Le meilleur candidat de chaque génération est réévalué avec l'évaluateur
+     * exact avant d'être comparé au meilleur score.
+     * @param screeningEvaluator l'évaluateur de criblage, ou null pour tout évaluer exactement
+     */
+    public void setScreeningEvaluator(LayoutEvaluator screeningEvaluator) {
+        this.screeningEvaluator = screeningEvaluator;
+    }
+    
+    /**
+     * Consulte une archive de scores avant chaque évaluation exacte, et y
+     * ajoute les nouveaux scores. L'archive doit avoir été ouverte pour
+     * l'évaluateur de cet optimiseur.
+     * @param archive l'archive, ou null pour toujours évaluer
+     */
+    public void setArchive(FitnessArchive archive) {
+        if (archive != null && archive.fingerprint() != evaluator.fingerprint()) {
+            throw new IllegalArgumentException("L'archive a été ouverte pour un autre évaluateur");
+        }
+        this.archive = archive;
+    }
+    
+    /**
+     * Choisit l'opérateur de croisement (PMX par défaut).
+     */
+    public void setCrossover(Crossover crossover) {
+        this.crossover = Objects.requireNonNull(crossover);
+    }
+    
+    /**
+     * Confie une part des mutations à la mutation guidée par les pénalités,
+     * qui déplace de préférence les caractères des bigrammes à même doigt,
+     * en ciseaux ou en extension latérale (voir {@link GuidedMutation}).
+     * @param share part des mutations guidées, entre 0 (par défaut) et 1
+     */
+    public void setGuidedMutation(double share) {
+        if (!(share >= 0 && share <= 1)) {
+            throw new IllegalArgumentException("Part de mutations guidées invalide : " + share);
+        }
+        this.guidedMutationShare = share;
+    }
+    
+    /**
+     * Remplace les taux fixes de croisement et de mutation par une sélection
+     * adaptative : pour chaque couple de parents, un seul opérateur est tiré
+     * parmi l'échange, les échanges multiples, les croisements PMX, OX et CX
+     * et la mutation guidée, selon son taux d'amélioration récent (voir
+     * {@link VariationOperator}). L'opérateur de croisement choisi par
+     * {@link #setCrossover(Crossover)} est alors ignoré.
+     *
+     * <p>L'apprentissage n'est pas enregistré dans les points de reprise : une
+     * reprise repart de probabilités uniformes.
+     */
+    public void setAdaptiveOperators(boolean adaptiveOperators) {
+        this.adaptiveOperators = adaptiveOperators;
+    }
+    
+    /**
+     * Retourne, génération par génération, l'usage, le taux d'amélioration et
+     * les probabilités des opérateurs lors du dernier appel à
+     * {@link #optimize(KeyboardLayout)} ; vide sans sélection adaptative.
+     */
+    public List<OperatorAdaptation> getLastOperatorHistory() {
+        return lastOperatorHistory;
+    }
+    
+    /**
+     * Restreint les dispositions explorées : caractères fixés, touches
+     * autorisées, maintien sur la même main. Les mutations et croisements ne
+     * produisent que des dispositions qui respectent les contraintes.
+     * @param constraints les contraintes, ou null pour permuter librement tous les caractères
+     */
+    public void setConstraints(LayoutConstraints constraints) {
+        this.constraints = constraints;
+    }
+    
+    /**
+     * Règle le redémarrage sur effondrement de la diversité : lorsque la
+     * distance d'échange moyenne entre individus tombe sous
+     * {@code collapseRatio} fois la distance maximale, la population est
+     * réinitialisée autour du meilleur individu, au plus {@code maxRestarts}
+     * fois (0,05 et 3 par défaut). Sans cela, l'optimisation attend 20
+     * générations sans amélioration avant de s'arrêter.
+     * @param collapseRatio seuil relatif entre 0 et 1, 0 pour ne jamais redémarrer
+     */
+    public void setDiversityControl(double collapseRatio, int maxRestarts) {
+        if (!(collapseRatio >= 0 && collapseRatio <= 1) || maxRestarts < 0) {
+            throw new IllegalArgumentException("Contrôle de diversité invalide : " + collapseRatio + ", " + maxRestarts);
+        }
+        this.collapseRatio = collapseRatio;
+        this.maxRestarts = maxRestarts;
+    }
+    
+    /**
+     * Retourne la diversité de chaque génération produite lors du dernier
+     * appel à {@link #optimize(KeyboardLayout)}, population initiale comprise.
+     */
+    public List<DiversityStats> getLastDiversity() {
+        return lastDiversity;
+    }
+    
+    /**
+     * Écrit un point de reprise toutes les {@code interval} générations.
+     * @param file fichier du point de reprise, ou null pour ne pas en écrire
+     */
+    public void setCheckpoint(Path file, int interval) {
+        if (file != null && interval < 1) {
+            throw new IllegalArgumentException("Intervalle de reprise invalide : " + interval);
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = interval;
+    }
+    
+    /**
+     * Reprend l'optimisation depuis le point de reprise s'il existe. La reprise
+     * suppose la même disposition de départ et les mêmes paramètres ; elle
+     * donne alors le même résultat qu'une exécution sans interruption.
+     */
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+    
+    /**
+     * Fixe la graine du générateur aléatoire. Pour une même graine, le résultat
+     * est identique quel que soit le nombre de threads.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Fixe le nombre de threads utilisés pour évaluer et produire chaque génération.
+     * Par défaut, le nombre de processeurs disponibles.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+    
     /**
      * Optimise une disposition de départ.
      * @return la meilleure disposition trouvée
      */
+    @Override
     public KeyboardLayout optimize(KeyboardLayout initial) {
-        // Initialiser la population avec des variations de la disposition initiale
-        List<KeyboardLayout> population = initializePopulation(initial);
-        KeyboardLayout bestLayout = initial;
-        double bestScore = evaluator.evaluateLayout(initial);
+        return run(initial, new OptimizationHandle(initial, evaluator.scoreLayout(initial), null));
+    }
+    
+    /**
+     * Lance l'optimisation en arrière-plan pour une durée maximale et retourne
+     * immédiatement. L'optimisation s'arrête à l'échéance, sur annulation, ou
+     * dans les mêmes conditions que {@link #optimize(KeyboardLayout)} si elles
+     * arrivent avant.
+     * @return le suivi de l'optimisation, qui expose la meilleure disposition trouvée jusqu'ici
+     */
+    public OptimizationHandle optimize(KeyboardLayout initial, Duration budget) {
+        OptimizationHandle handle = new OptimizationHandle(initial, evaluator.scoreLayout(initial), budget);
+        Thread runner = new Thread(() -> {
+            try {
+                handle.complete(run(initial, handle));
+            } catch (RuntimeException | Error e) {
+                handle.fail(e);
+            }
+        }, "keyboard-optimizer");
+        runner.setDaemon(true);
+        runner.start();
+        return handle;
+    }
+    
+    private KeyboardLayout run(KeyboardLayout initial, OptimizationHandle handle) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return optimize(initial, executor, handle);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private KeyboardLayout optimize(KeyboardLayout initial, ExecutorService executor, OptimizationHandle handle) {
+        // Chaque tâche reçoit son propre générateur, dérivé dans un ordre fixe
+        // du générateur principal : le tirage ne dépend pas du nombre de threads
+        SplittableRandom random = new SplittableRandom(seed);
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        ConstraintMask mask = constraints != null ? constraints.compile(encoding) : null;
+        GeneticOperators operators = new GeneticOperators(crossover, crossoverRate, mutationRate,
+            guidedMutationShare > 0 || adaptiveOperators ? new GuidedMutation(evaluator.penaltyModel(initial), mask) : null,
+            guidedMutationShare, mask);
+        OperatorBandit bandit = adaptiveOperators ? new OperatorBandit(List.of(VariationOperator.values())) : null;
+        List<OperatorAdaptation> operatorHistory = new ArrayList<>();
+        // Opérateur et score de référence de chaque enfant de la génération à évaluer
+        List<VariationOperator> childOperators = null;
+        List<Double> childReferences = null;
+        
+        List<short[]> population;
+        short[] bestGenome = encoding.identity();
+        double bestScore = handle.bestScore();
+        int generationsWithoutImprovement = 0;
+        int restarts = 0;
+        int firstGeneration = 0;
+        double[] resumedScores = null;
+        List<DiversityStats> diversity = new ArrayList<>();
         
         System.out.printf("Score initial : %.2f%n%n", bestScore);
         
-        int generationsWithoutImprovement = 0;
-        double previousBestScore = bestScore;
+        Optional<Checkpoint> checkpoint = resume && checkpointFile != null
+            ? Checkpoint.read(checkpointFile)
+            : Optional.empty();
+        if (checkpoint.isPresent() && !checkpoint.get().characters().equals(encoding.characters())) {
+            System.err.println("Point de reprise ignoré : il porte sur une autre disposition");
+            checkpoint = Optional.empty();
+        }
+        if (checkpoint.isPresent()) {
+            // Reprendre juste avant la production de la génération suivante
+            Checkpoint saved = checkpoint.get();
+            population = saved.population();
+            resumedScores = saved.scores();
+            bestGenome = saved.bestGenome();
+            bestScore = saved.bestScore();
+            generationsWithoutImprovement = saved.generationsWithoutImprovement();
+            restarts = saved.restarts();
+            firstGeneration = saved.generation();
+            random = new SplittableRandom(saved.randomState());
+            handle.offer(encoding.decode(bestGenome, "Optimized"), bestScore, firstGeneration);
+            System.out.println("Reprise à la génération " + firstGeneration);
+        } else {
+            // Initialiser la population avec des variations de la disposition initiale
+            population = initializePopulation(encoding, operators, random, executor);
+            SplittableRandom diversityRandom = random.split();
+            int duplicates = PopulationDiversity.replaceDuplicates(population, operators, diversityRandom);
+            diversity.add(new DiversityStats(0, population.size() - duplicates, duplicates,
+                PopulationDiversity.meanSwapDistance(population), false));
+        }
         
-        for (int generation = 0; generation < maxGenerations; generation++) {
-            // Évaluer la population
-            Map<KeyboardLayout, Double> scores = new HashMap<>();
-            for (KeyboardLayout layout : population) {
-                scores.put(layout, evaluator.evaluateLayout(layout));
+        for (int generation = firstGeneration; generation < maxGenerations; generation++) {
+            if (handle.shouldStop()) {
+                System.out.println((handle.isCancelled() ? "Optimisation annulée" : "Temps écoulé")
+                    + " après " + generation + " générations");
+                break;
             }
             
-            // Trouver le meilleur de cette génération
-            KeyboardLayout generationBest = Collections.min(
-                scores.entrySet(),
-                Map.Entry.comparingByValue()
-            ).getKey();
-            
-            double generationBestScore = scores.get(generationBest);
-            if (generationBestScore < bestScore) {
-                bestScore = generationBestScore;
-                bestLayout = generationBest;
-                generationsWithoutImprovement = 0;
+            List<short[]> evaluated = population;
+            double[] scores;
+            if (resumedScores != null) {
+                // Génération déjà évaluée et classée avant l'interruption
+                scores = resumedScores;
+                resumedScores = null;
             } else {
-                generationsWithoutImprovement++;
+                scores = evaluate(evaluated, encoding, executor);
+                
+                if (bandit != null && childOperators != null) {
+                    for (int i = 0; i < scores.length; i++) {
+                        if (childOperators.get(i) != null) {
+                            bandit.record(childOperators.get(i), scores[i] < childReferences.get(i));
+                        }
+                    }
+                    operatorHistory.add(bandit.update(generation));
+                }
+                
+                // Trouver le meilleur de cette génération
+                int generationBestIndex = 0;
+                for (int i = 1; i < scores.length; i++) {
+                    if (scores[i] < scores[generationBestIndex]) {
+                        generationBestIndex = i;
+                    }
+                }
+                short[] generationBest = population.get(generationBestIndex);
+                
+                // Le classement final utilise toujours le score exact
+                double generationBestScore = screeningEvaluator != null
+                    ? exactScore(encoding.decode(generationBest, "Optimized"))
+                    : scores[generationBestIndex];
+                // Les nouveaux scores survivent à un arrêt brutal
+                flushArchive();
+                if (generationBestScore < bestScore) {
+                    bestScore = generationBestScore;
+                    bestGenome = generationBest;
+                    generationsWithoutImprovement = 0;
+                    handle.offer(encoding.decode(bestGenome, "Optimized"), bestScore, generation);
+                } else {
+                    generationsWithoutImprovement++;
+                }
+                
+                // Arrêter si pas d'amélioration depuis 20 générations
+                if (generationsWithoutImprovement > 20) {
+                    System.out.println("Convergence atteinte après " + generation + " générations");
+                    break;
+                }
+                
+                // L'état du générateur est réduit à une graine, enregistrable dans le point de reprise
+                long randomState = random.nextLong();
+                random = new SplittableRandom(randomState);
+                if (checkpointFile != null && (generation + 1) % checkpointInterval == 0) {
+                    new Checkpoint(
+                        encoding.characters(), generation, generationsWithoutImprovement, restarts, randomState,
+                        bestGenome, bestScore, evaluated, scores
+                    ).write(checkpointFile);
+                }
             }
             
-            // Arrêter si pas d'amélioration depuis 20 générations
-            if (generationsWithoutImprovement > 20) {
-                System.out.println("Convergence atteinte après " + generation + " générations");
-                break;
+            // Créer la nouvelle génération : chaque couple d'enfants est produit
+            // par une tâche indépendante (sélection, croisement, mutation)
+            int pairCount = (populationSize + 1) / 2;
+            SplittableRandom[] pairRandoms = new SplittableRandom[pairCount];
+            for (int i = 0; i < pairCount; i++) {
+                pairRandoms[i] = random.split();
             }
+            SplittableRandom diversityRandom = random.split();
+            List<Brood> broods = runParallel(executor, threads, pairCount,
+                i -> breed(operators, bandit, evaluated, scores, pairRandoms[i]));
             
-            // Créer la nouvelle génération
-            List<KeyboardLayout> newPopulation = new ArrayList<>();
-            
-            while (newPopulation.size() < populationSize) {
-                // Sélection des parents
-                KeyboardLayout parent1 = selectParent(population, scores);
-                KeyboardLayout parent2 = selectParent(population, scores);
-                
-                // Croisement
-                if (random.nextDouble() < crossoverRate) {
-                    var children = crossover(parent1, parent2);
-                    newPopulation.add(children.get(0));
-                    if (newPopulation.size() < populationSize) {
-                        newPopulation.add(children.get(1));
-                    }
-                } else {
-                    newPopulation.add(parent1);
+            List<short[]> newPopulation = new ArrayList<>(populationSize);
+            childOperators = bandit != null ? new ArrayList<>(populationSize) : null;
+            childReferences = bandit != null ? new ArrayList<>(populationSize) : null;
+            for (Brood brood : broods) {
+                for (int c = 0; c < brood.children().length; c++) {
                     if (newPopulation.size() < populationSize) {
-                        newPopulation.add(parent2);
+                        newPopulation.add(brood.children()[c]);
+                        if (bandit != null) {
+                            childOperators.add(brood.operator());
+                            childReferences.add(brood.references()[c]);
+                        }
                     }
                 }
             }
             
-            // Mutation
-            for (int i = 0; i < newPopulation.size(); i++) {
-                if (random.nextDouble() < mutationRate) {
-                    newPopulation.set(i, mutate(newPopulation.get(i)));
+            // Remplacer les doublons par des mutants : les évaluer n'apprend rien
+            List<short[]> bred = bandit != null ? new ArrayList<>(newPopulation) : null;
+            int duplicates = PopulationDiversity.replaceDuplicates(newPopulation, operators, diversityRandom);
+            if (bandit != null) {
+                // Un mutant de remplacement ne doit rien à l'opérateur tiré : il n'est pas compté
+                for (int i = 0; i < newPopulation.size(); i++) {
+                    if (newPopulation.get(i) != bred.get(i)) {
+                        childOperators.set(i, null);
+                    }
                 }
             }
+            double meanDistance = PopulationDiversity.meanSwapDistance(newPopulation);
+            
+            // Population effondrée autour d'un même individu : inutile
+            // d'attendre la stagnation, repartir de mutants du meilleur
+            boolean restarted = meanDistance < collapseRatio * (encoding.size() - 1) && restarts < maxRestarts;
+            if (restarted) {
+                restarts++;
+                generationsWithoutImprovement = 0;
+                newPopulation = restartPopulation(bestGenome, encoding, operators, diversityRandom);
+                // Les mutants du redémarrage ne doivent rien aux opérateurs
+                childOperators = null;
+                System.out.printf("Diversité effondrée (%.2f échanges en moyenne) : redémarrage %d à la génération %d%n",
+                    meanDistance, restarts, generation + 1);
+            }
+            diversity.add(new DiversityStats(generation + 1, newPopulation.size() - duplicates, duplicates,
+                restarted ? PopulationDiversity.meanSwapDistance(newPopulation) : meanDistance, restarted));
             population = newPopulation;
         }
         
-        System.out.println("=== Changements de touches ===");
-        System.out.println("Liste des échanges effectués :");
+        lastDiversity = List.copyOf(diversity);
+        lastOperatorHistory = List.copyOf(operatorHistory);
+        printChanges(encoding, bestGenome);
+        System.out.printf("%nScore final : %.2f%n", bestScore);
         
-        // Créer une Map des positions initiales
-        Map<KeyboardLayout.Key, Character> initialPositions = new HashMap<>();
-        for (Map.Entry<Character, KeyboardLayout.Key> entry : initial.characterToKeyMap().entrySet()) {
-            initialPositions.put(entry.getValue(), entry.getKey());
+        return encoding.decode(bestGenome, "Optimized");
+    }
+    
+    /**
+     * Note chaque individu de la population sur le pool de threads.
+     */
+    private double[] evaluate(List<short[]> population, LayoutEncoding encoding, ExecutorService executor) {
+        List<Double> scores = runParallel(executor, threads, population.size(), i -> {
+            KeyboardLayout layout = encoding.decode(population.get(i), "Optimized");
+            return screeningEvaluator != null ? screeningEvaluator.scoreLayout(layout) : exactScore(layout);
+        });
+        return scores.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+    
+    private double exactScore(KeyboardLayout layout) {
+        return archive != null ? archive.score(layout) : evaluator.scoreLayout(layout);
+    }
+    
+    private void flushArchive() {
+        if (archive == null) {
+            return;
         }
+        try {
+            archive.flush();
+        } catch (IOException e) {
+            System.err.println("Échec de l'écriture dans l'archive : " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Affiche, pour chaque touche, le caractère de départ et celui qui l'a remplacé.
+     */
+    static void printChanges(LayoutEncoding encoding, short[] genome) {
+        System.out.println("=== Changements de touches ===");
+        System.out.println("Liste des échanges effectués :");
         
-        // Pour chaque position, voir quelle touche a changé
-        for (Map.Entry<Character, KeyboardLayout.Key> entry : bestLayout.characterToKeyMap().entrySet()) {
-            char newChar = entry.getKey();
-            KeyboardLayout.Key position = entry.getValue();
-            char originalChar = initialPositions.get(position);
-            
+        // L'emplacement i portait le caractère i dans la disposition de départ
+        for (int c = 0; c < genome.length; c++) {
+            char originalChar = encoding.character(genome[c]);
+            char newChar = encoding.character(c);
             if (newChar != originalChar) {
                 System.out.printf("%c -> %c%n", originalChar, newChar);
             }
         }
-        
-        System.out.printf("%nScore final : %.2f%n", bestScore);
-        
-        return bestLayout;
     }
     
-    private List<KeyboardLayout> initializePopulation(KeyboardLayout initial) {
-        List<KeyboardLayout> population = new ArrayList<>();
+    private List<short[]> initializePopulation(
+        LayoutEncoding encoding,
+        GeneticOperators operators,
+        SplittableRandom random,
+        ExecutorService executor
+    ) {
+        List<short[]> population = new ArrayList<>();
+        short[] initial = encoding.identity();
         population.add(initial); // Garder la disposition initiale
         
         // Créer des variations par mutation
-        for (int i = 1; i < populationSize; i++) {
-            population.add(mutate(initial));
+        SplittableRandom[] randoms = new SplittableRandom[populationSize - 1];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = random.split();
         }
+        population.addAll(runParallel(executor, threads, randoms.length, i -> operators.mutateChild(initial, randoms[i])));
         
         return population;
     }
     
-    private KeyboardLayout selectParent(
-        List<KeyboardLayout> population,
-        Map<KeyboardLayout, Double> scores
+    /**
+     * Produit un couple d'enfants. Avec la sélection adaptative, un seul
+     * opérateur est tiré ; chaque enfant est comparé ensuite à son parent,
+     * ou au meilleur des deux parents pour un croisement.
+     */
+    private static Brood breed(
+        GeneticOperators operators,
+        OperatorBandit bandit,
+        List<short[]> population,
+        double[] scores,
+        SplittableRandom random
     ) {
-        // Sélection par tournoi
-        int tournamentSize = 3;
-        KeyboardLayout best = null;
-        double bestScore = Double.POSITIVE_INFINITY;
-        
-        for (int i = 0; i < tournamentSize; i++) {
-            KeyboardLayout candidate = population.get(
-                random.nextInt(population.size())
-            );
-            double score = scores.get(candidate);
-            
-            if (score < bestScore) {
-                best = candidate;
-                bestScore = score;
-            }
+        if (bandit == null) {
+            return new Brood(null, operators.breed(population, scores, random), null);
         }
-        
-        return best;
+        VariationOperator operator = bandit.draw(random);
+        int parent1 = GeneticOperators.selectIndex(scores, random);
+        int parent2 = GeneticOperators.selectIndex(scores, random);
+        short[][] children = operators.vary(operator, population.get(parent1), population.get(parent2), random);
+        double[] references = switch (operator) {
+            case PMX, OX, CX -> {
+                double better = Math.min(scores[parent1], scores[parent2]);
+                yield new double[] {better, better};
+            }
+            default -> new double[] {scores[parent1], scores[parent2]};
+        };
+        return new Brood(operator, children, references);
     }
     
-    private List<KeyboardLayout> crossover(
-        KeyboardLayout parent1,
-        KeyboardLayout parent2
+    /**
+     * Couple d'enfants, avec l'opérateur qui les a produits et leurs scores de
+     * référence, en sélection adaptative seulement.
+     */
+    private record Brood(VariationOperator operator, short[][] children, double[] references) {}
+    
+    /**
+     * Repart du meilleur individu entouré de mutants éloignés de plusieurs
+     * échanges, proportionnellement au nombre de caractères.
+     */
+    private List<short[]> restartPopulation(
+        short[] bestGenome,
+        LayoutEncoding encoding,
+        GeneticOperators operators,
+        SplittableRandom random
     ) {
-        // Point de croisement aléatoire
-        List<Character> chars = new ArrayList<>(parent1.characterToKeyMap().keySet());
-        int crossPoint = random.nextInt(chars.size());
-        
-        // Créer deux nouveaux mappings
-        Map<Character, KeyboardLayout.Key> child1Keys = new HashMap<>();
-        Map<Character, KeyboardLayout.Key> child2Keys = new HashMap<>();
-        
-        // Première partie : copier directement
-        for (int i = 0; i < crossPoint; i++) {
-            char c = chars.get(i);
-            child1Keys.put(c, parent1.characterToKeyMap().get(c));
-            child2Keys.put(c, parent2.characterToKeyMap().get(c));
-        }
-        
-        // Deuxième partie : échanger
-        for (int i = crossPoint; i < chars.size(); i++) {
-            char c = chars.get(i);
-            child1Keys.put(c, parent2.characterToKeyMap().get(c));
-            child2Keys.put(c, parent1.characterToKeyMap().get(c));
+        int swaps = Math.max(2, encoding.size() / 5);
+        List<short[]> population = new ArrayList<>(populationSize);
+        population.add(bestGenome);
+        while (population.size() < populationSize) {
+            short[] mutant = bestGenome;
+            for (int i = 0; i < swaps; i++) {
+                mutant = operators.mutateChild(mutant, random);
+            }
+            population.add(mutant);
         }
-        
-        return List.of(
-            new KeyboardLayout("Optimized-1", child1Keys),
-            new KeyboardLayout("Optimized-2", child2Keys)
-        );
+        PopulationDiversity.replaceDuplicates(population, operators, random);
+        return population;
     }
     
-    private KeyboardLayout mutate(KeyboardLayout layout) {
-        Map<Character, KeyboardLayout.Key> newKeys = new HashMap<>(
-            layout.characterToKeyMap()
-        );
-        
-        // Sélectionner deux caractères aléatoires et échanger leurs positions
-        List<Character> chars = new ArrayList<>(newKeys.keySet());
-        int idx1 = random.nextInt(chars.size());
-        int idx2 = random.nextInt(chars.size());
-        
-        char c1 = chars.get(idx1);
-        char c2 = chars.get(idx2);
-        
-        KeyboardLayout.Key key1 = newKeys.get(c1);
-        KeyboardLayout.Key key2 = newKeys.get(c2);
-        
-        newKeys.put(c1, key2);
-        newKeys.put(c2, key1);
+    /**
+     * Applique {@code task} aux indices [0, count) sur le pool de threads, en
+     * découpant la plage en un bloc contigu par thread. Les résultats sont
+     * retournés dans l'ordre des indices.
+     */
+    static <T> List<T> runParallel(ExecutorService executor, int threads, int count, IntFunction<T> task) {
+        int chunks = Math.min(threads, Math.max(1, count));
+        List<Future<List<T>>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = (int) ((long) count * chunk / chunks);
+            int to = (int) ((long) count * (chunk + 1) / chunks);
+            futures.add(executor.submit(() -> {
+                List<T> results = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    results.add(task.apply(i));
+                }
+                return results;
+            }));
+        }
         
-        return new KeyboardLayout(
-            layout.name() + "-mutated",
-            newKeys
-        );
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<List<T>> future : futures) {
+                results.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Optimisation interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur pendant l'optimisation", e.getCause());
+        }
+        return results;
     }
 }
@@ -0,0 +1,154 @@
+package org.projet.optimizer;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Placement de caractères sur des emplacements, de coût quadratique :
+ * un coût propre à chaque caractère sur chaque emplacement, plus un coût
+ * pour chaque paire de caractères selon leurs deux emplacements.
+ *
+ * <p>Les emplacements sont plus nombreux que les caractères ; un emplacement
+ * peut rester vide. La recherche échange à chaque pas le contenu des deux
+ * emplacements qui réduit le plus le coût, jusqu'à un minimum local ; la
+ * variation d'un échange se calcule en temps proportionnel au nombre de
+ * caractères.
+ */
+final class LayerAssignment {
+    private static final int EMPTY = -1;
+
+    private final double[][] unary;
+    private final long[][] pairCounts;
+    private final double[][] slotCosts;
+    private final int symbols;
+    private final int slots;
+
+    /**
+     * @param unary coût de chaque caractère sur chaque emplacement [caractère][emplacement]
+     * @param pairCounts occurrences de chaque paire ordonnée de caractères [premier][second]
+     * @param slotCosts coût d'une occurrence entre deux emplacements [premier][second]
+     */
+    LayerAssignment(double[][] unary, long[][] pairCounts, double[][] slotCosts) {
+        this.unary = unary;
+        this.pairCounts = pairCounts;
+        this.slotCosts = slotCosts;
+        this.symbols = unary.length;
+        this.slots = slotCosts.length;
+        if (symbols > slots) {
+            throw new IllegalArgumentException(symbols + " caractères pour " + slots + " emplacements");
+        }
+    }
+
+    /**
+     * Retourne le coût d'un placement, {@code slotOf[s]} étant l'emplacement du caractère s.
+     */
+    double cost(int[] slotOf) {
+        double cost = 0.0;
+        for (int s = 0; s < symbols; s++) {
+            cost += unary[s][slotOf[s]];
+            for (int t = 0; t < symbols; t++) {
+                cost += pairCounts[s][t] * slotCosts[slotOf[s]][slotOf[t]];
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Retourne un placement aléatoire.
+     */
+    int[] random(SplittableRandom random) {
+        int[] order = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            order[i] = i;
+        }
+        for (int i = slots - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        int[] slotOf = new int[symbols];
+        System.arraycopy(order, 0, slotOf, 0, symbols);
+        return slotOf;
+    }
+
+    /**
+     * Améliore un placement par échanges jusqu'à un minimum local.
+     * @return le placement obtenu
+     */
+    int[] descend(int[] start) {
+        int[] slotOf = start.clone();
+        int[] occupant = new int[slots];
+        Arrays.fill(occupant, EMPTY);
+        for (int s = 0; s < symbols; s++) {
+            occupant[slotOf[s]] = s;
+        }
+        while (true) {
+            double bestDelta = -1e-9;
+            int bestP = -1;
+            int bestQ = -1;
+            for (int p = 0; p < slots; p++) {
+                for (int q = p + 1; q < slots; q++) {
+                    if (occupant[p] == EMPTY && occupant[q] == EMPTY) {
+                        continue;
+                    }
+                    double delta = swapDelta(slotOf, occupant, p, q);
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        bestP = p;
+                        bestQ = q;
+                    }
+                }
+            }
+            if (bestP < 0) {
+                return slotOf;
+            }
+            int s = occupant[bestP];
+            int t = occupant[bestQ];
+            occupant[bestP] = t;
+            occupant[bestQ] = s;
+            if (s != EMPTY) {
+                slotOf[s] = bestQ;
+            }
+            if (t != EMPTY) {
+                slotOf[t] = bestP;
+            }
+        }
+    }
+
+    /**
+     * Variation du coût si les contenus des emplacements p et q étaient échangés.
+     */
+    private double swapDelta(int[] slotOf, int[] occupant, int p, int q) {
+        int s = occupant[p];
+        int t = occupant[q];
+        double delta = 0.0;
+        if (s != EMPTY) {
+            delta += unary[s][q] - unary[s][p];
+            delta += pairCounts[s][s] * (slotCosts[q][q] - slotCosts[p][p]);
+        }
+        if (t != EMPTY) {
+            delta += unary[t][p] - unary[t][q];
+            delta += pairCounts[t][t] * (slotCosts[p][p] - slotCosts[q][q]);
+        }
+        if (s != EMPTY && t != EMPTY) {
+            delta += pairCounts[s][t] * (slotCosts[q][p] - slotCosts[p][q])
+                + pairCounts[t][s] * (slotCosts[p][q] - slotCosts[q][p]);
+        }
+        for (int r = 0; r < symbols; r++) {
+            if (r == s || r == t) {
+                continue;
+            }
+            int slot = slotOf[r];
+            if (s != EMPTY) {
+                delta += pairCounts[s][r] * (slotCosts[q][slot] - slotCosts[p][slot])
+                    + pairCounts[r][s] * (slotCosts[slot][q] - slotCosts[slot][p]);
+            }
+            if (t != EMPTY) {
+                delta += pairCounts[t][r] * (slotCosts[p][slot] - slotCosts[q][slot])
+                    + pairCounts[r][t] * (slotCosts[slot][p] - slotCosts[slot][q]);
+            }
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,18 @@
+package org.projet.optimizer;
+
+/**
+ * Résultat de l'optimisation d'une couche de modification.
+ *
+ * @param layer la couche
+ * @param symbols nombre de caractères déplacés sur cette couche
+ * @param slots nombre de touches qui pouvaient les recevoir
+ * @param initialCost coût de la couche avant optimisation
+ * @param finalCost coût de la couche après optimisation
+ */
+public record LayerStats(
+    ModifierLayer layer,
+    int symbols,
+    int slots,
+    double initialCost,
+    double finalCost
+) {}
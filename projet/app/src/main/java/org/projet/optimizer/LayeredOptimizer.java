@@ -0,0 +1,357 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.BigramCostTable;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.evaluator.MovementType;
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optimise une disposition couche par couche : les caractères de base
+ * d'abord, puis les symboles de la couche Shift, puis ceux de la couche AltGr.
+ *
+ * <p>Le score de {@link LayoutEvaluator} ne porte que sur les caractères de
+ * base : un caractère de couche n'y a pas de touche. Ici, il est tapé sur la
+ * touche physique qui le porte, avec un coût de modification : Shift est
+ * tenu par l'auriculaire de la main opposée, ce qui crée un enchaînement à
+ * même doigt si la frappe précédente vient de cet auriculaire ; AltGr est
+ * tenu par le pouce droit, plus difficilement quand la touche est aussi à
+ * droite. Le coût d'une couche est la somme, pour chaque bigramme qui
+ * contient un de ses symboles, du poids du mouvement entre les deux touches
+ * (voir {@link BigramCostTable}), plus le coût de modification de chaque frappe.
+ *
+ * <p>Chaque couche est un petit problème de placement, résolu séparément à
+ * disposition de base fixée, par descente depuis le placement actuel et
+ * depuis des placements aléatoires en parallèle. La majuscule d'une lettre
+ * suit sa lettre et n'est pas un symbole à placer ; un symbole de couche
+ * déjà présent sur la couche de base ou sur la couche Shift reste en place.
+ */
+public class LayeredOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private final LayoutOptimizer baseOptimizer;
+    private long seed;
+    private int threads;
+    private int restarts = 8;
+    private double shiftCost = 1.0;
+    private double altgrCost = 1.5;
+    private List<LayerStats> lastStats = List.of();
+
+    /**
+     * @param baseOptimizer optimiseur des caractères de base, ou null pour les laisser en place
+     */
+    public LayeredOptimizer(LayoutEvaluator evaluator, LayoutOptimizer baseOptimizer) {
+        this.evaluator = evaluator;
+        this.baseOptimizer = baseOptimizer;
+        this.seed = new SplittableRandom().nextLong();
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire. Pour une même graine, le résultat
+     * est identique quel que soit le nombre de threads.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Fixe le nombre de threads qui explorent les placements d'une couche.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Fixe le nombre de descentes par couche (8 par défaut), la première
+     * partant du placement actuel et les autres de placements aléatoires.
+     */
+    public void setRestarts(int restarts) {
+        if (restarts < 1) {
+            throw new IllegalArgumentException("Nombre de descentes invalide : " + restarts);
+        }
+        this.restarts = restarts;
+    }
+
+    /**
+     * Fixe le coût de chaque frappe avec Shift (1 par défaut) et avec AltGr
+     * (1,5 par défaut, doublé pour une touche de la main droite), dans
+     * l'unité des poids de mouvement.
+     */
+    public void setModifierCosts(double shiftCost, double altgrCost) {
+        if (!(shiftCost >= 0) || !(altgrCost >= 0)) {
+            throw new IllegalArgumentException("Coûts de modification invalides : " + shiftCost + ", " + altgrCost);
+        }
+        this.shiftCost = shiftCost;
+        this.altgrCost = altgrCost;
+    }
+
+    /**
+     * Retourne le résultat de chaque couche lors du dernier appel à {@link #optimize(KeyboardLayout)}.
+     */
+    public List<LayerStats> getLastStats() {
+        return lastStats;
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        KeyboardLayout base = baseOptimizer != null ? baseOptimizer.optimize(initial) : initial;
+
+        // Touches physiques, dans un ordre fixe, et symboles de couche qu'elles portent au départ
+        Map<KeyboardLayout.Key, Character> shift = new HashMap<>();
+        Map<KeyboardLayout.Key, Character> altgr = new HashMap<>();
+        for (KeyboardLayout.Key key : initial.characterToKeyMap().values()) {
+            if (key.altgrProduces() != null) {
+                altgr.put(physical(key), key.altgrProduces());
+            }
+        }
+        List<KeyboardLayout.Key> physicalKeys = base.characterToKeyMap().values().stream()
+            .map(LayeredOptimizer::physical)
+            .distinct()
+            .sorted(Comparator.comparingInt(KeyboardLayout.Key::row)
+                .thenComparingInt(KeyboardLayout.Key::column)
+                .thenComparing(KeyboardLayout.Key::finger))
+            .toList();
+
+        // La majuscule d'une lettre suit sa lettre ; les autres symboles Shift restent sur leur touche
+        Map<Character, KeyboardLayout.Key> baseKeys = new TreeMap<>();
+        base.characterToKeyMap().forEach((c, key) -> baseKeys.put(c, physical(key)));
+        Map<KeyboardLayout.Key, Character> displaced = new LinkedHashMap<>();
+        for (Map.Entry<Character, KeyboardLayout.Key> entry : new TreeMap<>(initial.characterToKeyMap()).entrySet()) {
+            Character symbol = entry.getValue().shiftProduces();
+            if (symbol != null && isBound(entry.getKey(), symbol)) {
+                shift.put(baseKeys.get(entry.getKey()), symbol);
+            }
+        }
+        for (Map.Entry<Character, KeyboardLayout.Key> entry : new TreeMap<>(initial.characterToKeyMap()).entrySet()) {
+            Character symbol = entry.getValue().shiftProduces();
+            if (symbol != null && !isBound(entry.getKey(), symbol)
+                && shift.putIfAbsent(physical(entry.getValue()), symbol) != null) {
+                displaced.put(physical(entry.getValue()), symbol);
+            }
+        }
+        for (Character symbol : displaced.values()) {
+            // Touche reprise par une majuscule : première touche libre
+            physicalKeys.stream().filter(key -> !shift.containsKey(key)).findFirst()
+                .ifPresent(key -> shift.put(key, symbol));
+        }
+
+        List<LayerStats> stats = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom random = new SplittableRandom(seed);
+            stats.add(optimizeLayer(ModifierLayer.SHIFT, physicalKeys, baseKeys, shift, altgr, random.split(), executor));
+            stats.add(optimizeLayer(ModifierLayer.ALTGR, physicalKeys, baseKeys, altgr, shift, random.split(), executor));
+        } finally {
+            executor.shutdownNow();
+        }
+        lastStats = List.copyOf(stats);
+
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>();
+        baseKeys.forEach((c, key) -> keys.put(c,
+            new KeyboardLayout.Key(key.row(), key.column(), key.finger(), shift.get(key), altgr.get(key))));
+        return new KeyboardLayout("Optimized", keys);
+    }
+
+    /**
+     * Place les symboles libres d'une couche, les autres couches fixées.
+     * @param layerSymbols symboles de la couche par touche physique, mis à jour
+     * @param otherSymbols symboles de l'autre couche par touche physique
+     */
+    private LayerStats optimizeLayer(
+        ModifierLayer layer,
+        List<KeyboardLayout.Key> physicalKeys,
+        Map<Character, KeyboardLayout.Key> baseKeys,
+        Map<KeyboardLayout.Key, Character> layerSymbols,
+        Map<KeyboardLayout.Key, Character> otherSymbols,
+        SplittableRandom random,
+        ExecutorService executor
+    ) {
+        ModifierLayer otherLayer = layer == ModifierLayer.SHIFT ? ModifierLayer.ALTGR : ModifierLayer.SHIFT;
+        Map<Character, KeyboardLayout.Key> shiftSymbols = layer == ModifierLayer.SHIFT ? null : invert(otherSymbols);
+
+        // Symboles à placer et touches qui peuvent les recevoir
+        Map<Character, KeyboardLayout.Key> movable = new TreeMap<>();
+        List<KeyboardLayout.Key> slots = new ArrayList<>();
+        Map<Character, KeyboardLayout.Key> context = new LinkedHashMap<>(baseKeys);
+        Map<Character, ModifierLayer> contextLayer = new HashMap<>();
+        Map<Character, Character> baseOf = new HashMap<>();
+        baseKeys.forEach((c, key) -> {
+            if (layerSymbols.containsKey(key)) {
+                baseOf.put(layerSymbols.get(key), c);
+            }
+        });
+        for (KeyboardLayout.Key key : physicalKeys) {
+            Character symbol = layerSymbols.get(key);
+            boolean fixed = symbol != null && (baseKeys.containsKey(symbol)
+                || (layer == ModifierLayer.SHIFT && isBound(baseOf.get(symbol), symbol))
+                || (shiftSymbols != null && shiftSymbols.containsKey(symbol)));
+            if (fixed) {
+                if (context.putIfAbsent(symbol, key) == null) {
+                    contextLayer.put(symbol, layer);
+                }
+            } else {
+                slots.add(key);
+                if (symbol != null) {
+                    movable.put(symbol, key);
+                }
+            }
+        }
+        otherSymbols.forEach((key, symbol) -> {
+            if (!movable.containsKey(symbol) && context.putIfAbsent(symbol, key) == null) {
+                contextLayer.put(symbol, otherLayer);
+            }
+        });
+        if (movable.isEmpty()) {
+            return new LayerStats(layer, 0, slots.size(), 0.0, 0.0);
+        }
+
+        int m = movable.size();
+        char[] characters = new char[m + context.size()];
+        int index = 0;
+        for (char symbol : movable.keySet()) {
+            characters[index++] = symbol;
+        }
+        List<KeyboardLayout.Key> contextKeys = new ArrayList<>(context.values());
+        for (char c : context.keySet()) {
+            characters[index++] = c;
+        }
+        List<ModifierLayer> contextLayers = context.keySet().stream().map(contextLayer::get).toList();
+        BigramCostTable table = evaluator.bigramCostTable(characters, physicalKeys);
+        double sameFinger = evaluator.getWeights().weight(MovementType.SAME_FINGER);
+
+        Map<KeyboardLayout.Key, Integer> positionOf = new HashMap<>();
+        for (int p = 0; p < physicalKeys.size(); p++) {
+            positionOf.put(physicalKeys.get(p), p);
+        }
+        int[] slotPositions = slots.stream().mapToInt(positionOf::get).toArray();
+        int[] contextPositions = contextKeys.stream().mapToInt(positionOf::get).toArray();
+
+        // Coût propre à chaque symbole sur chaque touche : modification et bigrammes avec les caractères fixés
+        double[][] unary = new double[m][slots.size()];
+        for (int s = 0; s < m; s++) {
+            for (int slot = 0; slot < slots.size(); slot++) {
+                int p = slotPositions[slot];
+                double cost = table.frequency(s) * modifierCost(layer, physicalKeys.get(p));
+                for (int x = 0; x < contextPositions.length; x++) {
+                    int q = contextPositions[x];
+                    cost += table.count(m + x, s) * (table.cost(q, p) + conflict(layer, physicalKeys, q, p, sameFinger));
+                    cost += table.count(s, m + x)
+                        * (table.cost(p, q) + conflict(contextLayers.get(x), physicalKeys, p, q, sameFinger));
+                }
+                unary[s][slot] = cost;
+            }
+        }
+        long[][] pairCounts = new long[m][m];
+        for (int s = 0; s < m; s++) {
+            for (int t = 0; t < m; t++) {
+                pairCounts[s][t] = table.count(s, t);
+            }
+        }
+        double[][] slotCosts = new double[slots.size()][slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            for (int j = 0; j < slots.size(); j++) {
+                int p = slotPositions[i];
+                int q = slotPositions[j];
+                slotCosts[i][j] = table.cost(p, q) + conflict(layer, physicalKeys, p, q, sameFinger);
+            }
+        }
+
+        LayerAssignment assignment = new LayerAssignment(unary, pairCounts, slotCosts);
+        int[] start = new int[m];
+        int s = 0;
+        for (KeyboardLayout.Key key : movable.values()) {
+            start[s++] = slots.indexOf(key);
+        }
+        double initialCost = assignment.cost(start);
+
+        // Première descente depuis le placement actuel, les autres depuis un placement aléatoire
+        SplittableRandom[] randoms = new SplittableRandom[restarts];
+        for (int r = 0; r < restarts; r++) {
+            randoms[r] = random.split();
+        }
+        List<int[]> results = KeyboardOptimizer.runParallel(executor, threads, restarts,
+            r -> assignment.descend(r == 0 ? start : assignment.random(randoms[r])));
+        int[] best = results.get(0);
+        double bestCost = assignment.cost(best);
+        for (int[] result : results) {
+            double cost = assignment.cost(result);
+            if (cost < bestCost) {
+                best = result;
+                bestCost = cost;
+            }
+        }
+
+        int moved = 0;
+        s = 0;
+        for (Map.Entry<Character, KeyboardLayout.Key> entry : movable.entrySet()) {
+            layerSymbols.remove(entry.getValue(), entry.getKey());
+        }
+        for (Map.Entry<Character, KeyboardLayout.Key> entry : movable.entrySet()) {
+            KeyboardLayout.Key key = slots.get(best[s++]);
+            layerSymbols.put(key, entry.getKey());
+            if (!key.equals(entry.getValue())) {
+                moved++;
+            }
+        }
+        System.out.printf("Couche %s : %d symboles sur %d touches, %d déplacés, coût %.2f -> %.2f%n",
+            layer, m, slots.size(), moved, initialCost, bestCost);
+        return new LayerStats(layer, m, slots.size(), initialCost, bestCost);
+    }
+
+    /**
+     * Coût de modification d'une frappe sur une touche.
+     */
+    private double modifierCost(ModifierLayer layer, KeyboardLayout.Key key) {
+        return switch (layer) {
+            case SHIFT -> shiftCost;
+            case ALTGR -> key.finger().hand() == KeyboardLayout.Hand.RIGHT ? 2 * altgrCost : altgrCost;
+        };
+    }
+
+    /**
+     * Pénalité d'enchaînement à même doigt quand la touche de modification de
+     * la seconde frappe est tenue par le doigt qui vient de frapper la première.
+     */
+    private static double conflict(
+        ModifierLayer layer,
+        List<KeyboardLayout.Key> keys,
+        int from,
+        int to,
+        double sameFinger
+    ) {
+        return layer != null && layer.modifierFinger(keys.get(to)) == keys.get(from).finger() ? sameFinger : 0.0;
+    }
+
+    /**
+     * Indique si le symbole Shift d'un caractère est sa majuscule, qui le suit.
+     */
+    private static boolean isBound(Character base, char symbol) {
+        return base != null && Character.isLetter(base) && symbol != base && Character.toUpperCase(base) == symbol;
+    }
+
+    /**
+     * Touche sans symbole de couche : seules comptent la position et le doigt.
+     */
+    private static KeyboardLayout.Key physical(KeyboardLayout.Key key) {
+        return new KeyboardLayout.Key(key.row(), key.column(), key.finger(), null, null);
+    }
+
+    private static Map<Character, KeyboardLayout.Key> invert(Map<KeyboardLayout.Key, Character> symbols) {
+        Map<Character, KeyboardLayout.Key> inverse = new HashMap<>();
+        symbols.forEach((key, symbol) -> inverse.put(symbol, key));
+        return inverse;
+    }
+}
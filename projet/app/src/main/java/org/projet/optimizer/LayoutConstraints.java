@@ -0,0 +1,88 @@
+package org.projet.optimizer;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Contraintes de placement respectées par les opérateurs de l'algorithme
+ * génétique : caractères fixés, touches autorisées et maintien sur la même main.
+ *
+ * <p>Les contraintes se cumulent : un caractère ne peut occuper qu'une touche
+ * qui les satisfait toutes. Les caractères absents de la disposition sont
+ * ignorés. La disposition de départ doit respecter les contraintes.
+ *
+ * <p>Exemple : garder les chiffres et les raccourcis en place, et les voyelles
+ * sur la rangée de repos.
+ * <pre>{@code
+ * LayoutConstraints constraints = new LayoutConstraints();
+ * constraints.pin("0123456789zxcv");
+ * constraints.allow("aeiou", key -> key.row() == 3);
+ * optimizer.setConstraints(constraints);
+ * }</pre>
+ */
+public final class LayoutConstraints {
+    private final Set<Character> pinned = new HashSet<>();
+    private final Set<Character> sameHand = new HashSet<>();
+    private final List<Allowed> allowed = new ArrayList<>();
+
+    private record Allowed(String characters, Predicate<KeyboardLayout.Key> positions) {}
+
+    /**
+     * Fixe chaque caractère donné sur sa touche de départ.
+     */
+    public void pin(String characters) {
+        for (char c : characters.toCharArray()) {
+            pinned.add(c);
+        }
+    }
+
+    /**
+     * Restreint les caractères donnés aux touches qui satisfont le prédicat,
+     * par exemple une rangée ou un groupe de doigts.
+     */
+    public void allow(String characters, Predicate<KeyboardLayout.Key> positions) {
+        allowed.add(new Allowed(characters, Objects.requireNonNull(positions)));
+    }
+
+    /**
+     * Garde chaque caractère donné sur la main de sa touche de départ.
+     */
+    public void keepHand(String characters) {
+        for (char c : characters.toCharArray()) {
+            sameHand.add(c);
+        }
+    }
+
+    /**
+     * Traduit les contraintes en emplacements autorisés pour le codage donné.
+     * @throws IllegalArgumentException si la disposition de départ ne respecte pas les contraintes
+     */
+    ConstraintMask compile(LayoutEncoding encoding) {
+        int n = encoding.size();
+        boolean[][] allows = new boolean[n][n];
+        for (int i = 0; i < n; i++) {
+            char c = encoding.character(i);
+            KeyboardLayout.Hand hand = encoding.slot(i).finger().hand();
+            for (int slot = 0; slot < n; slot++) {
+                KeyboardLayout.Key key = encoding.slot(slot);
+                boolean ok = !pinned.contains(c) || slot == i;
+                ok &= !sameHand.contains(c) || key.finger().hand() == hand;
+                for (Allowed rule : allowed) {
+                    ok &= rule.characters().indexOf(c) < 0 || rule.positions().test(key);
+                }
+                allows[i][slot] = ok;
+            }
+            if (!allows[i][i]) {
+                throw new IllegalArgumentException(
+                    "La disposition de départ ne respecte pas les contraintes de '" + c + "'");
+            }
+        }
+        return new ConstraintMask(allows);
+    }
+}
@@ -0,0 +1,121 @@
+package org.projet.optimizer;
+
+import org.projet.model.KeyboardLayout;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codage compact d'une disposition sous forme de permutation.
+ *
+ * <p>Les caractères de la disposition de départ sont numérotés dans l'ordre
+ * croissant, et la touche initiale du caractère i devient l'emplacement i.
+ * Une disposition est alors un tableau {@code short[]} où {@code genome[i]}
+ * est l'emplacement occupé par le caractère i. Tout tableau qui est une
+ * permutation de [0, n) décrit une disposition valide : chaque touche porte
+ * exactement un caractère.
+ */
+public final class LayoutEncoding {
+    private final char[] characters;
+    private final KeyboardLayout.Key[] slots;
+
+    /**
+     * Crée le codage à partir de la disposition de départ.
+     */
+    public LayoutEncoding(KeyboardLayout initial) {
+        Map<Character, KeyboardLayout.Key> keys = initial.characterToKeyMap();
+        if (keys.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Trop de caractères pour le codage : " + keys.size());
+        }
+        this.characters = new char[keys.size()];
+        int i = 0;
+        for (char c : keys.keySet()) {
+            characters[i++] = c;
+        }
+        Arrays.sort(characters);
+        this.slots = new KeyboardLayout.Key[characters.length];
+        for (i = 0; i < characters.length; i++) {
+            slots[i] = keys.get(characters[i]);
+        }
+    }
+
+    /**
+     * Retourne le nombre de caractères (et d'emplacements).
+     */
+    public int size() {
+        return characters.length;
+    }
+
+    /**
+     * Retourne le caractère d'indice i.
+     */
+    public char character(int i) {
+        return characters[i];
+    }
+
+    /**
+     * Retourne les caractères dans l'ordre du codage.
+     */
+    String characters() {
+        return new String(characters);
+    }
+
+    /**
+     * Retourne la touche de l'emplacement i.
+     */
+    public KeyboardLayout.Key slot(int i) {
+        return slots[i];
+    }
+
+    /**
+     * Retourne le codage de la disposition de départ : la permutation identité.
+     */
+    public short[] identity() {
+        short[] genome = new short[characters.length];
+        for (int i = 0; i < genome.length; i++) {
+            genome[i] = (short) i;
+        }
+        return genome;
+    }
+
+    /**
+     * Code une disposition portant les mêmes caractères sur les mêmes touches
+     * que la disposition de départ.
+     * @throws IllegalArgumentException si la disposition n'est pas une permutation de la disposition de départ
+     */
+    public short[] encode(KeyboardLayout layout) {
+        if (layout.characterToKeyMap().size() != characters.length) {
+            throw new IllegalArgumentException("La disposition ne porte pas les mêmes caractères");
+        }
+        short[] genome = new short[characters.length];
+        boolean[] used = new boolean[slots.length];
+        for (int i = 0; i < characters.length; i++) {
+            KeyboardLayout.Key key = layout.getKey(characters[i]);
+            int slot = -1;
+            // Plusieurs caractères peuvent partager une touche : prendre le premier emplacement libre
+            for (int s = 0; s < slots.length && slot < 0; s++) {
+                if (!used[s] && slots[s].equals(key)) {
+                    slot = s;
+                }
+            }
+            if (slot < 0) {
+                throw new IllegalArgumentException("Touche inconnue pour '" + characters[i] + "' : " + key);
+            }
+            used[slot] = true;
+            genome[i] = (short) slot;
+        }
+        return genome;
+    }
+
+    /**
+     * Reconstruit la disposition décrite par un codage.
+     */
+    public KeyboardLayout decode(short[] genome, String name) {
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>(characters.length * 2);
+        for (int i = 0; i < genome.length; i++) {
+            keys.put(characters[i], slots[genome[i]]);
+        }
+        return new KeyboardLayout(name, keys);
+    }
+}
@@ -0,0 +1,23 @@
+package org.projet.optimizer;
+
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Stratégie d'optimisation d'une disposition de clavier.
+ */
+public interface LayoutOptimizer {
+
+    /**
+     * Optimise une disposition de départ.
+     * @return la meilleure disposition trouvée
+     */
+    KeyboardLayout optimize(KeyboardLayout initial);
+
+    /**
+     * Enchaîne une seconde optimisation sur le résultat de celle-ci, par exemple
+     * une recherche locale pour affiner le résultat de l'algorithme génétique.
+     */
+    default LayoutOptimizer then(LayoutOptimizer next) {
+        return initial -> next.optimize(optimize(initial));
+    }
+}
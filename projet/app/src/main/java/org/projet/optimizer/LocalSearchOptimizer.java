@@ -0,0 +1,187 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.IncrementalEvaluation;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Recherche locale par échanges de touches : descente la plus raide, ou
+ * recherche tabou.
+ *
+ * <p>À chaque itération, les N(N-1)/2 échanges possibles (le mouvement de la
+ * mutation de l'algorithme génétique) sont notés en parallèle par
+ * {@link IncrementalEvaluation#deltaForSwap(char, char)}, et le meilleur est
+ * appliqué. Un échange appliqué est interdit pendant {@code tenure}
+ * itérations, sauf s'il mène à un score meilleur que le meilleur connu
+ * (critère d'aspiration). Avec une durée tabou nulle, la recherche s'arrête
+ * au premier optimum local.
+ */
+public class LocalSearchOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private int threads;
+    private int tenure = 10;
+    private int maxIterations = 1000;
+    private int patience = 50;
+    private int lastIterations;
+    private int lastAspirations;
+
+    /**
+     * Crée une recherche tabou (durée tabou 10, 1000 itérations au plus).
+     */
+    public LocalSearchOptimizer(LayoutEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Fixe le nombre de threads qui notent le voisinage.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Fixe la durée tabou d'un échange, en itérations ; 0 pour une descente simple.
+     */
+    public void setTenure(int tenure) {
+        if (tenure < 0) {
+            throw new IllegalArgumentException("Durée tabou négative : " + tenure);
+        }
+        this.tenure = tenure;
+    }
+
+    /**
+     * Fixe le nombre maximal d'itérations et le nombre d'itérations sans
+     * nouveau meilleur score après lequel la recherche tabou s'arrête.
+     */
+    public void setLimits(int maxIterations, int patience) {
+        this.maxIterations = maxIterations;
+        this.patience = patience;
+    }
+
+    /**
+     * Retourne le nombre d'itérations du dernier appel.
+     */
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Retourne le nombre d'échanges tabous acceptés par aspiration lors du dernier appel.
+     */
+    public int getLastAspirations() {
+        return lastAspirations;
+    }
+
+    /**
+     * Échange candidat : indice de la paire et variation du score.
+     */
+    private record Candidate(int pair, double delta, boolean tabu) {
+        boolean isBetterThan(Candidate other) {
+            return other == null || delta < other.delta || (delta == other.delta && pair < other.pair);
+        }
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        IncrementalEvaluation state = evaluator.incremental(initial);
+        int n = encoding.size();
+
+        // Toutes les paires (i < j)
+        int pairs = n * (n - 1) / 2;
+        int[] pairFirst = new int[pairs];
+        int[] pairSecond = new int[pairs];
+        for (int i = 0, k = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++, k++) {
+                pairFirst[k] = i;
+                pairSecond[k] = j;
+            }
+        }
+        int[] tabuUntil = new int[pairs];
+
+        short[] genome = encoding.identity();
+        short[] bestGenome = genome.clone();
+        double bestScore = state.score();
+        System.out.printf("Score initial : %.2f%n%n", bestScore);
+
+        int iteration = 0;
+        int aspirations = 0;
+        int lastImprovement = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            while (iteration < maxIterations && pairs > 0) {
+                int currentIteration = iteration;
+                double best = bestScore;
+                double current = state.score();
+                List<Candidate> chunkBests = KeyboardOptimizer.runParallel(executor, threads, threads, chunk -> {
+                    Candidate chunkBest = null;
+                    int from = (int) ((long) pairs * chunk / threads);
+                    int to = (int) ((long) pairs * (chunk + 1) / threads);
+                    for (int k = from; k < to; k++) {
+                        double delta = state.deltaForSwap(
+                            encoding.character(pairFirst[k]), encoding.character(pairSecond[k]));
+                        boolean tabu = tabuUntil[k] > currentIteration;
+                        // Aspiration : un échange tabou est permis s'il bat le meilleur score
+                        if (tabu && current + delta >= best) {
+                            continue;
+                        }
+                        Candidate candidate = new Candidate(k, delta, tabu);
+                        if (candidate.isBetterThan(chunkBest)) {
+                            chunkBest = candidate;
+                        }
+                    }
+                    return chunkBest;
+                });
+
+                Candidate chosen = null;
+                for (Candidate candidate : chunkBests) {
+                    if (candidate != null && candidate.isBetterThan(chosen)) {
+                        chosen = candidate;
+                    }
+                }
+                if (chosen == null || (tenure == 0 && chosen.delta() >= 0)) {
+                    break; // Optimum local, ou voisinage entièrement tabou
+                }
+
+                int i = pairFirst[chosen.pair()];
+                int j = pairSecond[chosen.pair()];
+                state.applySwap(encoding.character(i), encoding.character(j));
+                short slot = genome[i];
+                genome[i] = genome[j];
+                genome[j] = slot;
+                tabuUntil[chosen.pair()] = iteration + 1 + tenure;
+                if (chosen.tabu()) {
+                    aspirations++;
+                }
+                iteration++;
+
+                if (state.score() < bestScore) {
+                    bestScore = state.score();
+                    System.arraycopy(genome, 0, bestGenome, 0, n);
+                    lastImprovement = iteration;
+                } else if (iteration - lastImprovement >= patience) {
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        lastIterations = iteration;
+        lastAspirations = aspirations;
+
+        KeyboardOptimizer.printChanges(encoding, bestGenome);
+        System.out.printf("%nItérations : %d (%d voisins par itération, %d aspirations)%n",
+            iteration, pairs, aspirations);
+        System.out.printf("%nScore final : %.2f%n", bestScore);
+
+        return encoding.decode(bestGenome, initial.name());
+    }
+}
@@ -0,0 +1,467 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import org.projet.optimizer.MigrationProtocol.Migrants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Coordinateur d'une optimisation répartie entre plusieurs processus.
+ *
+ * <p>Chaque travailleur ({@link MigrationWorker}) fait évoluer sa propre île
+ * et se connecte au coordinateur par TCP. À la fin de chaque époque, il
+ * envoie ses meilleurs individus et reçoit en retour ceux du travailleur
+ * précédent dans l'anneau des numéros, ainsi que le meilleur individu connu
+ * s'il vient d'un autre travailleur (voir {@link MigrationProtocol}).
+ *
+ * <p>Un travailleur qui se déconnecte ou reste silencieux plus longtemps que
+ * le délai de lecture est considéré comme perdu ; ses derniers émigrants
+ * restent disponibles pour les autres. Un travailleur peut rejoindre
+ * l'optimisation à tout moment, sous un nouveau numéro ou sous son ancien
+ * numéro après une panne : il reçoit alors le meilleur individu connu.
+ *
+ * <p>L'optimisation se termine quand le nombre attendu de travailleurs a
+ * terminé, ou à l'échéance ; les travailleurs encore connectés reçoivent
+ * alors l'ordre de s'arrêter.
+ *
+ * <p>Le coordinateur n'écoute que sur l'interface locale, sauf si une
+ * adresse est fixée (voir {@link #setHost(String)}). Les travailleurs
+ * doivent utiliser le même évaluateur que lui, et le meilleur individu de
+ * chacun est réévalué à sa réception : le score annoncé n'est pas repris.
+ */
+public class MigrationCoordinator implements LayoutOptimizer, AutoCloseable {
+    private final LayoutEvaluator evaluator;
+    private final int requestedPort;
+    private String host;
+    private int expectedWorkers = 1;
+    private Duration timeout = Duration.ofHours(1);
+    private Duration readTimeout = Duration.ofSeconds(60);
+
+    private ServerSocket server;
+    private LayoutEncoding encoding;
+    private String characters;
+    private final Map<Integer, WorkerState> workers = new TreeMap<>();
+    private final List<Socket> sockets = new ArrayList<>();
+    private int nextWorker;
+    private short[] bestGenome;
+    private double bestScore = Double.POSITIVE_INFINITY;
+    private int bestWorker = -1;
+    private boolean stopping;
+
+    /**
+     * État d'un travailleur, protégé par le verrou du coordinateur.
+     */
+    private static final class WorkerState {
+        final int id;
+        int connections;
+        int epochs;
+        int generation;
+        double bestScore = Double.POSITIVE_INFINITY;
+        boolean connected;
+        boolean done;
+        Migrants emigrants = Migrants.NONE;
+
+        WorkerState(int id) {
+            this.id = id;
+        }
+
+        WorkerStats stats() {
+            return new WorkerStats(id, connections, epochs, generation, bestScore, connected, done);
+        }
+    }
+
+    /**
+     * Crée un coordinateur qui écoutera sur le port donné (0 pour un port libre quelconque).
+     * @param evaluator évaluateur des meilleurs individus reçus, identique à celui des travailleurs
+     */
+    public MigrationCoordinator(LayoutEvaluator evaluator, int port) {
+        if (port < 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Port invalide : " + port);
+        }
+        this.evaluator = evaluator;
+        this.requestedPort = port;
+    }
+
+    /**
+     * Fixe l'adresse d'écoute, par exemple {@code 0.0.0.0} pour accepter des
+     * travailleurs d'autres machines. Par défaut, seule l'interface locale.
+     */
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    /**
+     * Fixe le nombre de travailleurs dont on attend la fin (1 par défaut).
+     */
+    public void setExpectedWorkers(int expectedWorkers) {
+        if (expectedWorkers < 1) {
+            throw new IllegalArgumentException("Le nombre de travailleurs doit être positif : " + expectedWorkers);
+        }
+        this.expectedWorkers = expectedWorkers;
+    }
+
+    /**
+     * Fixe la durée maximale de l'optimisation (une heure par défaut).
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Fixe le délai au-delà duquel un travailleur silencieux est considéré
+     * comme perdu (une minute par défaut). Il doit dépasser la durée d'une époque.
+     */
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Ouvre le port et accepte les travailleurs en arrière-plan.
+     * @throws IOException si le port ne peut pas être ouvert
+     */
+    public synchronized void start(KeyboardLayout initial) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Le coordinateur est déjà démarré");
+        }
+        encoding = new LayoutEncoding(initial);
+        characters = encoding.characters();
+        InetAddress address = host != null ? InetAddress.getByName(host) : InetAddress.getLoopbackAddress();
+        server = new ServerSocket(requestedPort, 50, address);
+        Thread acceptor = new Thread(this::acceptWorkers, "migration-coordinator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Retourne le port d'écoute, une fois le coordinateur démarré.
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Le coordinateur n'est pas démarré");
+        }
+        return server.getLocalPort();
+    }
+
+    /**
+     * Retourne le suivi de chaque travailleur, par numéro croissant.
+     */
+    public synchronized List<WorkerStats> getWorkerStats() {
+        return workers.values().stream().map(WorkerState::stats).toList();
+    }
+
+    /**
+     * Retourne le meilleur score reçu des travailleurs.
+     */
+    public synchronized double getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Attend la fin des travailleurs attendus ou l'échéance, puis demande
+     * l'arrêt des travailleurs restants.
+     * @return la meilleure disposition reçue, ou la disposition de départ si aucun travailleur n'a répondu
+     */
+    public synchronized KeyboardLayout awaitResult() {
+        if (server == null) {
+            throw new IllegalStateException("Le coordinateur n'est pas démarré");
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (finishedWorkers() < expectedWorkers) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    System.err.println("Échéance atteinte : " + finishedWorkers() + " travailleurs sur "
+                        + expectedWorkers + " ont terminé");
+                    break;
+                }
+                wait(Math.max(1, remaining / 1_000_000));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopping = true;
+
+        System.out.println("=== Travailleurs ===");
+        for (WorkerState worker : workers.values()) {
+            System.out.printf("Travailleur %d : %.2f (%d époques, %d connexions%s)%n",
+                worker.id, worker.bestScore, worker.epochs, worker.connections, worker.done ? ", terminé" : "");
+        }
+        if (bestGenome == null) {
+            return encoding.decode(encoding.identity(), "Optimized");
+        }
+        System.out.printf("%nMeilleur score : %.2f (travailleur %d)%n", bestScore, bestWorker);
+        return encoding.decode(bestGenome, "Optimized");
+    }
+
+    /**
+     * Démarre le coordinateur, attend le résultat puis ferme les connexions.
+     */
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        try {
+            start(initial);
+            return awaitResult();
+        } catch (IOException e) {
+            throw new IllegalStateException("Impossible de démarrer le coordinateur", e);
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Socket> open;
+        synchronized (this) {
+            stopping = true;
+            open = new ArrayList<>(sockets);
+            try {
+                if (server != null) {
+                    server.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Erreur à la fermeture du coordinateur : " + e.getMessage());
+            }
+        }
+        for (Socket socket : open) {
+            closeQuietly(socket);
+        }
+    }
+
+    private int finishedWorkers() {
+        return (int) workers.values().stream().filter(worker -> worker.done).count();
+    }
+
+    private void acceptWorkers() {
+        while (true) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                return; // Port fermé
+            }
+            synchronized (this) {
+                if (stopping) {
+                    closeQuietly(socket);
+                    continue;
+                }
+                sockets.add(socket);
+            }
+            Thread handler = new Thread(() -> serve(socket), "migration-worker-" + socket.getPort());
+            handler.setDaemon(true);
+            handler.start();
+        }
+    }
+
+    /**
+     * Dialogue avec un travailleur jusqu'à sa fin ou sa perte.
+     */
+    private void serve(Socket socket) {
+        WorkerState worker = null;
+        try (socket) {
+            socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, readTimeout.toMillis()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            worker = admit(in, out);
+            if (worker == null) {
+                return;
+            }
+            while (true) {
+                byte message = in.readByte();
+                if (message == MigrationProtocol.EPOCH) {
+                    int generation = in.readInt();
+                    short[] best = MigrationProtocol.readGenome(in, characters.length());
+                    in.readDouble(); // Score annoncé, remplacé par la réévaluation
+                    double score = score(best);
+                    Migrants emigrants = MigrationProtocol.readMigrants(in, characters.length());
+                    Migrants immigrants;
+                    boolean stop;
+                    synchronized (this) {
+                        worker.epochs++;
+                        worker.generation = generation;
+                        worker.emigrants = emigrants;
+                        report(worker, best, score);
+                        immigrants = immigrantsFor(worker);
+                        stop = stopping;
+                    }
+                    if (stop) {
+                        out.writeByte(MigrationProtocol.STOP);
+                    } else {
+                        out.writeByte(MigrationProtocol.MIGRANTS);
+                        MigrationProtocol.writeMigrants(out, immigrants);
+                    }
+                    out.flush();
+                } else if (message == MigrationProtocol.DONE) {
+                    short[] best = MigrationProtocol.readGenome(in, characters.length());
+                    in.readDouble();
+                    double score = score(best);
+                    synchronized (this) {
+                        report(worker, best, score);
+                        worker.done = true;
+                        notifyAll();
+                    }
+                    return;
+                } else {
+                    throw new IOException("Message inconnu : " + message);
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            lost(worker, "connexion fermée");
+        } catch (IOException e) {
+            lost(worker, e.getMessage());
+        } finally {
+            synchronized (this) {
+                sockets.remove(socket);
+                if (worker != null) {
+                    worker.connected = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lit l'annonce d'un travailleur et l'accepte ou la refuse.
+     * @return l'état du travailleur accepté, ou null s'il est refusé
+     */
+    private WorkerState admit(DataInputStream in, DataOutputStream out) throws IOException {
+        if (in.readInt() != MigrationProtocol.MAGIC || in.readInt() != MigrationProtocol.VERSION) {
+            throw new IOException("Annonce de travailleur invalide");
+        }
+        int requested = in.readInt();
+        String workerCharacters = in.readUTF();
+        long workerFingerprint = in.readLong();
+
+        String refusal = null;
+        WorkerState worker = null;
+        short[] best = null;
+        double score = 0.0;
+        synchronized (this) {
+            WorkerState previous = requested >= 0 ? workers.get(requested) : null;
+            if (!characters.equals(workerCharacters)) {
+                refusal = "la disposition de départ ne porte pas les mêmes caractères";
+            } else if (evaluator.fingerprint() != workerFingerprint) {
+                refusal = "l'évaluateur du travailleur diffère de celui du coordinateur";
+            } else if (previous != null && (previous.connected || previous.done)) {
+                refusal = "le travailleur " + requested + " est déjà connecté ou a terminé";
+            } else if (stopping) {
+                refusal = "l'optimisation est terminée";
+            } else {
+                if (previous != null) {
+                    worker = previous;
+                } else {
+                    int id = requested >= 0 ? requested : nextWorker;
+                    nextWorker = Math.max(nextWorker, id + 1);
+                    worker = new WorkerState(id);
+                    workers.put(id, worker);
+                }
+                worker.connected = true;
+                worker.connections++;
+                best = bestGenome;
+                score = bestScore;
+            }
+        }
+
+        if (refusal != null) {
+            out.writeByte(MigrationProtocol.REJECT);
+            out.writeUTF(refusal);
+            out.flush();
+            System.err.println("Travailleur refusé : " + refusal);
+            return null;
+        }
+        out.writeByte(MigrationProtocol.ACCEPT);
+        out.writeInt(worker.id);
+        MigrationProtocol.writeMigrants(out, best != null
+            ? new Migrants(List.of(best.clone()), new double[] {score})
+            : Migrants.NONE);
+        out.flush();
+        if (worker.connections > 1) {
+            System.out.println("Travailleur " + worker.id + " reconnecté");
+        }
+        return worker;
+    }
+
+    /**
+     * Réévalue un individu reçu, hors du verrou du coordinateur.
+     */
+    private double score(short[] genome) {
+        return evaluator.scoreLayout(encoding.decode(genome, "Worker"));
+    }
+
+    private void report(WorkerState worker, short[] genome, double score) {
+        if (score < worker.bestScore) {
+            worker.bestScore = score;
+        }
+        if (score < bestScore) {
+            bestScore = score;
+            bestGenome = genome;
+            bestWorker = worker.id;
+        }
+    }
+
+    /**
+     * Émigrants du travailleur précédent dans l'anneau des numéros, suivis du
+     * meilleur individu connu s'il vient d'un autre travailleur et bat le sien.
+     */
+    private Migrants immigrantsFor(WorkerState worker) {
+        // Numéros croissants : le dernier candidat inférieur, sinon le plus grand
+        WorkerState source = null;
+        WorkerState last = null;
+        for (WorkerState candidate : workers.values()) {
+            if (candidate == worker || candidate.emigrants.genomes().isEmpty()) {
+                continue;
+            }
+            if (candidate.id < worker.id) {
+                source = candidate;
+            }
+            last = candidate;
+        }
+        if (source == null) {
+            source = last;
+        }
+        List<short[]> genomes = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        if (source != null) {
+            for (int i = 0; i < source.emigrants.genomes().size(); i++) {
+                genomes.add(source.emigrants.genomes().get(i).clone());
+                scores.add(source.emigrants.scores()[i]);
+            }
+        }
+        if (bestGenome != null && bestWorker != worker.id && bestScore < worker.bestScore) {
+            genomes.add(0, bestGenome.clone());
+            scores.add(0, bestScore);
+        }
+        return new Migrants(genomes, scores.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    private void lost(WorkerState worker, String reason) {
+        synchronized (this) {
+            if (stopping || worker == null || worker.done) {
+                return;
+            }
+        }
+        System.err.println("Travailleur " + worker.id + " perdu : " + reason);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Connexion déjà fermée
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.projet.optimizer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protocole d'échange entre le coordinateur et les travailleurs d'une
+ * optimisation répartie (voir {@link MigrationCoordinator}).
+ *
+ * <p>Les messages sont des flux binaires big-endian sur une connexion TCP :
+ * <ul>
+ *   <li>le travailleur s'annonce : {@code KMIG}, version, numéro (-1 pour un
+ *   nouveau travailleur), caractères du codage, empreinte de l'évaluateur ;</li>
+ *   <li>le coordinateur accepte (numéro attribué, meilleur individu connu)
+ *   ou refuse avec un motif ;</li>
+ *   <li>après chaque époque, le travailleur envoie sa génération, son
+ *   meilleur individu et ses émigrants ; le coordinateur répond par des
+ *   immigrants, ou par l'ordre de s'arrêter ;</li>
+ *   <li>en fin d'optimisation, le travailleur envoie son meilleur individu.</li>
+ * </ul>
+ * Un individu est un codage par permutation (voir {@link LayoutEncoding})
+ * suivi de son score.
+ */
+final class MigrationProtocol {
+    static final int MAGIC = 0x4B4D4947; // "KMIG"
+    static final int VERSION = 1;
+
+    static final byte ACCEPT = 1;
+    static final byte REJECT = 2;
+    static final byte EPOCH = 3;
+    static final byte MIGRANTS = 4;
+    static final byte STOP = 5;
+    static final byte DONE = 6;
+
+    private MigrationProtocol() {}
+
+    /**
+     * Individus échangés : codages et scores, du meilleur au moins bon.
+     */
+    record Migrants(List<short[]> genomes, double[] scores) {
+        static final Migrants NONE = new Migrants(List.of(), new double[0]);
+    }
+
+    static void writeGenome(DataOutputStream out, short[] genome) throws IOException {
+        out.writeShort(genome.length);
+        for (short slot : genome) {
+            out.writeShort(slot);
+        }
+    }
+
+    /**
+     * Lit un codage et vérifie qu'il s'agit d'une permutation de la taille attendue.
+     */
+    static short[] readGenome(DataInputStream in, int size) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length != size) {
+            throw new IOException("Codage de " + length + " caractères au lieu de " + size);
+        }
+        short[] genome = new short[length];
+        boolean[] seen = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            genome[i] = in.readShort();
+            if (genome[i] < 0 || genome[i] >= length || seen[genome[i]]) {
+                throw new IOException("Codage invalide : ce n'est pas une permutation");
+            }
+            seen[genome[i]] = true;
+        }
+        return genome;
+    }
+
+    static void writeMigrants(DataOutputStream out, Migrants migrants) throws IOException {
+        out.writeInt(migrants.genomes().size());
+        for (int i = 0; i < migrants.genomes().size(); i++) {
+            writeGenome(out, migrants.genomes().get(i));
+            out.writeDouble(migrants.scores()[i]);
+        }
+    }
+
+    static Migrants readMigrants(DataInputStream in, int size) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > 1 << 16) {
+            throw new IOException("Nombre de migrants invalide : " + count);
+        }
+        List<short[]> genomes = new ArrayList<>(count);
+        double[] scores = new double[count];
+        for (int i = 0; i < count; i++) {
+            genomes.add(readGenome(in, size));
+            scores[i] = in.readDouble();
+        }
+        return new Migrants(genomes, scores);
+    }
+}
@@ -0,0 +1,36 @@
+package org.projet.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Topologie de migration entre les îles du modèle en îles.
+ */
+public enum MigrationTopology {
+    /** Chaque île envoie ses migrants à la suivante ; la dernière à la première. */
+    RING {
+        @Override
+        List<Integer> destinations(int island, int islands) {
+            return islands > 1 ? List.of((island + 1) % islands) : List.of();
+        }
+    },
+
+    /** Chaque île envoie ses migrants à toutes les autres. */
+    FULLY_CONNECTED {
+        @Override
+        List<Integer> destinations(int island, int islands) {
+            List<Integer> destinations = new ArrayList<>(islands - 1);
+            for (int other = 0; other < islands; other++) {
+                if (other != island) {
+                    destinations.add(other);
+                }
+            }
+            return destinations;
+        }
+    };
+
+    /**
+     * Retourne les îles qui reçoivent les migrants de l'île donnée.
+     */
+    abstract List<Integer> destinations(int island, int islands);
+}
@@ -0,0 +1,297 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import org.projet.optimizer.MigrationProtocol.Migrants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Travailleur d'une optimisation répartie : fait évoluer une île et échange
+ * ses meilleurs individus avec les autres travailleurs par l'intermédiaire
+ * d'un {@link MigrationCoordinator}.
+ *
+ * <p>Si le coordinateur est injoignable ou perdu, le travailleur continue
+ * seul et tente de se reconnecter à la fin de chaque époque, sous le même
+ * numéro, jusqu'à un nombre maximal d'échecs consécutifs. Un processus
+ * relancé après une panne peut reprendre son ancien numéro avec
+ * {@link #setWorkerId(int)}.
+ */
+public class MigrationWorker implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private final String host;
+    private final int port;
+    private long seed;
+    private int workerId = -1;
+    private int islandSize = 50;
+    private int maxGenerations = 100;
+    private int migrationInterval = 10;
+    private int migrants = 2;
+    private Crossover crossover = Crossover.PMX;
+    private double crossoverRate = 0.9;
+    private double mutationRate = 0.2;
+    private int maxConnectionFailures = 5;
+    private Duration readTimeout = Duration.ofSeconds(60);
+    private int lastConnections;
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+
+    /**
+     * Crée un travailleur pour le coordinateur à l'adresse donnée : île de
+     * 50 individus, 100 générations, 2 migrants toutes les 10 générations.
+     */
+    public MigrationWorker(LayoutEvaluator evaluator, String host, int port) {
+        this.evaluator = evaluator;
+        this.host = Objects.requireNonNull(host);
+        this.port = port;
+        this.seed = new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Reprend un numéro de travailleur attribué lors d'une exécution précédente.
+     */
+    public void setWorkerId(int workerId) {
+        if (workerId < 0) {
+            throw new IllegalArgumentException("Numéro de travailleur invalide : " + workerId);
+        }
+        this.workerId = workerId;
+    }
+
+    /**
+     * Retourne le numéro attribué par le coordinateur, -1 avant la première connexion.
+     */
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Fixe la taille de l'île et le nombre de générations.
+     */
+    public void setIsland(int islandSize, int maxGenerations) {
+        if (islandSize < 2 || maxGenerations < 1) {
+            throw new IllegalArgumentException("Île invalide : " + islandSize + " individus, "
+                + maxGenerations + " générations");
+        }
+        this.islandSize = islandSize;
+        this.maxGenerations = maxGenerations;
+    }
+
+    /**
+     * Échange {@code migrants} individus toutes les {@code interval} générations.
+     */
+    public void setMigration(int interval, int migrants) {
+        if (interval < 1 || migrants < 0) {
+            throw new IllegalArgumentException("Migration invalide : " + interval + ", " + migrants);
+        }
+        this.migrationInterval = interval;
+        this.migrants = migrants;
+    }
+
+    /**
+     * Fixe le croisement et les taux de l'algorithme génétique de l'île.
+     */
+    public void setOperators(Crossover crossover, double crossoverRate, double mutationRate) {
+        this.crossover = Objects.requireNonNull(crossover);
+        this.crossoverRate = crossoverRate;
+        this.mutationRate = mutationRate;
+    }
+
+    /**
+     * Fixe le nombre d'échecs de connexion consécutifs (5 par défaut) après
+     * lequel le travailleur termine seul, et le délai de réponse du coordinateur.
+     */
+    public void setReconnect(int maxConnectionFailures, Duration readTimeout) {
+        if (maxConnectionFailures < 1) {
+            throw new IllegalArgumentException("Nombre d'échecs invalide : " + maxConnectionFailures);
+        }
+        this.maxConnectionFailures = maxConnectionFailures;
+        this.readTimeout = Objects.requireNonNull(readTimeout);
+    }
+
+    /**
+     * Retourne le nombre de connexions au coordinateur lors du dernier appel
+     * à {@link #optimize(KeyboardLayout)}, reconnexions comprises.
+     */
+    public int getLastConnections() {
+        return lastConnections;
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        GeneticOperators operators = new GeneticOperators(crossover, crossoverRate, mutationRate);
+        Island island = new Island(0, islandSize, encoding, evaluator, operators, new SplittableRandom(seed));
+        double initialScore = island.bestScore();
+        System.out.printf("Score initial : %.2f%n%n", initialScore);
+
+        lastConnections = 0;
+        int failures = 0;
+        boolean stopped = false;
+        Connection connection = null;
+        int generation = 0;
+        try {
+            connection = connect(encoding, island);
+            failures = connection != null ? 0 : 1;
+
+            while (generation < maxGenerations && !stopped) {
+                int epoch = Math.min(migrationInterval, maxGenerations - generation);
+                island.evolve(epoch);
+                generation += epoch;
+
+                if (connection == null && failures < maxConnectionFailures) {
+                    connection = connect(encoding, island);
+                    failures = connection != null ? 0 : failures + 1;
+                }
+                if (connection != null) {
+                    try {
+                        Migrants immigrants = connection.exchange(generation, island, migrants, encoding.size());
+                        if (immigrants == null) {
+                            System.out.println("Arrêt demandé par le coordinateur après " + generation + " générations");
+                            stopped = true;
+                        } else if (!immigrants.genomes().isEmpty()) {
+                            island.immigrate(immigrants.genomes(), immigrants.scores());
+                        }
+                    } catch (IOException e) {
+                        System.err.println("Coordinateur perdu : " + e.getMessage());
+                        connection.close();
+                        connection = null;
+                    }
+                }
+            }
+
+            if (!stopped && connection == null && failures < maxConnectionFailures) {
+                connection = connect(encoding, island);
+            }
+            if (!stopped && connection != null) {
+                try {
+                    connection.done(island);
+                } catch (IOException e) {
+                    System.err.println("Résultat non transmis au coordinateur : " + e.getMessage());
+                }
+            }
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+
+        KeyboardOptimizer.printChanges(encoding, island.bestGenome());
+        System.out.printf("%nTravailleur %d : %d générations, %d connexions%n", workerId, generation, lastConnections);
+        System.out.printf("%nScore final : %.2f%n", island.bestScore());
+        return encoding.decode(island.bestGenome(), "Optimized");
+    }
+
+    /**
+     * Se connecte au coordinateur et intègre le meilleur individu qu'il connaît.
+     * @return la connexion, ou null si le coordinateur est injoignable ou refuse le travailleur
+     */
+    private Connection connect(LayoutEncoding encoding, Island island) {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, readTimeout.toMillis()));
+            Connection connection = new Connection(socket);
+            DataOutputStream out = connection.out;
+            out.writeInt(MigrationProtocol.MAGIC);
+            out.writeInt(MigrationProtocol.VERSION);
+            out.writeInt(workerId);
+            out.writeUTF(encoding.characters());
+            out.writeLong(evaluator.fingerprint());
+            out.flush();
+
+            byte answer = connection.in.readByte();
+            if (answer == MigrationProtocol.REJECT) {
+                System.err.println("Refusé par le coordinateur : " + connection.in.readUTF());
+                connection.close();
+                return null;
+            }
+            if (answer != MigrationProtocol.ACCEPT) {
+                throw new IOException("Réponse inconnue : " + answer);
+            }
+            workerId = connection.in.readInt();
+            Migrants best = MigrationProtocol.readMigrants(connection.in, encoding.size());
+            if (!best.genomes().isEmpty() && best.scores()[0] < island.bestScore()) {
+                island.immigrate(best.genomes(), best.scores());
+            }
+            lastConnections++;
+            return connection;
+        } catch (IOException e) {
+            System.err.println("Coordinateur " + host + ":" + port + " injoignable : " + e.getMessage());
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Connexion déjà fermée
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Connexion établie avec le coordinateur.
+     */
+    private static final class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        /**
+         * Envoie le meilleur individu et les émigrants de l'île.
+         * @return les immigrants, ou null si le coordinateur demande l'arrêt
+         */
+        Migrants exchange(int generation, Island island, int count, int size) throws IOException {
+            out.writeByte(MigrationProtocol.EPOCH);
+            out.writeInt(generation);
+            MigrationProtocol.writeGenome(out, island.bestGenome());
+            out.writeDouble(island.bestScore());
+            MigrationProtocol.writeMigrants(out,
+                new Migrants(island.emigrants(count), island.emigrantScores(count)));
+            out.flush();
+
+            byte answer = in.readByte();
+            if (answer == MigrationProtocol.STOP) {
+                return null;
+            }
+            if (answer != MigrationProtocol.MIGRANTS) {
+                throw new IOException("Réponse inconnue : " + answer);
+            }
+            return MigrationProtocol.readMigrants(in, size);
+        }
+
+        void done(Island island) throws IOException {
+            out.writeByte(MigrationProtocol.DONE);
+            MigrationProtocol.writeGenome(out, island.bestGenome());
+            out.writeDouble(island.bestScore());
+            out.flush();
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Connexion déjà fermée
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.projet.optimizer;
+
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Couche de caractères obtenue en maintenant une touche de modification
+ * (voir {@link LayeredOptimizer}).
+ */
+public enum ModifierLayer {
+    /**
+     * Couche Shift, tenue par l'auriculaire de la main opposée à la touche.
+     */
+    SHIFT {
+        @Override
+        public Character produces(KeyboardLayout.Key key) {
+            return key.shiftProduces();
+        }
+
+        @Override
+        public KeyboardLayout.Key place(KeyboardLayout.Key key, Character symbol) {
+            return new KeyboardLayout.Key(key.row(), key.column(), key.finger(), symbol, key.altgrProduces());
+        }
+
+        @Override
+        public KeyboardLayout.Finger modifierFinger(KeyboardLayout.Key key) {
+            return key.finger().shiftFinger();
+        }
+    },
+
+    /**
+     * Couche AltGr, tenue par le pouce droit.
+     */
+    ALTGR {
+        @Override
+        public Character produces(KeyboardLayout.Key key) {
+            return key.altgrProduces();
+        }
+
+        @Override
+        public KeyboardLayout.Key place(KeyboardLayout.Key key, Character symbol) {
+            return new KeyboardLayout.Key(key.row(), key.column(), key.finger(), key.shiftProduces(), symbol);
+        }
+
+        @Override
+        public KeyboardLayout.Finger modifierFinger(KeyboardLayout.Key key) {
+            return null; // Le pouce ne frappe aucune autre touche
+        }
+    };
+
+    /**
+     * Retourne le caractère de cette couche sur une touche, ou null.
+     */
+    public abstract Character produces(KeyboardLayout.Key key);
+
+    /**
+     * Retourne la touche portant {@code symbol} sur cette couche, les autres couches inchangées.
+     */
+    public abstract KeyboardLayout.Key place(KeyboardLayout.Key key, Character symbol);
+
+    /**
+     * Retourne le doigt qui tient la touche de modification pendant la frappe
+     * de la touche donnée, ou null s'il ne frappe pas d'autres touches.
+     */
+    public abstract KeyboardLayout.Finger modifierFinger(KeyboardLayout.Key key);
+}
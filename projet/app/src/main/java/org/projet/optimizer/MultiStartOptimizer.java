@@ -0,0 +1,191 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Lance plusieurs optimisations indépendantes et agrège leurs résultats.
+ *
+ * <p>Le départ 0 part de la disposition donnée, les suivants des
+ * dispositions de départ fournies (voir {@link #setStartingLayouts(List)}),
+ * puis de permutations aléatoires de la disposition donnée. Chaque départ
+ * reçoit sa propre graine, tirée dans l'ordre des départs : le résultat ne
+ * dépend pas du nombre de threads si l'optimiseur de chaque départ est
+ * lui-même reproductible.
+ *
+ * <p>Le budget de threads est partagé : au plus {@code threads} départs
+ * tournent en même temps, et chacun reçoit {@code threads / départs simultanés}
+ * threads pour son propre parallélisme.
+ */
+public class MultiStartOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private long seed;
+    private int starts = 8;
+    private int threads;
+    private int topK = 5;
+    private List<KeyboardLayout> startingLayouts = List.of();
+    private OptimizerFactory factory;
+    private MultiStartResult lastResult;
+
+    /**
+     * Crée une optimisation à 8 départs de l'algorithme génétique.
+     */
+    public MultiStartOptimizer(LayoutEvaluator evaluator) {
+        this.evaluator = evaluator;
+        this.seed = new SplittableRandom().nextLong();
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.factory = (startSeed, startThreads) -> {
+            KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator);
+            optimizer.setSeed(startSeed);
+            optimizer.setThreads(startThreads);
+            return optimizer;
+        };
+    }
+
+    /**
+     * Fixe la graine dont sont tirées les graines des départs.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Fixe le nombre de départs.
+     */
+    public void setStarts(int starts) {
+        if (starts < 1) {
+            throw new IllegalArgumentException("Le nombre de départs doit être positif : " + starts);
+        }
+        this.starts = starts;
+    }
+
+    /**
+     * Fixe le nombre total de threads, partagé entre les départs.
+     * Par défaut, le nombre de processeurs disponibles.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Fixe le nombre de meilleures dispositions distinctes conservées (5 par défaut).
+     */
+    public void setTopK(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("Le nombre de dispositions conservées doit être positif : " + topK);
+        }
+        this.topK = topK;
+    }
+
+    /**
+     * Ajoute des dispositions de départ, utilisées par les départs 1, 2, etc.,
+     * par exemple d'autres dispositions chargées depuis leur fichier JSON.
+     */
+    public void setStartingLayouts(List<KeyboardLayout> startingLayouts) {
+        this.startingLayouts = List.copyOf(startingLayouts);
+    }
+
+    /**
+     * Choisit l'optimiseur lancé à chaque départ (algorithme génétique par défaut).
+     */
+    public void setOptimizerFactory(OptimizerFactory factory) {
+        this.factory = Objects.requireNonNull(factory);
+    }
+
+    /**
+     * Retourne les résultats du dernier appel à {@link #optimize(KeyboardLayout)}.
+     */
+    public MultiStartResult getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Graines et dispositions de départ tirées dans l'ordre des départs
+        long[] seeds = new long[starts];
+        List<KeyboardLayout> layouts = new ArrayList<>(starts);
+        for (int start = 0; start < starts; start++) {
+            SplittableRandom startRandom = random.split();
+            seeds[start] = startRandom.nextLong();
+            if (start == 0) {
+                layouts.add(initial);
+            } else if (start <= startingLayouts.size()) {
+                layouts.add(startingLayouts.get(start - 1));
+            } else {
+                layouts.add(encoding.decode(shuffle(encoding.identity(), startRandom), "Départ " + start));
+            }
+        }
+
+        int concurrent = Math.min(threads, starts);
+        int threadsPerStart = Math.max(1, threads / concurrent);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrent);
+        List<StartResult> results;
+        try {
+            results = KeyboardOptimizer.runParallel(executor, concurrent, starts, start -> {
+                KeyboardLayout layout = layouts.get(start);
+                KeyboardLayout optimized = factory.create(seeds[start], threadsPerStart).optimize(layout);
+                return new StartResult(start, seeds[start],
+                    evaluator.scoreLayout(layout), evaluator.scoreLayout(optimized), optimized);
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Meilleures dispositions distinctes ; à score égal, le premier départ
+        List<StartResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(StartResult::finalScore).thenComparingInt(StartResult::start));
+        List<StartResult> best = new ArrayList<>();
+        Set<Map<Character, KeyboardLayout.Key>> seen = new HashSet<>();
+        for (StartResult result : sorted) {
+            if (best.size() < topK && seen.add(result.layout().characterToKeyMap())) {
+                best.add(result);
+            }
+        }
+        lastResult = new MultiStartResult(results, best);
+
+        System.out.println("\n=== Départs multiples ===");
+        for (StartResult result : results) {
+            System.out.printf("Départ %d : %.2f -> %.2f%n", result.start(), result.initialScore(), result.finalScore());
+        }
+        System.out.printf("Scores finaux : moyenne %.2f, écart type %.2f, min %.2f, max %.2f%n",
+            lastResult.meanScore(), lastResult.scoreStandardDeviation(), lastResult.minScore(), lastResult.maxScore());
+        System.out.printf("Dispositions distinctes : %d sur %d départs%n", lastResult.distinctLayouts(), starts);
+        System.out.println("Meilleures dispositions :");
+        for (StartResult result : best) {
+            System.out.printf("  départ %d : %.2f%n", result.start(), result.finalScore());
+        }
+
+        StartResult winner = best.get(0);
+        return new KeyboardLayout("Optimized", winner.layout().characterToKeyMap());
+    }
+
+    /**
+     * Mélange un codage (Fisher-Yates).
+     */
+    private static short[] shuffle(short[] genome, SplittableRandom random) {
+        for (int i = genome.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            short slot = genome[i];
+            genome[i] = genome[j];
+            genome[j] = slot;
+        }
+        return genome;
+    }
+}
@@ -0,0 +1,55 @@
+package org.projet.optimizer;
+
+import java.util.List;
+
+/**
+ * Résultats d'une optimisation à départs multiples.
+ *
+ * @param starts résultat de chaque départ, dans l'ordre des départs
+ * @param best meilleures dispositions distinctes, de la meilleure à la moins bonne
+ */
+public record MultiStartResult(List<StartResult> starts, List<StartResult> best) {
+    public MultiStartResult {
+        starts = List.copyOf(starts);
+        best = List.copyOf(best);
+    }
+
+    /**
+     * Retourne le score final moyen des départs.
+     */
+    public double meanScore() {
+        return starts.stream().mapToDouble(StartResult::finalScore).average().orElse(Double.NaN);
+    }
+
+    /**
+     * Retourne l'écart type des scores finaux des départs.
+     */
+    public double scoreStandardDeviation() {
+        double mean = meanScore();
+        return Math.sqrt(starts.stream()
+            .mapToDouble(result -> (result.finalScore() - mean) * (result.finalScore() - mean))
+            .average()
+            .orElse(Double.NaN));
+    }
+
+    /**
+     * Retourne le meilleur score final.
+     */
+    public double minScore() {
+        return starts.stream().mapToDouble(StartResult::finalScore).min().orElse(Double.NaN);
+    }
+
+    /**
+     * Retourne le moins bon score final.
+     */
+    public double maxScore() {
+        return starts.stream().mapToDouble(StartResult::finalScore).max().orElse(Double.NaN);
+    }
+
+    /**
+     * Retourne le nombre de dispositions distinctes obtenues.
+     */
+    public long distinctLayouts() {
+        return starts.stream().map(result -> result.layout().characterToKeyMap()).distinct().count();
+    }
+}
@@ -0,0 +1,123 @@
+package org.projet.optimizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tri rapide par non-domination et distance d'encombrement de NSGA-II, sur
+ * des vecteurs de coûts à minimiser.
+ */
+final class NonDominatedSorting {
+    private NonDominatedSorting() {}
+
+    /**
+     * Indique si {@code a} domine {@code b} : au moins aussi bon sur chaque
+     * coût, et strictement meilleur sur l'un d'eux.
+     */
+    static boolean dominates(double[] a, double[] b) {
+        boolean better = false;
+        for (int k = 0; k < a.length; k++) {
+            if (a[k] > b[k]) {
+                return false;
+            }
+            if (a[k] < b[k]) {
+                better = true;
+            }
+        }
+        return better;
+    }
+
+    /**
+     * Répartit les individus en fronts successifs : le premier contient les
+     * individus non dominés, le suivant ceux qui ne sont dominés que par le
+     * premier, etc. Chaque front est trié par indice croissant.
+     */
+    static List<int[]> sort(double[][] costs) {
+        int n = costs.length;
+        // Individus dominés par chacun, et nombre de dominants de chacun
+        List<List<Integer>> dominated = new ArrayList<>(n);
+        int[] dominatorCount = new int[n];
+        for (int i = 0; i < n; i++) {
+            dominated.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (dominates(costs[i], costs[j])) {
+                    dominated.get(i).add(j);
+                    dominatorCount[j]++;
+                } else if (dominates(costs[j], costs[i])) {
+                    dominated.get(j).add(i);
+                    dominatorCount[i]++;
+                }
+            }
+        }
+
+        List<int[]> fronts = new ArrayList<>();
+        int[] front = indicesWhere(dominatorCount, 0);
+        while (front.length > 0) {
+            fronts.add(front);
+            List<Integer> next = new ArrayList<>();
+            for (int i : front) {
+                for (int j : dominated.get(i)) {
+                    if (--dominatorCount[j] == 0) {
+                        next.add(j);
+                    }
+                }
+            }
+            front = next.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        return fronts;
+    }
+
+    /**
+     * Calcule la distance d'encombrement des individus d'un front : la somme,
+     * sur chaque coût normalisé par son étendue dans le front, de l'écart
+     * entre les deux voisins. Les extrémités ont une distance infinie.
+     * @return les distances, dans l'ordre du front
+     */
+    static double[] crowdingDistance(double[][] costs, int[] front) {
+        int size = front.length;
+        double[] distance = new double[size];
+        if (size <= 2) {
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            return distance;
+        }
+        int objectives = costs[front[0]].length;
+        for (int k = 0; k < objectives; k++) {
+            int objective = k;
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(costs[front[a]][objective], costs[front[b]][objective]));
+            double min = costs[front[order[0]]][k];
+            double range = costs[front[order[size - 1]]][k] - min;
+            distance[order[0]] = Double.POSITIVE_INFINITY;
+            distance[order[size - 1]] = Double.POSITIVE_INFINITY;
+            if (range > 0) {
+                for (int i = 1; i < size - 1; i++) {
+                    distance[order[i]] += (costs[front[order[i + 1]]][k] - costs[front[order[i - 1]]][k]) / range;
+                }
+            }
+        }
+        return distance;
+    }
+
+    private static int[] indicesWhere(int[] values, int value) {
+        int count = 0;
+        for (int v : values) {
+            if (v == value) {
+                count++;
+            }
+        }
+        int[] indices = new int[count];
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                indices[next++] = i;
+            }
+        }
+        return indices;
+    }
+}
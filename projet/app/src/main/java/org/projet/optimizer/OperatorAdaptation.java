@@ -0,0 +1,25 @@
+package org.projet.optimizer;
+
+import java.util.Map;
+
+/**
+ * État de la sélection adaptative des opérateurs après l'évaluation d'une génération.
+ *
+ * @param generation génération dont les enfants viennent d'être évalués
+ * @param uses nombre d'enfants produits par chaque opérateur dans cette génération,
+ *             sans les doublons remplacés par des mutants
+ * @param improvementRates part de ces enfants meilleurs que leur parent (le meilleur des deux pour un croisement)
+ * @param probabilities probabilités de choix de chaque opérateur pour la génération suivante
+ */
+public record OperatorAdaptation(
+    int generation,
+    Map<VariationOperator, Integer> uses,
+    Map<VariationOperator, Double> improvementRates,
+    Map<VariationOperator, Double> probabilities
+) {
+    public OperatorAdaptation {
+        uses = Map.copyOf(uses);
+        improvementRates = Map.copyOf(improvementRates);
+        probabilities = Map.copyOf(probabilities);
+    }
+}
@@ -0,0 +1,123 @@
+package org.projet.optimizer;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Sélection adaptative des opérateurs de variation, par appariement de
+ * probabilités : chaque opérateur est choisi proportionnellement à son taux
+ * d'amélioration récent, moyenne exponentielle des taux observés génération
+ * après génération. Une probabilité minimale garde chaque opérateur à l'essai,
+ * pour suivre un changement de son efficacité au cours de l'optimisation.
+ *
+ * <p>Les résultats sont enregistrés puis pris en compte en fin de génération
+ * seulement : les probabilités ne changent pas pendant la production d'une
+ * génération, dont le tirage reste indépendant du nombre de threads.
+ */
+final class OperatorBandit {
+    // Poids de la dernière génération dans le taux d'amélioration récent
+    private static final double LEARNING_RATE = 0.3;
+    // Part des tirages répartie uniformément entre les opérateurs
+    private static final double EXPLORATION = 0.2;
+
+    private final VariationOperator[] arms;
+    private final double[] quality;
+    private final int[] uses;
+    private final int[] improvements;
+    private double[] probabilities;
+
+    OperatorBandit(List<VariationOperator> arms) {
+        if (arms.isEmpty()) {
+            throw new IllegalArgumentException("Aucun opérateur à sélectionner");
+        }
+        this.arms = arms.toArray(new VariationOperator[0]);
+        int size = this.arms.length;
+        this.quality = new double[size];
+        this.uses = new int[size];
+        this.improvements = new int[size];
+        // Estimations initiales égales : tirage uniforme au départ
+        Arrays.fill(quality, 1.0);
+        this.probabilities = match(quality);
+    }
+
+    /**
+     * Tire un opérateur selon les probabilités courantes.
+     */
+    VariationOperator draw(SplittableRandom random) {
+        double target = random.nextDouble();
+        for (int a = 0; a < arms.length - 1; a++) {
+            target -= probabilities[a];
+            if (target < 0) {
+                return arms[a];
+            }
+        }
+        return arms[arms.length - 1];
+    }
+
+    /**
+     * Enregistre le résultat d'un enfant produit par un opérateur.
+     */
+    void record(VariationOperator operator, boolean improved) {
+        int a = indexOf(operator);
+        uses[a]++;
+        if (improved) {
+            improvements[a]++;
+        }
+    }
+
+    /**
+     * Met à jour les taux récents et les probabilités avec les résultats
+     * enregistrés depuis la dernière mise à jour.
+     */
+    OperatorAdaptation update(int generation) {
+        Map<VariationOperator, Integer> used = new EnumMap<>(VariationOperator.class);
+        Map<VariationOperator, Double> rates = new EnumMap<>(VariationOperator.class);
+        for (int a = 0; a < arms.length; a++) {
+            used.put(arms[a], uses[a]);
+            if (uses[a] > 0) {
+                double rate = (double) improvements[a] / uses[a];
+                quality[a] = (1 - LEARNING_RATE) * quality[a] + LEARNING_RATE * rate;
+                rates.put(arms[a], rate);
+            } else {
+                rates.put(arms[a], 0.0);
+            }
+            uses[a] = 0;
+            improvements[a] = 0;
+        }
+        probabilities = match(quality);
+
+        Map<VariationOperator, Double> chosen = new EnumMap<>(VariationOperator.class);
+        for (int a = 0; a < arms.length; a++) {
+            chosen.put(arms[a], probabilities[a]);
+        }
+        return new OperatorAdaptation(generation, used, rates, chosen);
+    }
+
+    /**
+     * Probabilités proportionnelles aux estimations, avec une part d'exploration uniforme.
+     */
+    private static double[] match(double[] quality) {
+        double total = 0.0;
+        for (double q : quality) {
+            total += q;
+        }
+        double[] probabilities = new double[quality.length];
+        for (int a = 0; a < quality.length; a++) {
+            double share = total > 0 ? quality[a] / total : 1.0 / quality.length;
+            probabilities[a] = EXPLORATION / quality.length + (1 - EXPLORATION) * share;
+        }
+        return probabilities;
+    }
+
+    private int indexOf(VariationOperator operator) {
+        for (int a = 0; a < arms.length; a++) {
+            if (arms[a] == operator) {
+                return a;
+            }
+        }
+        throw new IllegalArgumentException("Opérateur non sélectionnable : " + operator);
+    }
+}
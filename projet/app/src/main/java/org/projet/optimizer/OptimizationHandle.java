@@ -0,0 +1,109 @@
+package org.projet.optimizer;
+
+import org.projet.model.KeyboardLayout;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Suivi d'une optimisation en cours : meilleure disposition trouvée jusqu'ici,
+ * annulation coopérative et attente du résultat.
+ *
+ * <p>L'optimisation consulte {@link #shouldStop()} entre deux générations ;
+ * après une annulation ou à l'échéance, elle se termine en retournant la
+ * meilleure disposition trouvée.
+ *
+ * @see KeyboardOptimizer#optimize(KeyboardLayout, Duration)
+ */
+public final class OptimizationHandle {
+    private final long deadline;
+    private final CompletableFuture<KeyboardLayout> result = new CompletableFuture<>();
+    private volatile Snapshot best;
+    private volatile boolean cancelled;
+
+    /**
+     * Meilleur état publié : la disposition et son score changent ensemble.
+     */
+    private record Snapshot(KeyboardLayout layout, double score, int generation) {}
+
+    OptimizationHandle(KeyboardLayout initial, double initialScore, Duration budget) {
+        this.deadline = budget != null ? System.nanoTime() + budget.toNanos() : Long.MAX_VALUE;
+        this.best = new Snapshot(initial, initialScore, 0);
+    }
+
+    /**
+     * Retourne la meilleure disposition trouvée jusqu'ici.
+     */
+    public KeyboardLayout bestLayout() {
+        return best.layout();
+    }
+
+    /**
+     * Retourne le score de la meilleure disposition trouvée jusqu'ici.
+     */
+    public double bestScore() {
+        return best.score();
+    }
+
+    /**
+     * Retourne la génération à laquelle la meilleure disposition a été trouvée.
+     */
+    public int bestGeneration() {
+        return best.generation();
+    }
+
+    /**
+     * Demande l'arrêt de l'optimisation à la fin de la génération en cours.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Indique si l'annulation a été demandée.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Indique si l'optimisation est terminée.
+     */
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * Attend la fin de l'optimisation et retourne la meilleure disposition.
+     * @throws IllegalStateException si l'optimisation a échoué
+     */
+    public KeyboardLayout await() {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Erreur pendant l'optimisation", e.getCause());
+        }
+    }
+
+    /**
+     * Indique si l'optimisation doit s'arrêter : annulation ou échéance atteinte.
+     */
+    boolean shouldStop() {
+        return cancelled || System.nanoTime() >= deadline;
+    }
+
+    void offer(KeyboardLayout layout, double score, int generation) {
+        if (score < best.score()) {
+            best = new Snapshot(layout, score, generation);
+        }
+    }
+
+    void complete(KeyboardLayout layout) {
+        result.complete(layout);
+    }
+
+    void fail(Throwable error) {
+        result.completeExceptionally(error);
+    }
+}
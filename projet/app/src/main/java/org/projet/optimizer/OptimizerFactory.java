@@ -0,0 +1,15 @@
+package org.projet.optimizer;
+
+/**
+ * Fabrique d'optimiseurs pour les départs d'une optimisation à départs multiples.
+ */
+@FunctionalInterface
+public interface OptimizerFactory {
+
+    /**
+     * Crée l'optimiseur d'un départ.
+     * @param seed graine attribuée au départ
+     * @param threads nombre de threads attribués au départ
+     */
+    LayoutOptimizer create(long seed, int threads);
+}
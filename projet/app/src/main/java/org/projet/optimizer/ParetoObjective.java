@@ -0,0 +1,91 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.MovementProfile;
+import org.projet.evaluator.MovementType;
+
+/**
+ * Critère d'une optimisation multi-objectif (voir {@link ParetoOptimizer}),
+ * mesuré sur les comptages d'une disposition.
+ */
+public enum ParetoObjective {
+    /** Bigrammes tapés deux fois du même doigt, à minimiser. */
+    SAME_FINGER(false) {
+        @Override
+        public double measure(MovementProfile profile) {
+            return profile.count(MovementType.SAME_FINGER);
+        }
+    },
+
+    /** Trigrammes dont la première et la dernière touche sont du même doigt, à minimiser. */
+    SKIPGRAMS(false) {
+        @Override
+        public double measure(MovementProfile profile) {
+            return profile.count(MovementType.SAME_FINGER_SKIPGRAM);
+        }
+    },
+
+    /** Extensions latérales et ciseaux, à minimiser. */
+    STRETCHES(false) {
+        @Override
+        public double measure(MovementProfile profile) {
+            return profile.count(MovementType.LATERAL_STRETCH) + profile.count(MovementType.SCISSORS);
+        }
+    },
+
+    /** Redirections, mauvaises ou non, à minimiser. */
+    REDIRECTIONS(false) {
+        @Override
+        public double measure(MovementProfile profile) {
+            return profile.count(MovementType.REDIRECTION) + profile.count(MovementType.BAD_REDIRECTION);
+        }
+    },
+
+    /** Roulements vers l'intérieur ou l'extérieur, à maximiser. */
+    ROLLS(true) {
+        @Override
+        public double measure(MovementProfile profile) {
+            return profile.count(MovementType.INWARD_ROLL) + profile.count(MovementType.OUTWARD_ROLL);
+        }
+    },
+
+    /** Alternances des mains, à maximiser. */
+    HAND_ALTERNATION(true) {
+        @Override
+        public double measure(MovementProfile profile) {
+            return profile.count(MovementType.HAND_ALTERNATION);
+        }
+    },
+
+    /** Écart à la répartition idéale des doigts, à minimiser. */
+    FINGER_LOAD(false) {
+        @Override
+        public double measure(MovementProfile profile) {
+            return profile.fingerLoadDeviation();
+        }
+    };
+
+    private final boolean maximized;
+
+    ParetoObjective(boolean maximized) {
+        this.maximized = maximized;
+    }
+
+    /**
+     * Retourne la valeur du critère pour une disposition.
+     */
+    public abstract double measure(MovementProfile profile);
+
+    /**
+     * Indique si le critère est à maximiser plutôt qu'à minimiser.
+     */
+    public boolean isMaximized() {
+        return maximized;
+    }
+
+    /**
+     * Retourne la valeur à minimiser : la mesure, changée de signe si elle est à maximiser.
+     */
+    double cost(MovementProfile profile) {
+        return maximized ? -measure(profile) : measure(profile);
+    }
+}
@@ -0,0 +1,298 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.evaluator.MovementProfile;
+import org.projet.evaluator.ScoringWeights;
+import org.projet.model.KeyboardLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optimise une disposition de clavier sur plusieurs critères à la fois
+ * (NSGA-II), au lieu de leur somme pondérée.
+ *
+ * <p>Chaque génération, les parents et leurs enfants sont répartis en fronts
+ * par tri rapide de non-domination ; la génération suivante garde les
+ * meilleurs fronts et départage le dernier par distance d'encombrement, pour
+ * conserver des compromis variés. Le résultat est le front de Pareto de la
+ * dernière population : une seule exécution donne l'ensemble des compromis,
+ * là où une somme pondérée demanderait une exécution par jeu de poids.
+ *
+ * <p>{@link #optimize(KeyboardLayout)} retourne la disposition du front dont
+ * le score pondéré par les poids de l'évaluateur est le meilleur ; le front
+ * complet est donné par {@link #getLastFront()}.
+ */
+public class ParetoOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private final int populationSize;
+    private final int maxGenerations;
+    private final double mutationRate;
+    private final double crossoverRate;
+    private long seed;
+    private int threads;
+    private Crossover crossover = Crossover.PMX;
+    private List<ParetoObjective> objectives = List.of(
+        ParetoObjective.SAME_FINGER, ParetoObjective.ROLLS,
+        ParetoObjective.REDIRECTIONS, ParetoObjective.FINGER_LOAD
+    );
+    private List<ParetoSolution> lastFront = List.of();
+
+    /**
+     * Crée un optimiseur de 50 individus sur 100 générations, pour les
+     * critères même doigt, roulements, redirections et répartition des doigts.
+     */
+    public ParetoOptimizer(LayoutEvaluator evaluator) {
+        this(evaluator, 50, 100, 0.2, 0.9);
+    }
+
+    /**
+     * Crée un optimiseur multi-objectif avec des paramètres personnalisés.
+     */
+    public ParetoOptimizer(
+        LayoutEvaluator evaluator,
+        int populationSize,
+        int maxGenerations,
+        double mutationRate,
+        double crossoverRate
+    ) {
+        if (populationSize < 2 || maxGenerations < 0) {
+            throw new IllegalArgumentException("Paramètres invalides : " + populationSize + " individus, "
+                + maxGenerations + " générations");
+        }
+        this.evaluator = evaluator;
+        this.populationSize = populationSize;
+        this.maxGenerations = maxGenerations;
+        this.mutationRate = mutationRate;
+        this.crossoverRate = crossoverRate;
+        this.seed = new SplittableRandom().nextLong();
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Choisit les critères à optimiser.
+     */
+    public void setObjectives(ParetoObjective... objectives) {
+        if (objectives.length < 2) {
+            throw new IllegalArgumentException("Au moins deux critères sont nécessaires");
+        }
+        if (Arrays.stream(objectives).distinct().count() != objectives.length) {
+            throw new IllegalArgumentException("Critère en double : " + Arrays.toString(objectives));
+        }
+        this.objectives = List.of(objectives);
+    }
+
+    /**
+     * Retourne les critères optimisés.
+     */
+    public List<ParetoObjective> getObjectives() {
+        return objectives;
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire. Pour une même graine, le résultat
+     * est identique quel que soit le nombre de threads.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Fixe le nombre de threads qui produisent et évaluent chaque génération.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Choisit l'opérateur de croisement (PMX par défaut).
+     */
+    public void setCrossover(Crossover crossover) {
+        this.crossover = Objects.requireNonNull(crossover);
+    }
+
+    /**
+     * Retourne le front de Pareto du dernier appel à {@link #optimize(KeyboardLayout)},
+     * du meilleur au moins bon score pondéré.
+     */
+    public List<ParetoSolution> getLastFront() {
+        return lastFront;
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return optimize(initial, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private KeyboardLayout optimize(KeyboardLayout initial, ExecutorService executor) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        GeneticOperators operators = new GeneticOperators(crossover, crossoverRate, mutationRate);
+        ScoringWeights weights = evaluator.getWeights();
+
+        // Population initiale : la disposition de départ et des mutants distincts
+        short[] identity = encoding.identity();
+        List<short[]> population = new ArrayList<>(populationSize);
+        population.add(identity);
+        SplittableRandom[] randoms = new SplittableRandom[populationSize - 1];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = random.split();
+        }
+        population.addAll(KeyboardOptimizer.runParallel(executor, threads, randoms.length,
+            i -> operators.mutateChild(identity, randoms[i])));
+        PopulationDiversity.replaceDuplicates(population, operators, random.split());
+
+        List<MovementProfile> profiles = profile(population, encoding, executor);
+        System.out.printf("Score initial : %.2f%n%n", weights.score(profiles.get(0)));
+        int[] ranks = new int[populationSize];
+        double[] crowding = new double[populationSize];
+        rank(costs(profiles), ranks, crowding);
+
+        for (int generation = 0; generation < maxGenerations; generation++) {
+            // Chaque couple d'enfants est produit par une tâche indépendante,
+            // avec des parents choisis par tournoi binaire sur le rang puis l'encombrement
+            int pairCount = (populationSize + 1) / 2;
+            SplittableRandom[] pairRandoms = new SplittableRandom[pairCount];
+            for (int i = 0; i < pairCount; i++) {
+                pairRandoms[i] = random.split();
+            }
+            List<short[]> parents = population;
+            int[] parentRanks = ranks;
+            double[] parentCrowding = crowding;
+            List<short[][]> pairs = KeyboardOptimizer.runParallel(executor, threads, pairCount, i -> {
+                int parent1 = select(parentRanks, parentCrowding, pairRandoms[i]);
+                int parent2 = select(parentRanks, parentCrowding, pairRandoms[i]);
+                return operators.reproduce(parents.get(parent1), parents.get(parent2), pairRandoms[i]);
+            });
+
+            // Parents et enfants réunis, sans doublon : les enfants déjà présents sont mutés
+            List<short[]> combined = new ArrayList<>(2 * populationSize);
+            combined.addAll(population);
+            for (short[][] pair : pairs) {
+                for (short[] child : pair) {
+                    if (combined.size() < 2 * populationSize) {
+                        combined.add(child);
+                    }
+                }
+            }
+            PopulationDiversity.replaceDuplicates(combined, operators, random.split());
+
+            // Seuls les enfants sont évalués
+            List<MovementProfile> combinedProfiles = new ArrayList<>(profiles);
+            combinedProfiles.addAll(profile(combined.subList(populationSize, combined.size()), encoding, executor));
+            double[][] costs = costs(combinedProfiles);
+
+            // Garder les meilleurs fronts, le dernier départagé par encombrement
+            List<short[]> nextPopulation = new ArrayList<>(populationSize);
+            List<MovementProfile> nextProfiles = new ArrayList<>(populationSize);
+            int[] nextRanks = new int[populationSize];
+            double[] nextCrowding = new double[populationSize];
+            List<int[]> fronts = NonDominatedSorting.sort(costs);
+            for (int f = 0; f < fronts.size() && nextPopulation.size() < populationSize; f++) {
+                int[] front = fronts.get(f);
+                double[] distance = NonDominatedSorting.crowdingDistance(costs, front);
+                Integer[] order = new Integer[front.length];
+                for (int i = 0; i < order.length; i++) {
+                    order[i] = i;
+                }
+                // Tri stable : à encombrement égal, l'ordre des indices est conservé
+                Arrays.sort(order, Comparator.comparingDouble((Integer i) -> distance[i]).reversed());
+                for (int i = 0; i < order.length && nextPopulation.size() < populationSize; i++) {
+                    int index = front[order[i]];
+                    nextRanks[nextPopulation.size()] = f;
+                    nextCrowding[nextPopulation.size()] = distance[order[i]];
+                    nextPopulation.add(combined.get(index));
+                    nextProfiles.add(combinedProfiles.get(index));
+                }
+            }
+            population = nextPopulation;
+            profiles = nextProfiles;
+            ranks = nextRanks;
+            crowding = nextCrowding;
+        }
+
+        // Front de Pareto de la dernière population
+        List<ParetoSolution> front = new ArrayList<>();
+        for (int i : NonDominatedSorting.sort(costs(profiles)).get(0)) {
+            front.add(new ParetoSolution(encoding.decode(population.get(i), "Pareto " + (front.size() + 1)),
+                profiles.get(i), weights.score(profiles.get(i))));
+        }
+        front.sort(Comparator.comparingDouble(ParetoSolution::score));
+        lastFront = List.copyOf(front);
+
+        System.out.printf("=== Front de Pareto : %d dispositions ===%n", front.size());
+        for (ParetoSolution solution : front) {
+            StringBuilder line = new StringBuilder(String.format("Score %.2f", solution.score()));
+            for (ParetoObjective objective : objectives) {
+                line.append(String.format(" | %s %.1f", objective, solution.value(objective)));
+            }
+            System.out.println(line);
+        }
+
+        ParetoSolution best = front.get(0);
+        System.out.printf("%nScore final : %.2f%n", best.score());
+        return new KeyboardLayout("Optimized", best.layout().characterToKeyMap());
+    }
+
+    /**
+     * Compte les mouvements de chaque individu sur le pool de threads.
+     */
+    private List<MovementProfile> profile(List<short[]> genomes, LayoutEncoding encoding, ExecutorService executor) {
+        return KeyboardOptimizer.runParallel(executor, threads, genomes.size(),
+            i -> evaluator.profileLayout(encoding.decode(genomes.get(i), "Optimized")));
+    }
+
+    /**
+     * Retourne les coûts à minimiser de chaque individu, un par critère.
+     */
+    private double[][] costs(List<MovementProfile> profiles) {
+        double[][] costs = new double[profiles.size()][objectives.size()];
+        for (int i = 0; i < profiles.size(); i++) {
+            for (int k = 0; k < objectives.size(); k++) {
+                costs[i][k] = objectives.get(k).cost(profiles.get(i));
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Calcule le rang de front et la distance d'encombrement de chaque individu.
+     */
+    private static void rank(double[][] costs, int[] ranks, double[] crowding) {
+        List<int[]> fronts = NonDominatedSorting.sort(costs);
+        for (int f = 0; f < fronts.size(); f++) {
+            int[] front = fronts.get(f);
+            double[] distance = NonDominatedSorting.crowdingDistance(costs, front);
+            for (int i = 0; i < front.length; i++) {
+                ranks[front[i]] = f;
+                crowding[front[i]] = distance[i];
+            }
+        }
+    }
+
+    /**
+     * Tournoi binaire : le meilleur rang l'emporte, puis le plus grand encombrement.
+     */
+    private static int select(int[] ranks, double[] crowding, SplittableRandom random) {
+        int a = random.nextInt(ranks.length);
+        int b = random.nextInt(ranks.length);
+        if (ranks[a] != ranks[b]) {
+            return ranks[a] < ranks[b] ? a : b;
+        }
+        return crowding[b] > crowding[a] ? b : a;
+    }
+}
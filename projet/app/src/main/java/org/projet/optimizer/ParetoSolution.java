@@ -0,0 +1,21 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.MovementProfile;
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Disposition du front de Pareto : aucune autre disposition trouvée n'est
+ * au moins aussi bonne sur tous les critères et meilleure sur l'un d'eux.
+ *
+ * @param layout la disposition
+ * @param profile ses comptages, dont se déduit chaque critère
+ * @param score son score pondéré par les poids de l'évaluateur
+ */
+public record ParetoSolution(KeyboardLayout layout, MovementProfile profile, double score) {
+    /**
+     * Retourne la valeur d'un critère pour cette disposition.
+     */
+    public double value(ParetoObjective objective) {
+        return objective.measure(profile);
+    }
+}
@@ -0,0 +1,82 @@
+package org.projet.optimizer;
+
+import java.nio.ShortBuffer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Mesures de diversité et élimination des doublons d'une population de
+ * codages par permutation (voir {@link LayoutEncoding}).
+ */
+final class PopulationDiversity {
+    // Tentatives de mutation pour rendre un doublon unique
+    private static final int MAX_ATTEMPTS = 10;
+
+    private PopulationDiversity() {}
+
+    /**
+     * Nombre minimal d'échanges qui transforment un codage en l'autre :
+     * la taille moins le nombre de cycles de la permutation qui les relie.
+     */
+    static int swapDistance(short[] a, short[] b) {
+        int n = a.length;
+        int[] indexInB = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexInB[b[i]] = i;
+        }
+        boolean[] visited = new boolean[n];
+        int cycles = 0;
+        for (int start = 0; start < n; start++) {
+            if (!visited[start]) {
+                cycles++;
+                for (int i = start; !visited[i]; i = indexInB[a[i]]) {
+                    visited[i] = true;
+                }
+            }
+        }
+        return n - cycles;
+    }
+
+    /**
+     * Distance d'échange moyenne entre deux individus distincts de la population.
+     */
+    static double meanSwapDistance(List<short[]> population) {
+        int size = population.size();
+        if (size < 2) {
+            return 0.0;
+        }
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                total += swapDistance(population.get(i), population.get(j));
+            }
+        }
+        return total / (size * (size - 1) / 2.0);
+    }
+
+    /**
+     * Remplace sur place chaque doublon par un mutant qui n'est pas encore
+     * dans la population, dans l'ordre de la liste.
+     * @return le nombre de doublons trouvés
+     */
+    static int replaceDuplicates(List<short[]> population, GeneticOperators operators, SplittableRandom random) {
+        Set<ShortBuffer> seen = new HashSet<>();
+        int duplicates = 0;
+        for (int i = 0; i < population.size(); i++) {
+            short[] genome = population.get(i);
+            if (seen.add(ShortBuffer.wrap(genome))) {
+                continue;
+            }
+            duplicates++;
+            short[] mutant = genome;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && seen.contains(ShortBuffer.wrap(mutant)); attempt++) {
+                mutant = operators.mutateChild(mutant, random);
+            }
+            seen.add(ShortBuffer.wrap(mutant));
+            population.set(i, mutant);
+        }
+        return duplicates;
+    }
+}
@@ -0,0 +1,20 @@
+package org.projet.optimizer;
+
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Résultat d'un départ d'une optimisation à départs multiples.
+ *
+ * @param start numéro du départ
+ * @param seed graine du départ
+ * @param initialScore score de la disposition de départ
+ * @param finalScore score de la disposition obtenue
+ * @param layout disposition obtenue
+ */
+public record StartResult(
+    int start,
+    long seed,
+    double initialScore,
+    double finalScore,
+    KeyboardLayout layout
+) {}
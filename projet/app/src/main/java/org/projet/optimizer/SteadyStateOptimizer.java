@@ -0,0 +1,325 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.IncrementalEvaluation;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+import java.nio.ShortBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Optimise une disposition de clavier par un algorithme génétique
+ * stationnaire : chaque étape produit quelques enfants, qui remplacent les
+ * pires individus de la population s'ils sont meilleurs.
+ *
+ * <p>Contrairement à {@link KeyboardOptimizer}, les parents conservés ne sont
+ * jamais réévalués et le meilleur individu ne peut pas être perdu : seul le
+ * pire est remplacé. Chaque individu garde son {@link IncrementalEvaluation} ;
+ * un enfant proche du plus proche de ses parents est noté en rejouant sur une
+ * copie de celle-ci les échanges qui les séparent, au lieu d'une évaluation
+ * complète de la table.
+ */
+public class SteadyStateOptimizer implements LayoutOptimizer {
+    private final LayoutEvaluator evaluator;
+    private final int populationSize;
+    private final long maxEvaluations;
+    private final double mutationRate;
+    private final double crossoverRate;
+    private long seed;
+    private int threads;
+    private int offspring = 8;
+    private Crossover crossover = Crossover.PMX;
+    private LayoutConstraints constraints;
+    private SteadyStateStats lastStats;
+
+    // Arrêt après autant de générations équivalentes sans amélioration que KeyboardOptimizer
+    private static final int STAGNANT_GENERATIONS = 20;
+
+    /**
+     * Crée un algorithme stationnaire de 50 individus, avec un budget de
+     * 5 000 évaluations, soit 100 générations de {@link KeyboardOptimizer}.
+     */
+    public SteadyStateOptimizer(LayoutEvaluator evaluator) {
+        this(evaluator, 50, 5_000, 0.2, 0.9);
+    }
+
+    /**
+     * Crée un algorithme stationnaire avec des paramètres personnalisés.
+     * @param maxEvaluations nombre maximal d'individus produits, y compris les
+     *     enfants écartés sans évaluation car déjà présents
+     */
+    public SteadyStateOptimizer(
+        LayoutEvaluator evaluator,
+        int populationSize,
+        long maxEvaluations,
+        double mutationRate,
+        double crossoverRate
+    ) {
+        if (populationSize < 2 || maxEvaluations < 1) {
+            throw new IllegalArgumentException("Paramètres invalides : " + populationSize + " individus, "
+                + maxEvaluations + " évaluations");
+        }
+        this.evaluator = evaluator;
+        this.populationSize = populationSize;
+        this.maxEvaluations = maxEvaluations;
+        this.mutationRate = mutationRate;
+        this.crossoverRate = crossoverRate;
+        this.seed = new SplittableRandom().nextLong();
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Fixe la graine du générateur aléatoire. Pour une même graine, le résultat
+     * est identique quel que soit le nombre de threads.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Fixe le nombre de threads qui produisent et évaluent les enfants d'une étape.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif : " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Fixe le nombre d'enfants produits à chaque étape (8 par défaut). Moins
+     * d'enfants rend la sélection plus réactive, plus d'enfants occupe mieux
+     * les threads.
+     */
+    public void setOffspring(int offspring) {
+        if (offspring < 1 || offspring >= populationSize) {
+            throw new IllegalArgumentException("Nombre d'enfants invalide : " + offspring);
+        }
+        this.offspring = offspring;
+    }
+
+    /**
+     * Choisit l'opérateur de croisement (PMX par défaut).
+     */
+    public void setCrossover(Crossover crossover) {
+        this.crossover = Objects.requireNonNull(crossover);
+    }
+
+    /**
+     * Restreint les dispositions explorées (voir {@link KeyboardOptimizer#setConstraints}).
+     */
+    public void setConstraints(LayoutConstraints constraints) {
+        this.constraints = constraints;
+    }
+
+    /**
+     * Retourne les statistiques du dernier appel à {@link #optimize(KeyboardLayout)}.
+     */
+    public SteadyStateStats getLastStats() {
+        return lastStats;
+    }
+
+    @Override
+    public KeyboardLayout optimize(KeyboardLayout initial) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return optimize(initial, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private KeyboardLayout optimize(KeyboardLayout initial, ExecutorService executor) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LayoutEncoding encoding = new LayoutEncoding(initial);
+        ConstraintMask mask = constraints != null ? constraints.compile(encoding) : null;
+        GeneticOperators operators = new GeneticOperators(crossover, crossoverRate, mutationRate, null, 0.0, mask);
+        // Au-delà, rejouer les échanges coûte autant qu'une évaluation complète
+        int maxIncrementalSwaps = Math.max(1, encoding.size() / 4);
+
+        // Population initiale : la disposition de départ et des mutants distincts,
+        // tous évalués par échanges depuis la disposition de départ
+        Individual origin = new Individual(encoding.identity(), evaluator.incremental(initial));
+        double initialScore = origin.score();
+        System.out.printf("Score initial : %.2f%n%n", initialScore);
+
+        List<short[]> genomes = new ArrayList<>();
+        genomes.add(origin.genome());
+        SplittableRandom[] randoms = new SplittableRandom[populationSize - 1];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = random.split();
+        }
+        genomes.addAll(KeyboardOptimizer.runParallel(executor, threads, randoms.length,
+            i -> operators.mutateChild(origin.genome(), randoms[i])));
+        PopulationDiversity.replaceDuplicates(genomes, operators, random.split());
+
+        List<Individual> population = new ArrayList<>(populationSize);
+        population.add(origin);
+        population.addAll(KeyboardOptimizer.runParallel(executor, threads, populationSize - 1,
+            i -> derive(origin, genomes.get(i + 1), encoding, Integer.MAX_VALUE)));
+        Set<ShortBuffer> present = new HashSet<>();
+        for (Individual individual : population) {
+            present.add(ShortBuffer.wrap(individual.genome()));
+        }
+
+        long evaluations = populationSize;
+        long incremental = populationSize - 1;
+        long steps = 0;
+        long replacements = 0;
+        long duplicates = 0;
+        Individual best = population.get(0);
+        for (Individual individual : population) {
+            if (individual.score() < best.score()) {
+                best = individual;
+            }
+        }
+        // Le budget et la stagnation comptent aussi les doublons écartés : sans
+        // cela, une population dont tous les enfants sont des doublons (taux
+        // nuls, contraintes très restrictives) ne s'arrêterait jamais
+        long produced = evaluations;
+        long lastImprovement = produced;
+
+        while (produced < maxEvaluations
+            && produced - lastImprovement <= (long) STAGNANT_GENERATIONS * populationSize) {
+            double[] scores = new double[populationSize];
+            for (int i = 0; i < populationSize; i++) {
+                scores[i] = population.get(i).score();
+            }
+
+            // Chaque couple d'enfants est produit et évalué par une tâche indépendante
+            int pairCount = (int) Math.min((offspring + 1) / 2, (maxEvaluations - produced + 1) / 2);
+            SplittableRandom[] pairRandoms = new SplittableRandom[pairCount];
+            for (int i = 0; i < pairCount; i++) {
+                pairRandoms[i] = random.split();
+            }
+            List<Individual> parents = population;
+            List<Child[]> broods = KeyboardOptimizer.runParallel(executor, threads, pairCount, i -> {
+                Individual parent1 = parents.get(GeneticOperators.selectIndex(scores, pairRandoms[i]));
+                Individual parent2 = parents.get(GeneticOperators.selectIndex(scores, pairRandoms[i]));
+                short[][] children = operators.reproduce(parent1.genome(), parent2.genome(), pairRandoms[i]);
+                Child[] brood = new Child[children.length];
+                for (int c = 0; c < children.length; c++) {
+                    // Un enfant déjà présent, copie d'un parent notamment, n'est pas évalué
+                    brood[c] = present.contains(ShortBuffer.wrap(children[c]))
+                        ? new Child(null, false)
+                        : evaluate(children[c], parent1, parent2, encoding, maxIncrementalSwaps);
+                }
+                return brood;
+            });
+            steps++;
+
+            // Remplacer le pire individu, dans l'ordre des tâches
+            for (Child[] brood : broods) {
+                for (Child child : brood) {
+                    produced++;
+                    Individual individual = child.individual();
+                    if (individual != null) {
+                        evaluations++;
+                        if (child.incremental()) {
+                            incremental++;
+                        }
+                    }
+                    if (individual == null || present.contains(ShortBuffer.wrap(individual.genome()))) {
+                        duplicates++;
+                        continue;
+                    }
+                    int worst = 0;
+                    for (int i = 1; i < populationSize; i++) {
+                        if (population.get(i).score() > population.get(worst).score()) {
+                            worst = i;
+                        }
+                    }
+                    if (individual.score() < population.get(worst).score()) {
+                        present.remove(ShortBuffer.wrap(population.get(worst).genome()));
+                        present.add(ShortBuffer.wrap(individual.genome()));
+                        population.set(worst, individual);
+                        replacements++;
+                        if (individual.score() < best.score()) {
+                            best = individual;
+                            lastImprovement = produced;
+                        }
+                    }
+                }
+            }
+        }
+
+        KeyboardOptimizer.printChanges(encoding, best.genome());
+        System.out.printf("%nÉvaluations : %d (%d incrémentales), %d remplacements%n",
+            evaluations, incremental, replacements);
+        System.out.printf("%nScore final : %.2f%n", best.score());
+
+        lastStats = new SteadyStateStats(steps, evaluations, incremental, replacements, duplicates,
+            initialScore, best.score(), Duration.ofNanos(System.nanoTime() - start));
+        return encoding.decode(best.genome(), "Optimized");
+    }
+
+    /**
+     * Évalue un enfant depuis le plus proche de ses parents.
+     */
+    private Child evaluate(
+        short[] genome,
+        Individual parent1,
+        Individual parent2,
+        LayoutEncoding encoding,
+        int maxIncrementalSwaps
+    ) {
+        int distance1 = PopulationDiversity.swapDistance(parent1.genome(), genome);
+        int distance2 = PopulationDiversity.swapDistance(parent2.genome(), genome);
+        Individual parent = distance1 <= distance2 ? parent1 : parent2;
+        return new Child(derive(parent, genome, encoding, maxIncrementalSwaps),
+            Math.min(distance1, distance2) <= maxIncrementalSwaps);
+    }
+
+    /**
+     * Évalue un codage par échanges depuis celui d'un parent, ou complètement
+     * s'ils sont séparés par plus de {@code maxSwaps} échanges.
+     */
+    private Individual derive(Individual parent, short[] genome, LayoutEncoding encoding, int maxSwaps) {
+        if (PopulationDiversity.swapDistance(parent.genome(), genome) > maxSwaps) {
+            return new Individual(genome, evaluator.incremental(encoding.decode(genome, "Optimized")));
+        }
+        IncrementalEvaluation state = parent.state().copy();
+        short[] current = parent.genome().clone();
+        // Caractère occupant chaque emplacement
+        int[] occupant = new int[current.length];
+        for (int c = 0; c < current.length; c++) {
+            occupant[current[c]] = c;
+        }
+        for (int c = 0; c < current.length; c++) {
+            if (current[c] != genome[c]) {
+                // Amener c à son emplacement : chaque échange place au moins un caractère
+                int other = occupant[genome[c]];
+                state.applySwap(encoding.character(c), encoding.character(other));
+                occupant[current[c]] = other;
+                occupant[genome[c]] = c;
+                current[other] = current[c];
+                current[c] = genome[c];
+            }
+        }
+        return new Individual(genome, state);
+    }
+
+    /**
+     * Individu de la population et son évaluation incrémentale.
+     */
+    private record Individual(short[] genome, IncrementalEvaluation state) {
+        double score() {
+            return state.score();
+        }
+    }
+
+    /**
+     * Enfant d'une étape : son évaluation, absente s'il était déjà dans la
+     * population, et si elle a été obtenue par échanges depuis un parent.
+     */
+    private record Child(Individual individual, boolean incremental) {}
+}
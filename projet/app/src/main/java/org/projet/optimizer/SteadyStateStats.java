@@ -0,0 +1,33 @@
+package org.projet.optimizer;
+
+import java.time.Duration;
+
+/**
+ * Statistiques d'un algorithme génétique stationnaire.
+ *
+ * @param steps nombre d'étapes de reproduction
+ * @param evaluations nombre d'individus évalués, population initiale comprise
+ * @param incrementalEvaluations évaluations obtenues par échanges depuis un parent
+ * @param replacements enfants qui ont remplacé le pire individu
+ * @param duplicates enfants écartés car déjà présents dans la population
+ * @param initialScore score de la disposition de départ
+ * @param bestScore meilleur score atteint
+ * @param elapsed durée de l'optimisation
+ */
+public record SteadyStateStats(
+    long steps,
+    long evaluations,
+    long incrementalEvaluations,
+    long replacements,
+    long duplicates,
+    double initialScore,
+    double bestScore,
+    Duration elapsed
+) {
+    /**
+     * Retourne la proportion d'évaluations incrémentales.
+     */
+    public double incrementalRate() {
+        return evaluations > 0 ? (double) incrementalEvaluations / evaluations : 0.0;
+    }
+}
@@ -0,0 +1,21 @@
+package org.projet.optimizer;
+
+/**
+ * Opérateur de variation de l'algorithme génétique, choisi pour chaque couple
+ * de parents par la sélection adaptative des opérateurs
+ * (voir {@link KeyboardOptimizer#setAdaptiveOperators(boolean)}).
+ */
+public enum VariationOperator {
+    /** Un échange de deux caractères dans chaque parent. */
+    SWAP,
+    /** De deux à quatre échanges successifs dans chaque parent. */
+    MULTI_SWAP,
+    /** Croisement PMX des deux parents (voir {@link Crossover#PMX}). */
+    PMX,
+    /** Croisement OX des deux parents (voir {@link Crossover#OX}). */
+    OX,
+    /** Croisement CX des deux parents (voir {@link Crossover#CX}). */
+    CX,
+    /** Mutation guidée par les pénalités de chaque parent (voir {@link GuidedMutation}). */
+    GUIDED
+}
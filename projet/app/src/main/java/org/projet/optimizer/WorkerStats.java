@@ -0,0 +1,22 @@
+package org.projet.optimizer;
+
+/**
+ * Suivi d'un travailleur par le coordinateur d'une optimisation répartie.
+ *
+ * @param worker numéro du travailleur
+ * @param connections nombre de connexions, reconnexions comprises
+ * @param epochs nombre d'époques reçues
+ * @param generation dernière génération annoncée
+ * @param bestScore meilleur score annoncé
+ * @param connected vrai si le travailleur est connecté
+ * @param done vrai si le travailleur a terminé son optimisation
+ */
+public record WorkerStats(
+    int worker,
+    int connections,
+    int epochs,
+    int generation,
+    double bestScore,
+    boolean connected,
+    boolean done
+) {}
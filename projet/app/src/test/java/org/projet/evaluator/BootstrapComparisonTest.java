@@ -0,0 +1,91 @@
+package org.projet.evaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.model.KeyboardLayout;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests unitaires pour la classe BootstrapComparison.
+ */
+public class BootstrapComparisonTest {
+    private List<Map<String, Long>> documents;
+    private Map<String, Long> corpus;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        String[] texts = {
+            "the rate at which a tree eats your hat",
+            "tu te tais `a ta tête",
+            "a tree at the start, a hat at the end",
+            "where were you when the waters rose",
+            "rustre ou tortue, rues et routes"
+        };
+        documents = Arrays.stream(texts).map(TestLayouts::frequencies).toList();
+        corpus = TestLayouts.frequencies(texts);
+        layout = TestLayouts.layout();
+    }
+
+    @Test
+    @DisplayName("Test de l'écart observé identique à l'évaluation du corpus entier")
+    void testObservedDifferenceMatchesCorpus() {
+        KeyboardLayout other = TestLayouts.swapped(TestLayouts.swapped(layout, 'e', 'w'), 't', 'o');
+        BootstrapComparison comparison = new BootstrapComparison(
+            documents, ScoringWeights.defaults(), layout, other);
+        LayoutEvaluator evaluator = new LayoutEvaluator(corpus);
+
+        assertEquals(documents.size(), comparison.getDocumentCount());
+        double expected = evaluator.scoreLayout(other) - evaluator.scoreLayout(layout);
+        assertEquals(expected, comparison.observedDifference(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test de l'intervalle reproductible et ordonné")
+    void testIntervalIsReproducible() {
+        KeyboardLayout other = TestLayouts.swapped(layout, 'e', 'w');
+        BootstrapComparison comparison = new BootstrapComparison(
+            documents, ScoringWeights.defaults(), layout, other);
+        comparison.setSeed(7);
+        BootstrapResult result = comparison.compare(500, 0.9);
+        comparison.setSeed(7);
+        assertEquals(result, comparison.compare(500, 0.9));
+
+        assertEquals(500, result.resamples());
+        assertTrue(result.lower() <= result.meanDifference());
+        assertTrue(result.meanDifference() <= result.upper());
+        assertTrue(result.standardError() >= 0.0);
+        assertTrue(result.secondBetterShare() >= 0.0 && result.secondBetterShare() <= 1.0);
+        // Les documents tirés ne couvrent pas tous les mêmes n-grammes : l'écart varie
+        assertTrue(result.upper() > result.lower());
+    }
+
+    @Test
+    @DisplayName("Test d'une disposition identique sans écart significatif")
+    void testIdenticalLayouts() {
+        BootstrapComparison comparison = new BootstrapComparison(
+            documents, ScoringWeights.defaults(), layout, layout);
+        BootstrapResult result = comparison.compare(200, 0.95);
+        assertEquals(0.0, result.observedDifference());
+        assertEquals(0.0, result.lower());
+        assertEquals(0.0, result.upper());
+        assertEquals(0.0, result.secondBetterShare());
+        assertFalse(result.isSignificant());
+    }
+
+    @Test
+    @DisplayName("Test des paramètres invalides")
+    void testInvalidArguments() {
+        BootstrapComparison comparison = new BootstrapComparison(
+            documents, ScoringWeights.defaults(), layout, layout);
+        assertThrows(IllegalArgumentException.class, () -> comparison.compare(0, 0.95));
+        assertThrows(IllegalArgumentException.class, () -> comparison.compare(100, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new BootstrapComparison(
+            List.of(), List.of(), ScoringWeights.defaults()));
+    }
+}
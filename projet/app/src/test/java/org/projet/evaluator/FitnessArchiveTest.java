@@ -0,0 +1,109 @@
+package org.projet.evaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.model.KeyboardLayout;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe FitnessArchive.
+ */
+public class FitnessArchiveTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.layout();
+    }
+
+    @Test
+    @DisplayName("Test des scores retrouvés après réouverture de l'archive")
+    void testScoresPersistAcrossRuns(@TempDir Path directory) throws IOException {
+        List<KeyboardLayout> layouts = List.of(layout, TestLayouts.swapped(layout, 'a', 'e'), TestLayouts.swapped(layout, 't', 'h'));
+        double[] expected;
+        try (FitnessArchive archive = FitnessArchive.open(directory, evaluator)) {
+            expected = archive.scoreAll(layouts);
+            assertEquals(3, archive.getMisses());
+            assertEquals(3, archive.size());
+        }
+        
+        try (FitnessArchive archive = FitnessArchive.open(directory, evaluator)) {
+            assertArrayEquals(expected, archive.scoreAll(layouts));
+            assertEquals(3, archive.getHits());
+            assertEquals(0, archive.getMisses());
+            assertEquals(evaluator.scoreLayout(layouts.get(1)), archive.get(layouts.get(1)).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Test d'une archive distincte pour d'autres poids")
+    void testArchiveIsKeyedByWeights(@TempDir Path directory) throws IOException {
+        LayoutEvaluator other = evaluator.withWeights(new ScoringWeights("autres", Map.of(), 1.0));
+        assertNotEquals(evaluator.fingerprint(), other.fingerprint());
+        
+        try (FitnessArchive archive = FitnessArchive.open(directory, evaluator)) {
+            archive.score(layout);
+        }
+        try (FitnessArchive archive = FitnessArchive.open(directory, other)) {
+            assertTrue(archive.get(layout).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Test d'un enregistrement incomplet ignoré")
+    void testPartialRecordIsIgnored(@TempDir Path directory) throws IOException {
+        try (FitnessArchive archive = FitnessArchive.open(directory, evaluator)) {
+            archive.score(layout);
+        }
+        Path file;
+        try (var files = Files.list(directory)) {
+            file = files.findFirst().orElseThrow();
+        }
+        Files.write(file, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+        
+        try (FitnessArchive archive = FitnessArchive.open(directory, evaluator)) {
+            assertEquals(1, archive.size());
+            assertEquals(evaluator.scoreLayout(layout), archive.get(layout).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Test des ajouts de deux archives ouvertes sur le même fichier")
+    void testConcurrentAppendsStayAligned(@TempDir Path directory) throws IOException {
+        KeyboardLayout second = TestLayouts.swapped(layout, 'a', 'e');
+        KeyboardLayout third = TestLayouts.swapped(layout, 't', 'h');
+        try (FitnessArchive first = FitnessArchive.open(directory, evaluator)) {
+            first.score(layout);
+            first.flush();
+            
+            Path file;
+            try (var files = Files.list(directory)) {
+                file = files.findFirst().orElseThrow();
+            }
+            try (FitnessArchive other = FitnessArchive.open(directory, evaluator)) {
+                assertEquals(1, other.size());
+                other.score(second);
+            }
+            // Enregistrement interrompu par un arrêt brutal d'un autre processus
+            Files.write(file, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+            first.score(third);
+        }
+        
+        try (FitnessArchive archive = FitnessArchive.open(directory, evaluator)) {
+            assertEquals(3, archive.size());
+            assertEquals(evaluator.scoreLayout(second), archive.get(second).orElseThrow());
+            assertEquals(evaluator.scoreLayout(third), archive.get(third).orElseThrow());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.projet.evaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.model.KeyboardLayout;
+import java.util.SplittableRandom;
+
+/**
+ * Tests unitaires pour la classe IncrementalEvaluation.
+ */
+public class IncrementalEvaluationTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.layout();
+    }
+
+    @Test
+    @DisplayName("Test du score initial identique à l'évaluation complète")
+    void testInitialScore() {
+        assertEquals(evaluator.scoreLayout(layout), evaluator.incremental(layout).score());
+    }
+
+    @Test
+    @DisplayName("Test des échanges incrémentaux identiques à l'évaluation complète")
+    void testSwapsMatchFullEvaluation() {
+        IncrementalEvaluation incremental = evaluator.incremental(layout);
+        KeyboardLayout current = layout;
+        char[] chars = "azertyhuso7 w".toCharArray();
+        SplittableRandom random = new SplittableRandom(5);
+        
+        for (int step = 0; step < 100; step++) {
+            char c1 = chars[random.nextInt(chars.length)];
+            char c2 = chars[random.nextInt(chars.length)];
+            KeyboardLayout next = TestLayouts.swapped(current, c1, c2);
+            double expected = evaluator.scoreLayout(next);
+            
+            assertEquals(expected - incremental.score(), incremental.deltaForSwap(c1, c2), 1e-9);
+            assertEquals(expected, incremental.applySwap(c1, c2));
+            current = next;
+        }
+        assertEquals(current.characterToKeyMap(), incremental.layout().characterToKeyMap());
+    }
+
+    @Test
+    @DisplayName("Test de la copie indépendante de l'évaluation")
+    void testCopyIsIndependent() {
+        IncrementalEvaluation original = evaluator.incremental(layout);
+        double score = original.score();
+        IncrementalEvaluation copy = original.copy();
+        
+        copy.applySwap('a', 'e');
+        copy.applySwap('t', 'h');
+        assertEquals(score, original.score());
+        assertEquals(layout.characterToKeyMap(), original.layout().characterToKeyMap());
+        assertEquals(evaluator.scoreLayout(TestLayouts.swapped(TestLayouts.swapped(layout, 'a', 'e'), 't', 'h')), copy.score());
+    }
+
+    @Test
+    @DisplayName("Test des échanges incrémentaux avec des majuscules tapées via Shift")
+    void testSwapsWithShiftMatchFullEvaluation() {
+        LayoutEvaluator shiftEvaluator = new LayoutEvaluator(
+            TestLayouts.frequencies("⇧the ⇧rate at ⇧which ⇧you ⇧sat ⇧ou ⇧hors ⇧"));
+        IncrementalEvaluation incremental = shiftEvaluator.incremental(layout);
+        assertEquals(shiftEvaluator.scoreLayout(layout), incremental.score());
+
+        KeyboardLayout current = layout;
+        char[] chars = "azertyhuso w".toCharArray();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int step = 0; step < 100; step++) {
+            char c1 = chars[random.nextInt(chars.length)];
+            char c2 = chars[random.nextInt(chars.length)];
+            KeyboardLayout next = TestLayouts.swapped(current, c1, c2);
+            double expected = shiftEvaluator.scoreLayout(next);
+
+            assertEquals(expected - incremental.score(), incremental.deltaForSwap(c1, c2), 1e-9);
+            assertEquals(expected, incremental.applySwap(c1, c2), 1e-9);
+            current = next;
+        }
+    }
+}
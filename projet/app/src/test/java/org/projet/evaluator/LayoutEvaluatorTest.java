@@ -3,11 +3,14 @@ package org.projet.evaluator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assumptions;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.projet.model.KeyboardLayout;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.List;
 
 /**
  * Tests unitaires pour la classe LayoutEvaluator.
@@ -83,6 +86,153 @@ public class LayoutEvaluatorTest {
         }
     }
 
+    @Test
+    @DisplayName("Test du calcul des charges à partir des unigrammes")
+    void testFingerLoadsFromUnigrams() {
+        evaluator.evaluateLayout(layout);
+        Map<KeyboardLayout.Finger, Double> fingerLoads = evaluator.getFingerLoads();
+        
+        // e, t et a : 100 + 90 + 80 frappes
+        assertEquals(100 * 100.0 / 270, fingerLoads.get(KeyboardLayout.Finger.LEFT_MIDDLE), 1e-9);
+        assertEquals(90 * 100.0 / 270, fingerLoads.get(KeyboardLayout.Finger.LEFT_INDEX), 1e-9);
+        assertEquals(80 * 100.0 / 270, fingerLoads.get(KeyboardLayout.Finger.LEFT_PINKY), 1e-9);
+        assertEquals(100.0, evaluator.getHandLoads().get(KeyboardLayout.Hand.LEFT), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour incrémentale des charges après un échange")
+    void testIncrementalFingerLoads() {
+        evaluator.evaluateLayout(layout);
+        double incrementalPenalty = evaluator.applySwapToFingerLoads(layout, 'e', 'y');
+        Map<KeyboardLayout.Finger, Double> incrementalLoads = evaluator.getFingerLoads();
+        
+        Map<Character, KeyboardLayout.Key> swappedKeys = new HashMap<>(layout.characterToKeyMap());
+        swappedKeys.put('e', layout.getKey('y'));
+        swappedKeys.put('y', layout.getKey('e'));
+        evaluator.evaluateLayout(new KeyboardLayout("Swapped", swappedKeys));
+        
+        assertEquals(evaluator.getFingerLoads(), incrementalLoads);
+        assertTrue(incrementalPenalty > 0);
+    }
+
+    @Test
+    @DisplayName("Test de Shift tenu par l'auriculaire opposé à la touche majuscule")
+    void testShiftHeldByOppositePinky() {
+        Map<String, Long> ngramFrequencies = new HashMap<>();
+        ngramFrequencies.put("⇧", 30L);
+        ngramFrequencies.put("e", 100L);
+        ngramFrequencies.put("y", 50L);
+        ngramFrequencies.put("⇧e", 20L);
+        ngramFrequencies.put("⇧y", 10L);
+        LayoutEvaluator shiftEvaluator = new LayoutEvaluator(ngramFrequencies);
+        shiftEvaluator.evaluateLayout(layout);
+        Map<KeyboardLayout.Finger, Double> fingerLoads = shiftEvaluator.getFingerLoads();
+
+        // ⇧e (main gauche) : auriculaire droit ; ⇧y (main droite) : auriculaire gauche
+        assertEquals(20 * 100.0 / 180, fingerLoads.get(KeyboardLayout.Finger.RIGHT_PINKY), 1e-9);
+        assertEquals(10 * 100.0 / 180, fingerLoads.get(KeyboardLayout.Finger.LEFT_PINKY), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test de l'évaluation approchée et de sa borne d'erreur")
+    void testApproximateEvaluation() {
+        Map<String, Long> frequencies = new HashMap<>();
+        frequencies.put("e", 100L);
+        frequencies.put("er", 60L);
+        frequencies.put("ty", 30L);
+        frequencies.put("az", 8L);
+        frequencies.put("ze", 2L);
+        frequencies.put("ert", 20L);
+        frequencies.put("aze", 1L);
+        LayoutEvaluator exact = new LayoutEvaluator(frequencies);
+        
+        LayoutEvaluator full = exact.approximate(1.0);
+        assertFalse(full.isApproximate());
+        assertEquals(exact.evaluateLayout(layout), full.evaluateLayout(layout), 1e-9);
+        
+        LayoutEvaluator truncated = exact.approximate(0.9);
+        assertTrue(truncated.isApproximate());
+        // 10 occurrences de bigrammes et 1 de trigramme écartées, poids max 2.0
+        assertEquals(2.0 * (10 + 2 * 1), truncated.getMaxApproximationError(), 1e-9);
+        double error = Math.abs(exact.evaluateLayout(layout) - truncated.evaluateLayout(layout));
+        assertTrue(error <= truncated.getMaxApproximationError());
+    }
+
+    @Test
+    @DisplayName("Test du balayage de poids sans réévaluation")
+    void testWeightSweep() {
+        Map<String, Long> frequencies = new HashMap<>(ngramFrequencies);
+        frequencies.put("rt", 60L);
+        frequencies.put("ty", 30L);
+        frequencies.put("ert", 20L);
+        LayoutEvaluator testEvaluator = new LayoutEvaluator(frequencies);
+        
+        Map<MovementType, Double> custom = new EnumMap<>(ScoringWeights.defaults().movementWeights());
+        custom.put(MovementType.HAND_ALTERNATION, -3.0);
+        List<ScoringWeights> weightSets = List.of(
+            ScoringWeights.defaults(),
+            new ScoringWeights("alternance", custom, 0.5)
+        );
+        
+        WeightSweep sweep = new WeightSweep(testEvaluator, List.of(layout));
+        double[][] scores = sweep.scores(weightSets);
+        for (int w = 0; w < weightSets.size(); w++) {
+            double expected = testEvaluator.withWeights(weightSets.get(w)).evaluateLayout(layout);
+            assertEquals(expected, scores[w][0], 1e-9);
+        }
+        assertEquals(60L, testEvaluator.profileLayout(layout).count(MovementType.SAME_FINGER));
+    }
+
+    @Test
+    @DisplayName("Test de l'évaluation parallèle identique à l'évaluation séquentielle")
+    void testParallelEvaluationIsReproducible() {
+        Map<String, Long> frequencies = new HashMap<>();
+        String chars = "azerty";
+        long count = 1;
+        for (char c1 : chars.toCharArray()) {
+            frequencies.put(String.valueOf(c1), count++);
+            for (char c2 : chars.toCharArray()) {
+                frequencies.put("" + c1 + c2, count++);
+                for (char c3 : chars.toCharArray()) {
+                    frequencies.put("" + c1 + c2 + c3, count++);
+                }
+            }
+        }
+        LayoutEvaluator sequential = new LayoutEvaluator(frequencies);
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        LayoutEvaluator parallel = new LayoutEvaluator(frequencies);
+        parallel.setParallelThreshold(1);
+        
+        assertEquals(sequential.evaluateLayout(layout), parallel.evaluateLayout(layout));
+        assertEquals(sequential.getMovementCounts(), parallel.getMovementCounts());
+    }
+
+    @Test
+    @DisplayName("Test du noyau vectorisé identique au noyau scalaire")
+    void testVectorKernelMatchesScalar() {
+        TallyKernel vector = TallyKernels.vector();
+        Assumptions.assumeTrue(vector != null, "Module jdk.incubator.vector absent");
+        
+        Map<String, Long> frequencies = new HashMap<>();
+        String chars = "azertyh";
+        long count = 1;
+        for (char c1 : chars.toCharArray()) {
+            for (char c2 : chars.toCharArray()) {
+                frequencies.put("" + c1 + c2, count++);
+                for (char c3 : chars.toCharArray()) {
+                    frequencies.put("" + c1 + c2 + c3, count++);
+                }
+            }
+        }
+        LayoutEvaluator scalarEvaluator = new LayoutEvaluator(frequencies);
+        scalarEvaluator.useKernel(new ScalarTallyKernel());
+        LayoutEvaluator vectorEvaluator = new LayoutEvaluator(frequencies);
+        vectorEvaluator.useKernel(vector);
+        
+        assertEquals(scalarEvaluator.evaluateLayout(layout), vectorEvaluator.evaluateLayout(layout));
+        assertEquals(scalarEvaluator.getMovementCounts(), vectorEvaluator.getMovementCounts());
+    }
+
     @Test
     @DisplayName("Test avec une disposition vide")
     void testEmptyLayout() {
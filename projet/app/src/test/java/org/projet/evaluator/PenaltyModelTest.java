@@ -0,0 +1,87 @@
+package org.projet.evaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Tests unitaires pour la classe PenaltyModel.
+ */
+public class PenaltyModelTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = new LayoutEvaluator(
+            TestLayouts.frequencies("the rate at which a tree eats your hat, tu te tais a ta tete"));
+        layout = TestLayouts.layout("aerthuso ");
+    }
+
+    private static short[] identity(int size) {
+        short[] genome = new short[size];
+        for (int i = 0; i < size; i++) {
+            genome[i] = (short) i;
+        }
+        return genome;
+    }
+
+    @Test
+    @DisplayName("Test de l'attribution égale aux comptages de l'évaluation")
+    void testAttributionMatchesProfile() {
+        PenaltyModel model = evaluator.penaltyModel(layout);
+        MovementProfile profile = evaluator.profileLayout(layout);
+        long expected = profile.count(MovementType.SAME_FINGER)
+            + profile.count(MovementType.SCISSORS)
+            + profile.count(MovementType.LATERAL_STRETCH);
+        short[] genome = identity(model.size());
+        
+        assertTrue(expected > 0);
+        assertEquals(expected, model.totalPenalty(genome));
+        double sum = 0.0;
+        for (double penalty : model.characterPenalties(genome)) {
+            sum += penalty;
+        }
+        assertEquals(expected, sum, 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> model.totalPenalty(new short[2]));
+    }
+
+    @Test
+    @DisplayName("Test du coût de placement identique après l'échange")
+    void testPlacementMatchesSwap() {
+        PenaltyModel model = evaluator.penaltyModel(layout);
+        short[] genome = identity(model.size());
+        
+        for (int c = 0; c < model.size(); c++) {
+            long[] placements = model.placementPenalties(genome, c);
+            for (int other = 0; other < model.size(); other++) {
+                short[] swapped = genome.clone();
+                swapped[c] = genome[other];
+                swapped[other] = genome[c];
+                assertEquals(placements[genome[other]],
+                    model.placementPenalties(swapped, c)[swapped[c]]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la mise à jour incrémentale des pénalités après un échange")
+    void testApplySwapMatchesAttribution() {
+        PenaltyModel model = evaluator.penaltyModel(layout);
+        short[] genome = identity(model.size());
+        double[] penalties = model.characterPenalties(genome);
+        
+        // Échanges successifs, chacun à partir du codage précédent
+        for (int c1 = 0; c1 < model.size(); c1++) {
+            int c2 = (c1 * 5 + 3) % model.size();
+            model.applySwap(penalties, genome, c1, c2);
+            short slot = genome[c1];
+            genome[c1] = genome[c2];
+            genome[c2] = slot;
+            assertArrayEquals(model.characterPenalties(genome), penalties, 1e-9);
+        }
+    }
+}
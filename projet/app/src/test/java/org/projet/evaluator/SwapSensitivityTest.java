@@ -0,0 +1,106 @@
+package org.projet.evaluator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.projet.model.KeyboardLayout;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe SwapSensitivity.
+ */
+public class SwapSensitivityTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.layout();
+    }
+
+    @Test
+    @DisplayName("Test de la matrice identique aux évaluations complètes")
+    void testMatrixMatchesFullEvaluation() {
+        SwapSensitivity sensitivity = new SwapSensitivity(evaluator, layout);
+        double score = evaluator.scoreLayout(layout);
+        String characters = sensitivity.getCharacters();
+        assertEquals(layout.characterToKeyMap().size(), characters.length());
+        assertEquals(score, sensitivity.getScore(), 1e-9);
+
+        double[][] matrix = sensitivity.getMatrix();
+        for (int i = 0; i < characters.length(); i++) {
+            assertEquals(0.0, matrix[i][i]);
+            for (int j = i + 1; j < characters.length(); j++) {
+                double expected = evaluator.scoreLayout(TestLayouts.swapped(layout, characters.charAt(i), characters.charAt(j))) - score;
+                assertEquals(expected, matrix[i][j], 1e-9,
+                    "Échange " + characters.charAt(i) + characters.charAt(j));
+                assertEquals(matrix[i][j], matrix[j][i]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test du regret égal au gain du meilleur échange")
+    void testRegrets() {
+        SwapSensitivity sensitivity = new SwapSensitivity(evaluator, layout);
+        List<SwapSensitivity.KeyRegret> regrets = sensitivity.regrets();
+        assertEquals(layout.characterToKeyMap().size(), regrets.size());
+        for (int i = 1; i < regrets.size(); i++) {
+            assertTrue(regrets.get(i - 1).regret() >= regrets.get(i).regret());
+        }
+
+        for (SwapSensitivity.KeyRegret regret : regrets) {
+            char c = regret.character();
+            assertEquals(layout.getKey(c), regret.key());
+            double best = Double.POSITIVE_INFINITY;
+            int improving = 0;
+            for (char other : sensitivity.getCharacters().toCharArray()) {
+                if (other == c) continue;
+                best = Math.min(best, sensitivity.delta(c, other));
+                if (sensitivity.delta(c, other) < 0) improving++;
+            }
+            assertEquals(best, regret.bestDelta());
+            assertEquals(best, sensitivity.delta(c, regret.bestPartner()));
+            assertEquals(Math.max(0.0, -best), regret.regret());
+            assertEquals(improving, regret.improvingSwaps());
+        }
+        assertThrows(IllegalArgumentException.class, () -> sensitivity.regret('q'));
+    }
+
+    @Test
+    @DisplayName("Test de l'export CSV et JSON")
+    void testExport(@TempDir Path directory) throws IOException {
+        SwapSensitivity sensitivity = new SwapSensitivity(evaluator, layout);
+        int n = sensitivity.getCharacters().length();
+
+        Path csv = directory.resolve("echanges.csv");
+        sensitivity.writeCsv(csv);
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(n + 1, lines.size());
+        // L'espace est entre guillemets
+        assertTrue(lines.get(0).startsWith(",\" \","));
+        assertTrue(lines.get(1).startsWith("\" \","));
+
+        Path regrets = directory.resolve("regrets.csv");
+        sensitivity.writeRegretsCsv(regrets);
+        assertEquals(n + 1, Files.readAllLines(regrets).size());
+
+        Path json = directory.resolve("echanges.json");
+        sensitivity.writeJson(json);
+        JsonNode root = new ObjectMapper().readTree(json.toFile());
+        assertEquals("Test", root.get("layout").asText());
+        assertEquals(n, root.get("characters").size());
+        assertEquals(n, root.get("deltas").size());
+        assertEquals(sensitivity.getMatrix()[1][2], root.get("deltas").get(1).get(2).asDouble());
+        assertEquals(sensitivity.regrets().get(0).regret(), root.get("regrets").get(0).get("regret").asDouble());
+    }
+}
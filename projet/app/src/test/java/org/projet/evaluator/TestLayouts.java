@@ -0,0 +1,77 @@
+package org.projet.evaluator;
+
+import org.projet.model.KeyboardLayout;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Données de test partagées par les tests de l'évaluateur.
+ */
+final class TestLayouts {
+    /** Court texte mêlant anglais et français, avec un accent grave en touche morte. */
+    static final String TEXT = "the rate at which a tree eats your hat, tu te tais `a ta tête";
+
+    private TestLayouts() {}
+
+    /**
+     * Fréquences des n-grammes de 1 à 3 caractères des textes donnés, cumulées.
+     */
+    static Map<String, Long> frequencies(String... texts) {
+        Map<String, Long> ngramFrequencies = new HashMap<>();
+        for (String text : texts) {
+            for (int length = 1; length <= 3; length++) {
+                for (int i = 0; i + length <= text.length(); i++) {
+                    ngramFrequencies.merge(text.substring(i, i + length), 1L, Long::sum);
+                }
+            }
+        }
+        return ngramFrequencies;
+    }
+
+    /**
+     * Évaluateur des fréquences de {@link #TEXT}.
+     */
+    static LayoutEvaluator evaluator() {
+        return new LayoutEvaluator(frequencies(TEXT));
+    }
+
+    /**
+     * Disposition AZERTY partielle de treize touches, avec l'accent grave en AltGr sur le 7.
+     */
+    static KeyboardLayout layout() {
+        Map<Character, KeyboardLayout.Key> characterToKeyMap = new HashMap<>();
+        characterToKeyMap.put('a', new KeyboardLayout.Key(2, 0, KeyboardLayout.Finger.LEFT_PINKY, 'A', null));
+        characterToKeyMap.put('z', new KeyboardLayout.Key(2, 1, KeyboardLayout.Finger.LEFT_RING, 'Z', null));
+        characterToKeyMap.put('e', new KeyboardLayout.Key(2, 2, KeyboardLayout.Finger.LEFT_MIDDLE, 'E', '€'));
+        characterToKeyMap.put('r', new KeyboardLayout.Key(2, 3, KeyboardLayout.Finger.LEFT_INDEX, 'R', null));
+        characterToKeyMap.put('t', new KeyboardLayout.Key(2, 4, KeyboardLayout.Finger.LEFT_INDEX, 'T', null));
+        characterToKeyMap.put('y', new KeyboardLayout.Key(2, 5, KeyboardLayout.Finger.RIGHT_INDEX, 'Y', null));
+        characterToKeyMap.put('h', new KeyboardLayout.Key(3, 5, KeyboardLayout.Finger.RIGHT_INDEX, 'H', null));
+        characterToKeyMap.put('u', new KeyboardLayout.Key(2, 6, KeyboardLayout.Finger.RIGHT_MIDDLE, 'U', null));
+        characterToKeyMap.put('s', new KeyboardLayout.Key(3, 1, KeyboardLayout.Finger.LEFT_RING, 'S', null));
+        characterToKeyMap.put('o', new KeyboardLayout.Key(2, 8, KeyboardLayout.Finger.RIGHT_RING, 'O', null));
+        characterToKeyMap.put('w', new KeyboardLayout.Key(4, 1, KeyboardLayout.Finger.LEFT_RING, 'W', null));
+        characterToKeyMap.put('7', new KeyboardLayout.Key(1, 6, KeyboardLayout.Finger.RIGHT_INDEX, null, '`'));
+        characterToKeyMap.put(' ', new KeyboardLayout.Key(5, 4, KeyboardLayout.Finger.RIGHT_INDEX, null, null));
+        return new KeyboardLayout("Test", characterToKeyMap);
+    }
+
+    /**
+     * Disposition de {@link #layout()} réduite aux caractères donnés.
+     */
+    static KeyboardLayout layout(String characters) {
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>(layout().characterToKeyMap());
+        keys.keySet().removeIf(c -> characters.indexOf(c) < 0);
+        return new KeyboardLayout("Test", keys);
+    }
+
+    /**
+     * Copie de la disposition où les touches de c1 et c2 sont échangées.
+     */
+    static KeyboardLayout swapped(KeyboardLayout layout, char c1, char c2) {
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>(layout.characterToKeyMap());
+        keys.put(c1, layout.getKey(c2));
+        keys.put(c2, layout.getKey(c1));
+        return new KeyboardLayout(layout.name(), keys);
+    }
+}
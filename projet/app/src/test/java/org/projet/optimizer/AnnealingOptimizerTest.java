@@ -0,0 +1,48 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Tests unitaires pour la classe AnnealingOptimizer.
+ */
+public class AnnealingOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+    @Test
+    @DisplayName("Test du recuit : score amélioré et statistiques cohérentes")
+    void testAnnealing() {
+        AnnealingOptimizer optimizer = new AnnealingOptimizer(evaluator);
+        optimizer.setSeed(11L);
+        optimizer.setMaxIterations(5_000);
+        optimizer.setReheat(500, 0.5);
+        optimizer.setCoolingSchedule(CoolingSchedule.COSINE);
+        KeyboardLayout optimized = optimizer.optimize(layout);
+        
+        AnnealingStats stats = optimizer.getLastStats();
+        assertEquals(5_000, stats.iterations());
+        assertEquals(stats.iterations(), stats.improving() + stats.acceptedWorse() + stats.rejected());
+        assertEquals(stats.bestScore(), evaluator.scoreLayout(optimized));
+        assertTrue(stats.bestScore() <= evaluator.scoreLayout(layout));
+        
+        // Même graine, même résultat
+        AnnealingOptimizer again = new AnnealingOptimizer(evaluator);
+        again.setSeed(11L);
+        again.setMaxIterations(5_000);
+        again.setReheat(500, 0.5);
+        again.setCoolingSchedule(CoolingSchedule.COSINE);
+        assertEquals(optimized.characterToKeyMap(), again.optimize(layout).characterToKeyMap());
+    }
+}
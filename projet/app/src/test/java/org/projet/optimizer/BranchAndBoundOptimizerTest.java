@@ -0,0 +1,135 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.BigramCostTable;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests unitaires pour la classe BranchAndBoundOptimizer.
+ */
+public class BranchAndBoundOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+    private final KeyboardLayout.Key spare =
+        new KeyboardLayout.Key(3, 6, KeyboardLayout.Finger.RIGHT_MIDDLE, 'J', null);
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Long> ngramFrequencies = new HashMap<>();
+        String text = "the rate at which a tree eats your hat, there they are";
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 0; i + length <= text.length(); i++) {
+                ngramFrequencies.merge(text.substring(i, i + length), 1L, Long::sum);
+            }
+        }
+        evaluator = new LayoutEvaluator(ngramFrequencies);
+        
+        layout = TestLayouts.smallAzerty();
+    }
+
+    /**
+     * Part bigramme du score, calculée sur tous les caractères de la disposition.
+     */
+    private double bigramCost(KeyboardLayout candidate) {
+        List<Character> characters = new ArrayList<>(candidate.characterToKeyMap().keySet());
+        List<KeyboardLayout.Key> keys = new ArrayList<>(candidate.characterToKeyMap().values());
+        char[] chars = new char[characters.size()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = characters.get(i);
+        }
+        BigramCostTable table = evaluator.bigramCostTable(chars, keys);
+        double cost = 0.0;
+        for (int a = 0; a < chars.length; a++) {
+            for (int b = 0; b < chars.length; b++) {
+                cost += table.count(a, b) * table.cost(a, b);
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Meilleur coût parmi toutes les affectations des caractères aux touches.
+     */
+    private double bruteForce(Map<Character, KeyboardLayout.Key> keys, char[] free, int f,
+                              List<KeyboardLayout.Key> available) {
+        if (f == free.length) {
+            return bigramCost(new KeyboardLayout("Test", keys));
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < available.size(); i++) {
+            List<KeyboardLayout.Key> rest = new ArrayList<>(available);
+            keys.put(free[f], rest.remove(i));
+            best = Math.min(best, bruteForce(keys, free, f + 1, rest));
+        }
+        return best;
+    }
+
+    @Test
+    @DisplayName("Test du placement optimal identique à l'énumération complète")
+    void testMatchesBruteForce() {
+        char[] free = {'e', 't', 'h', 'a', 'r'};
+        List<KeyboardLayout.Key> positions = new ArrayList<>();
+        for (char c : free) {
+            positions.add(layout.getKey(c));
+        }
+        positions.add(spare);
+        
+        BranchAndBoundOptimizer optimizer = new BranchAndBoundOptimizer(evaluator);
+        KeyboardLayout optimized = optimizer.optimize(layout, List.of('e', 't', 'h', 'a', 'r'), positions);
+        double expected = bruteForce(new HashMap<>(layout.characterToKeyMap()), free, 0, positions);
+        
+        assertEquals(expected, bigramCost(optimized), 1e-9);
+        assertEquals(layout.getKey('z'), optimized.getKey('z'));
+        assertTrue(optimizer.getLastStats().optimalCost() <= optimizer.getLastStats().initialCost());
+    }
+
+    @Test
+    @DisplayName("Test du résultat identique quel que soit le nombre de threads")
+    void testIsReproducible() {
+        BranchAndBoundOptimizer sequential = new BranchAndBoundOptimizer(evaluator);
+        sequential.setThreads(1);
+        sequential.setFreeCharacters(7);
+        BranchAndBoundOptimizer parallel = new BranchAndBoundOptimizer(evaluator);
+        parallel.setThreads(4);
+        parallel.setFreeCharacters(7);
+        
+        KeyboardLayout optimized = sequential.optimize(layout);
+        assertEquals(optimized.characterToKeyMap(), parallel.optimize(layout).characterToKeyMap());
+        assertEquals(7, sequential.getLastStats().characters());
+        assertTrue(bigramCost(optimized) <= bigramCost(layout) + 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test du placement des caractères fréquents sur la rangée de repos")
+    void testPlacesFrequentCharactersOnHomeRow() {
+        BranchAndBoundOptimizer optimizer = new BranchAndBoundOptimizer(evaluator);
+        optimizer.setHomeRow(3);
+        optimizer.setFreeCharacters(1);
+        
+        // 'e', le plus fréquent, prend la seule touche de la rangée 3 et 'h' la sienne
+        KeyboardLayout optimized = optimizer.optimize(layout);
+        assertEquals(layout.getKey('h'), optimized.getKey('e'));
+        assertEquals(layout.getKey('e'), optimized.getKey('h'));
+        assertEquals(layout.getKey('t'), optimized.getKey('t'));
+    }
+
+    @Test
+    @DisplayName("Test du refus d'une touche occupée par un caractère fixe")
+    void testRejectsOccupiedPosition() {
+        BranchAndBoundOptimizer optimizer = new BranchAndBoundOptimizer(evaluator);
+        
+        assertThrows(IllegalArgumentException.class,
+            () -> optimizer.optimize(layout, List.of('e'), List.of(layout.getKey('z'))));
+        assertThrows(IllegalArgumentException.class,
+            () -> optimizer.optimize(layout, List.of('e', 't'), List.of(layout.getKey('e'))));
+    }
+}
@@ -0,0 +1,63 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+/**
+ * Tests unitaires pour les opérateurs de croisement.
+ */
+public class CrossoverTest {
+
+    private static short[] shuffled(int n, SplittableRandom random) {
+        short[] permutation = new short[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = (short) i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            short value = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = value;
+        }
+        return permutation;
+    }
+
+    private static void assertPermutation(short[] genome) {
+        boolean[] seen = new boolean[genome.length];
+        for (short value : genome) {
+            assertFalse(seen[value], "Emplacement occupé deux fois : " + value);
+            seen[value] = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Test des enfants toujours valides")
+    void testChildrenArePermutations() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (Crossover crossover : Crossover.values()) {
+            for (int trial = 0; trial < 200; trial++) {
+                short[] parent1 = shuffled(46, random);
+                short[] parent2 = shuffled(46, random);
+                for (short[] child : crossover.apply(parent1, parent2, random)) {
+                    assertEquals(46, child.length);
+                    assertPermutation(child);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test du croisement cyclique : chaque valeur garde la position d'un parent")
+    void testCycleCrossoverKeepsPositions() {
+        SplittableRandom random = new SplittableRandom(2);
+        short[] parent1 = shuffled(20, random);
+        short[] parent2 = shuffled(20, random);
+        short[] child = Crossover.CX.apply(parent1, parent2, random)[0];
+        for (int i = 0; i < child.length; i++) {
+            assertTrue(child[i] == parent1[i] || child[i] == parent2[i]);
+        }
+    }
+}
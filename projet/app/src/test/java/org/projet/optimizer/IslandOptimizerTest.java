@@ -0,0 +1,61 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Tests unitaires pour la classe IslandOptimizer.
+ */
+public class IslandOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+    private IslandOptimizer optimizer(int threads, MigrationTopology topology) {
+        IslandOptimizer optimizer = new IslandOptimizer(evaluator);
+        optimizer.setSeed(13L);
+        optimizer.setIslands(4, 12);
+        optimizer.setThreads(threads);
+        optimizer.setMaxGenerations(30);
+        optimizer.setMigration(5, 2, topology);
+        return optimizer;
+    }
+
+    @Test
+    @DisplayName("Test des îles reproductibles quel que soit le nombre de threads")
+    void testIslandsAreReproducible() {
+        for (MigrationTopology topology : MigrationTopology.values()) {
+            KeyboardLayout sequential = optimizer(1, topology).optimize(layout);
+            KeyboardLayout parallel = optimizer(4, topology).optimize(layout);
+            assertEquals(sequential.characterToKeyMap(), parallel.characterToKeyMap());
+        }
+    }
+
+    @Test
+    @DisplayName("Test du suivi de convergence par île")
+    void testIslandStats() {
+        IslandOptimizer optimizer = optimizer(2, MigrationTopology.RING);
+        KeyboardLayout optimized = optimizer.optimize(layout);
+        
+        assertEquals(4, optimizer.getLastStats().size());
+        double best = optimizer.getLastStats().stream().mapToDouble(IslandStats::bestScore).min().orElseThrow();
+        assertEquals(Math.min(best, evaluator.scoreLayout(layout)), evaluator.scoreLayout(optimized));
+        for (IslandStats stats : optimizer.getLastStats()) {
+            assertFalse(stats.bestScoreHistory().isEmpty());
+            // Le meilleur score d'une île ne se dégrade jamais
+            for (int g = 1; g < stats.bestScoreHistory().size(); g++) {
+                assertTrue(stats.bestScoreHistory().get(g) <= stats.bestScoreHistory().get(g - 1));
+            }
+        }
+    }
+}
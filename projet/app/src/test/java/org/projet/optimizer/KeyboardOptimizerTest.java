@@ -0,0 +1,285 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.FitnessArchive;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.nio.ShortBuffer;
+import java.time.Duration;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests unitaires pour la classe KeyboardOptimizer.
+ */
+public class KeyboardOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+    private KeyboardLayout optimize(long seed, int threads) {
+        KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        optimizer.setSeed(seed);
+        optimizer.setThreads(threads);
+        return optimizer.optimize(layout);
+    }
+
+    @Test
+    @DisplayName("Test de l'optimisation reproductible quel que soit le nombre de threads")
+    void testOptimizeIsReproducible() {
+        KeyboardLayout sequential = optimize(7L, 1);
+        KeyboardLayout parallel = optimize(7L, 4);
+        
+        assertEquals(sequential.characterToKeyMap(), parallel.characterToKeyMap());
+        assertTrue(evaluator.scoreLayout(sequential) <= evaluator.scoreLayout(layout));
+    }
+
+    @Test
+    @DisplayName("Test des dispositions optimisées valides pour chaque croisement")
+    void testCrossoverKeepsLayoutValid() {
+        for (Crossover crossover : Crossover.values()) {
+            KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator, 20, 15, 0.2, 1.0);
+            optimizer.setSeed(3L);
+            optimizer.setCrossover(crossover);
+            KeyboardLayout optimized = optimizer.optimize(layout);
+            
+            assertEquals(layout.characterToKeyMap().keySet(), optimized.characterToKeyMap().keySet());
+            assertEquals(
+                new HashSet<>(layout.characterToKeyMap().values()),
+                new HashSet<>(optimized.characterToKeyMap().values())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la mutation guidée par les pénalités")
+    void testGuidedMutation() {
+        KeyboardOptimizer sequential = new KeyboardOptimizer(evaluator, 20, 15, 1.0, 0.9);
+        sequential.setSeed(11L);
+        sequential.setThreads(1);
+        sequential.setGuidedMutation(1.0);
+        KeyboardOptimizer parallel = new KeyboardOptimizer(evaluator, 20, 15, 1.0, 0.9);
+        parallel.setSeed(11L);
+        parallel.setThreads(4);
+        parallel.setGuidedMutation(1.0);
+        KeyboardLayout optimized = sequential.optimize(layout);
+        
+        assertEquals(optimized.characterToKeyMap(), parallel.optimize(layout).characterToKeyMap());
+        assertEquals(
+            new HashSet<>(layout.characterToKeyMap().values()),
+            new HashSet<>(optimized.characterToKeyMap().values())
+        );
+        assertTrue(evaluator.scoreLayout(optimized) <= evaluator.scoreLayout(layout));
+        assertThrows(IllegalArgumentException.class, () -> sequential.setGuidedMutation(1.5));
+    }
+
+    @Test
+    @DisplayName("Test de l'optimisation avec une durée maximale")
+    void testOptimizeWithBudget() {
+        KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator, 20, Integer.MAX_VALUE, 0.5, 0.9);
+        optimizer.setSeed(5L);
+        OptimizationHandle handle = optimizer.optimize(layout, Duration.ofMillis(300));
+        
+        KeyboardLayout result = handle.await();
+        assertTrue(handle.isDone());
+        assertEquals(handle.bestScore(), evaluator.scoreLayout(result));
+        assertEquals(handle.bestLayout().characterToKeyMap(), result.characterToKeyMap());
+    }
+
+    @Test
+    @DisplayName("Test de l'annulation d'une optimisation en cours")
+    void testCancelOptimization() {
+        KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator, 20, Integer.MAX_VALUE, 0.5, 0.9);
+        OptimizationHandle handle = optimizer.optimize(layout, Duration.ofHours(1));
+        handle.cancel();
+        
+        KeyboardLayout result = handle.await();
+        assertTrue(handle.isCancelled());
+        assertTrue(evaluator.scoreLayout(result) <= evaluator.scoreLayout(layout));
+    }
+
+    @Test
+    @DisplayName("Test de la reprise identique à une exécution sans interruption")
+    void testResumeFromCheckpoint(@TempDir Path directory) {
+        Path checkpoint = directory.resolve("optimizer.ckpt");
+        
+        // Première exécution interrompue après 10 générations
+        KeyboardOptimizer interrupted = new KeyboardOptimizer(evaluator, 20, 10, 0.5, 0.9);
+        interrupted.setSeed(9L);
+        interrupted.setCheckpoint(checkpoint, 1);
+        interrupted.optimize(layout);
+        assertTrue(Files.exists(checkpoint));
+        assertFalse(Files.exists(directory.resolve("optimizer.ckpt.tmp")));
+        
+        KeyboardOptimizer resumed = new KeyboardOptimizer(evaluator, 20, 25, 0.5, 0.9);
+        // La graine est sans effet : l'état du générateur vient du point de reprise
+        resumed.setSeed(-1L);
+        resumed.setCheckpoint(checkpoint, 1);
+        resumed.setResume(true);
+        
+        KeyboardOptimizer uninterrupted = new KeyboardOptimizer(evaluator, 20, 25, 0.5, 0.9);
+        uninterrupted.setSeed(9L);
+        
+        assertEquals(
+            uninterrupted.optimize(layout).characterToKeyMap(),
+            resumed.optimize(layout).characterToKeyMap()
+        );
+    }
+
+    @Test
+    @DisplayName("Test du refus d'un point de reprise dont un codage n'est pas une permutation")
+    void testRejectsCorruptCheckpoint(@TempDir Path directory) {
+        Path file = directory.resolve("corrupt.ckpt");
+        short[] valid = {0, 1, 2};
+        Checkpoint checkpoint = new Checkpoint("aet", 3, 0, 0, 7L, valid, 1.0,
+            List.of(valid, new short[] {0, 2, 2}), new double[] {1.0, 2.0});
+        
+        assertTrue(checkpoint.write(file));
+        assertTrue(Checkpoint.read(file).isEmpty());
+        assertTrue(new Checkpoint("aet", 3, 0, 0, 7L, valid, 1.0, List.of(valid), new double[] {1.0}).write(file));
+        assertEquals(3, Checkpoint.read(file).orElseThrow().generation());
+    }
+
+    @Test
+    @DisplayName("Test de l'archive de scores consultée par l'optimiseur")
+    void testOptimizeWithArchive(@TempDir Path directory) throws IOException {
+        KeyboardLayout expected = optimize(4L, 2);
+        try (FitnessArchive archive = FitnessArchive.open(directory, evaluator)) {
+            KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+            optimizer.setSeed(4L);
+            optimizer.setThreads(2);
+            optimizer.setArchive(archive);
+            
+            assertEquals(expected.characterToKeyMap(), optimizer.optimize(layout).characterToKeyMap());
+            assertTrue(archive.getHits() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test des mesures de diversité sans doublon dans la population")
+    void testDiversityWithoutDuplicates() {
+        KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        optimizer.setSeed(3L);
+        optimizer.setThreads(2);
+        optimizer.optimize(layout);
+        
+        List<DiversityStats> diversity = optimizer.getLastDiversity();
+        assertFalse(diversity.isEmpty());
+        assertEquals(0, diversity.get(0).generation());
+        for (DiversityStats stats : diversity) {
+            assertTrue(stats.uniqueIndividuals() + stats.duplicatesReplaced() == 20);
+            assertTrue(stats.meanSwapDistance() >= 1.0, "Individus distincts : au moins un échange");
+            assertFalse(stats.restarted());
+        }
+    }
+
+    @Test
+    @DisplayName("Test du redémarrage reproductible sur effondrement de la diversité")
+    void testRestartOnDiversityCollapse() {
+        KeyboardOptimizer sequential = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        sequential.setSeed(5L);
+        sequential.setThreads(1);
+        // Seuil maximal : chaque génération est considérée comme effondrée
+        sequential.setDiversityControl(1.0, 2);
+        KeyboardLayout expected = sequential.optimize(layout);
+        
+        long restarts = sequential.getLastDiversity().stream().filter(DiversityStats::restarted).count();
+        assertEquals(2, restarts);
+        assertTrue(evaluator.scoreLayout(expected) <= evaluator.scoreLayout(layout));
+        
+        KeyboardOptimizer parallel = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        parallel.setSeed(5L);
+        parallel.setThreads(4);
+        parallel.setDiversityControl(1.0, 2);
+        assertEquals(expected.characterToKeyMap(), parallel.optimize(layout).characterToKeyMap());
+        assertEquals(sequential.getLastDiversity(), parallel.getLastDiversity());
+    }
+
+    @Test
+    @DisplayName("Test de la distance d'échange et du remplacement des doublons")
+    void testSwapDistanceAndDuplicates() {
+        short[] identity = {0, 1, 2, 3};
+        assertEquals(0, PopulationDiversity.swapDistance(identity, identity));
+        assertEquals(1, PopulationDiversity.swapDistance(identity, new short[] {1, 0, 2, 3}));
+        assertEquals(3, PopulationDiversity.swapDistance(identity, new short[] {1, 2, 3, 0}));
+        
+        List<short[]> population = new ArrayList<>(List.of(identity, identity.clone(), identity.clone()));
+        GeneticOperators operators = new GeneticOperators(Crossover.PMX, 0.9, 0.5);
+        assertEquals(2, PopulationDiversity.replaceDuplicates(population, operators, new SplittableRandom(1L)));
+        assertArrayEquals(identity, population.get(0));
+        Set<ShortBuffer> distinct = new HashSet<>();
+        population.forEach(genome -> distinct.add(ShortBuffer.wrap(genome)));
+        assertEquals(3, distinct.size());
+    }
+
+    @Test
+    @DisplayName("Test de la sélection adaptative des opérateurs, reproductible et historisée")
+    void testAdaptiveOperators() {
+        KeyboardOptimizer sequential = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        sequential.setSeed(12L);
+        sequential.setThreads(1);
+        sequential.setAdaptiveOperators(true);
+        KeyboardLayout expected = sequential.optimize(layout);
+        assertTrue(evaluator.scoreLayout(expected) <= evaluator.scoreLayout(layout));
+        
+        List<OperatorAdaptation> history = sequential.getLastOperatorHistory();
+        assertFalse(history.isEmpty());
+        for (OperatorAdaptation adaptation : history) {
+            // Les doublons remplacés par des mutants ne sont pas attribués aux opérateurs
+            int duplicates = sequential.getLastDiversity().stream()
+                .filter(stats -> stats.generation() == adaptation.generation())
+                .mapToInt(DiversityStats::duplicatesReplaced)
+                .findFirst().orElseThrow();
+            assertEquals(20 - duplicates, adaptation.uses().values().stream().mapToInt(Integer::intValue).sum());
+            double total = adaptation.probabilities().values().stream().mapToDouble(Double::doubleValue).sum();
+            assertEquals(1.0, total, 1e-9);
+            adaptation.improvementRates().values().forEach(rate -> assertTrue(rate >= 0 && rate <= 1));
+        }
+        
+        KeyboardOptimizer parallel = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        parallel.setSeed(12L);
+        parallel.setThreads(4);
+        parallel.setAdaptiveOperators(true);
+        assertEquals(expected.characterToKeyMap(), parallel.optimize(layout).characterToKeyMap());
+        assertEquals(history, parallel.getLastOperatorHistory());
+        
+        KeyboardOptimizer fixed = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        fixed.optimize(layout);
+        assertTrue(fixed.getLastOperatorHistory().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test des probabilités favorisant l'opérateur qui améliore le plus")
+    void testBanditFavorsImprovingOperator() {
+        OperatorBandit bandit = new OperatorBandit(List.of(VariationOperator.SWAP, VariationOperator.PMX));
+        OperatorAdaptation adaptation = null;
+        for (int generation = 0; generation < 10; generation++) {
+            for (int i = 0; i < 10; i++) {
+                bandit.record(VariationOperator.SWAP, i < 1);
+                bandit.record(VariationOperator.PMX, i < 6);
+            }
+            adaptation = bandit.update(generation);
+        }
+        assertEquals(0.1, adaptation.improvementRates().get(VariationOperator.SWAP), 1e-12);
+        assertEquals(0.6, adaptation.improvementRates().get(VariationOperator.PMX), 1e-12);
+        assertTrue(adaptation.probabilities().get(VariationOperator.PMX) > 0.7);
+        // L'exploration garde chaque opérateur à l'essai
+        assertTrue(adaptation.probabilities().get(VariationOperator.SWAP) >= 0.1);
+    }
+}
@@ -0,0 +1,164 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Tests unitaires pour la classe LayeredOptimizer.
+ */
+public class LayeredOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Long> ngramFrequencies = new HashMap<>();
+        ngramFrequencies.put("a", 100L);
+        ngramFrequencies.put("s", 90L);
+        ngramFrequencies.put("k", 80L);
+        ngramFrequencies.put("l", 60L);
+        ngramFrequencies.put("#", 70L);
+        ngramFrequencies.put("1", 50L);
+        ngramFrequencies.put("as", 50L);
+        ngramFrequencies.put("k#", 60L);
+        ngramFrequencies.put("#l", 40L);
+        ngramFrequencies.put("a1", 30L);
+        ngramFrequencies.put("1s", 20L);
+        ngramFrequencies.put("la", 25L);
+        
+        evaluator = new LayoutEvaluator(ngramFrequencies);
+        
+        Map<Character, KeyboardLayout.Key> characterToKeyMap = new HashMap<>();
+        characterToKeyMap.put('a', new KeyboardLayout.Key(1, 0, KeyboardLayout.Finger.LEFT_PINKY, 'A', null));
+        characterToKeyMap.put('s', new KeyboardLayout.Key(1, 1, KeyboardLayout.Finger.LEFT_RING, 'S', null));
+        characterToKeyMap.put('d', new KeyboardLayout.Key(1, 2, KeyboardLayout.Finger.LEFT_MIDDLE, 'D', null));
+        characterToKeyMap.put('f', new KeyboardLayout.Key(1, 3, KeyboardLayout.Finger.LEFT_INDEX, 'F', null));
+        characterToKeyMap.put('j', new KeyboardLayout.Key(1, 6, KeyboardLayout.Finger.RIGHT_INDEX, 'J', null));
+        characterToKeyMap.put('k', new KeyboardLayout.Key(1, 7, KeyboardLayout.Finger.RIGHT_MIDDLE, 'K', '#'));
+        characterToKeyMap.put('l', new KeyboardLayout.Key(1, 8, KeyboardLayout.Finger.RIGHT_RING, 'L', null));
+        characterToKeyMap.put('&', new KeyboardLayout.Key(0, 0, KeyboardLayout.Finger.LEFT_PINKY, '1', '@'));
+        characterToKeyMap.put('(', new KeyboardLayout.Key(0, 4, KeyboardLayout.Finger.LEFT_INDEX, '5', '['));
+        characterToKeyMap.put('-', new KeyboardLayout.Key(0, 5, KeyboardLayout.Finger.LEFT_INDEX, '6', '|'));
+        
+        layout = new KeyboardLayout("Test", characterToKeyMap);
+    }
+
+    private LayeredOptimizer optimizer(long seed, int threads) {
+        KeyboardOptimizer base = new KeyboardOptimizer(evaluator, 20, 10, 0.5, 0.9);
+        base.setSeed(seed);
+        base.setThreads(threads);
+        LayeredOptimizer optimizer = new LayeredOptimizer(evaluator, base);
+        optimizer.setSeed(seed);
+        optimizer.setThreads(threads);
+        return optimizer;
+    }
+
+    private static List<Character> symbols(KeyboardLayout layout, ModifierLayer layer) {
+        List<Character> symbols = new ArrayList<>();
+        for (KeyboardLayout.Key key : layout.characterToKeyMap().values()) {
+            Character symbol = layer.produces(key);
+            if (symbol != null) {
+                symbols.add(symbol);
+            }
+        }
+        symbols.sort(null);
+        return symbols;
+    }
+
+    @Test
+    @DisplayName("Test de l'optimisation par couches : symboles conservés, majuscules liées, coûts réduits")
+    void testLayeredOptimization() {
+        LayeredOptimizer optimizer = optimizer(4L, 2);
+        KeyboardLayout result = optimizer.optimize(layout);
+        
+        assertEquals(layout.characterToKeyMap().keySet(), result.characterToKeyMap().keySet());
+        assertEquals(symbols(layout, ModifierLayer.SHIFT), symbols(result, ModifierLayer.SHIFT));
+        assertEquals(symbols(layout, ModifierLayer.ALTGR), symbols(result, ModifierLayer.ALTGR));
+        for (char c : "asdfjkl".toCharArray()) {
+            assertEquals(Character.toUpperCase(c), result.getKey(c).shiftProduces());
+        }
+        // Une touche physique porte un seul symbole par couche
+        assertEquals(layout.characterToKeyMap().size(),
+            result.characterToKeyMap().values().stream().map(k -> k.row() * 100 + k.column()).distinct().count());
+        
+        List<LayerStats> stats = optimizer.getLastStats();
+        assertEquals(List.of(ModifierLayer.SHIFT, ModifierLayer.ALTGR), stats.stream().map(LayerStats::layer).toList());
+        assertEquals(3, stats.get(0).symbols());
+        assertEquals(4, stats.get(1).symbols());
+        for (LayerStats layer : stats) {
+            assertTrue(layer.finalCost() <= layer.initialCost());
+        }
+        // '#' suit 'k' du même doigt, et AltGr est plus coûteux à droite
+        assertTrue(stats.get(1).finalCost() < stats.get(1).initialCost());
+        assertNotEquals(result.getKey('k').finger(), keyOf(result, '#').finger());
+    }
+
+    @Test
+    @DisplayName("Test de l'optimisation par couches reproductible quel que soit le nombre de threads")
+    void testLayeredIsReproducible() {
+        assertEquals(
+            optimizer(9L, 1).optimize(layout).characterToKeyMap(),
+            optimizer(9L, 4).optimize(layout).characterToKeyMap()
+        );
+    }
+
+    @Test
+    @DisplayName("Test de la descente : aucun échange n'améliore le placement obtenu")
+    void testAssignmentDescendsToLocalMinimum() {
+        SplittableRandom random = new SplittableRandom(3L);
+        int symbols = 4;
+        int slots = 6;
+        double[][] unary = new double[symbols][slots];
+        long[][] pairCounts = new long[symbols][symbols];
+        double[][] slotCosts = new double[slots][slots];
+        for (int s = 0; s < symbols; s++) {
+            for (int p = 0; p < slots; p++) {
+                unary[s][p] = random.nextInt(20);
+            }
+            for (int t = 0; t < symbols; t++) {
+                pairCounts[s][t] = random.nextInt(5);
+            }
+        }
+        for (int p = 0; p < slots; p++) {
+            for (int q = 0; q < slots; q++) {
+                slotCosts[p][q] = random.nextInt(4) - 1;
+            }
+        }
+        LayerAssignment assignment = new LayerAssignment(unary, pairCounts, slotCosts);
+        int[] start = assignment.random(random);
+        int[] result = assignment.descend(start);
+        double cost = assignment.cost(result);
+        assertTrue(cost <= assignment.cost(start));
+        
+        // Déplacer un symbole vers une autre touche, libre ou occupée
+        for (int s = 0; s < symbols; s++) {
+            for (int p = 0; p < slots; p++) {
+                int[] moved = result.clone();
+                for (int t = 0; t < symbols; t++) {
+                    if (moved[t] == p) {
+                        moved[t] = result[s];
+                    }
+                }
+                moved[s] = p;
+                assertTrue(assignment.cost(moved) >= cost - 1e-9);
+            }
+        }
+    }
+
+    private static KeyboardLayout.Key keyOf(KeyboardLayout layout, char symbol) {
+        return layout.characterToKeyMap().values().stream()
+            .filter(key -> Objects.equals(key.altgrProduces(), symbol))
+            .findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,98 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+/**
+ * Tests unitaires pour la classe LayoutConstraints.
+ */
+public class LayoutConstraintsTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+    private LayoutConstraints constraints() {
+        LayoutConstraints constraints = new LayoutConstraints();
+        constraints.pin("zy");
+        constraints.allow("ae", key -> key.row() == 2);
+        constraints.keepHand("h");
+        return constraints;
+    }
+
+    private void assertRespected(KeyboardLayout optimized) {
+        assertEquals(layout.getKey('z'), optimized.getKey('z'));
+        assertEquals(layout.getKey('y'), optimized.getKey('y'));
+        assertEquals(2, optimized.getKey('a').row());
+        assertEquals(2, optimized.getKey('e').row());
+        assertEquals(layout.getKey('h').finger().hand(), optimized.getKey('h').finger().hand());
+        assertEquals(
+            new HashSet<>(layout.characterToKeyMap().values()),
+            new HashSet<>(optimized.characterToKeyMap().values())
+        );
+    }
+
+    @Test
+    @DisplayName("Test des contraintes respectées par l'algorithme génétique pour chaque croisement")
+    void testGeneticOptimizerRespectsConstraints() {
+        for (Crossover crossover : Crossover.values()) {
+            KeyboardOptimizer optimizer = new KeyboardOptimizer(evaluator, 20, 15, 0.5, 1.0);
+            optimizer.setSeed(5L);
+            optimizer.setCrossover(crossover);
+            optimizer.setGuidedMutation(0.5);
+            optimizer.setConstraints(constraints());
+            assertRespected(optimizer.optimize(layout));
+        }
+    }
+
+    @Test
+    @DisplayName("Test des contraintes respectées par le modèle en îles")
+    void testIslandOptimizerRespectsConstraints() {
+        IslandOptimizer optimizer = new IslandOptimizer(evaluator);
+        optimizer.setSeed(5L);
+        optimizer.setIslands(3, 10);
+        optimizer.setMaxGenerations(10);
+        optimizer.setConstraints(constraints());
+        assertRespected(optimizer.optimize(layout));
+    }
+
+    @Test
+    @DisplayName("Test des mutations sous contraintes toujours valides")
+    void testMaskMutationIsFeasible() {
+        LayoutEncoding encoding = new LayoutEncoding(layout);
+        ConstraintMask mask = constraints().compile(encoding);
+        SplittableRandom random = new SplittableRandom(9);
+        short[] genome = encoding.identity();
+        boolean moved = false;
+        
+        for (int step = 0; step < 500; step++) {
+            short[] mutant = mask.mutate(genome, random);
+            assertTrue(mask.isFeasible(mutant));
+            moved |= !Arrays.equals(genome, mutant);
+            genome = mutant;
+        }
+        assertTrue(moved);
+        assertFalse(mask.isMovable(encoding.characters().indexOf('z')));
+    }
+
+    @Test
+    @DisplayName("Test du refus d'une disposition de départ qui ne respecte pas les contraintes")
+    void testRejectsInfeasibleStart() {
+        LayoutConstraints constraints = new LayoutConstraints();
+        constraints.allow("h", key -> key.row() == 2);
+        
+        assertThrows(IllegalArgumentException.class, () -> constraints.compile(new LayoutEncoding(layout)));
+    }
+}
@@ -0,0 +1,65 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.IncrementalEvaluation;
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+
+/**
+ * Tests unitaires pour la classe LocalSearchOptimizer.
+ */
+public class LocalSearchOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+    @Test
+    @DisplayName("Test de la descente : aucun échange n'améliore le résultat")
+    void testSteepestDescentReachesLocalOptimum() {
+        LocalSearchOptimizer optimizer = new LocalSearchOptimizer(evaluator);
+        optimizer.setTenure(0);
+        KeyboardLayout optimized = optimizer.optimize(layout);
+        
+        IncrementalEvaluation state = evaluator.incremental(optimized);
+        for (char c1 : optimized.characterToKeyMap().keySet()) {
+            for (char c2 : optimized.characterToKeyMap().keySet()) {
+                assertTrue(state.deltaForSwap(c1, c2) >= 0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test de la recherche tabou identique quel que soit le nombre de threads")
+    void testTabuSearchIsReproducible() {
+        LocalSearchOptimizer sequential = new LocalSearchOptimizer(evaluator);
+        sequential.setThreads(1);
+        LocalSearchOptimizer parallel = new LocalSearchOptimizer(evaluator);
+        parallel.setThreads(3);
+        
+        KeyboardLayout result = sequential.optimize(layout);
+        assertEquals(result.characterToKeyMap(), parallel.optimize(layout).characterToKeyMap());
+        assertEquals(sequential.getLastIterations(), parallel.getLastIterations());
+        assertTrue(evaluator.scoreLayout(result) <= evaluator.scoreLayout(layout));
+    }
+
+    @Test
+    @DisplayName("Test de l'affinage du résultat de l'algorithme génétique")
+    void testPolishGeneticResult() {
+        KeyboardOptimizer genetic = new KeyboardOptimizer(evaluator, 10, 5, 0.2, 0.9);
+        genetic.setSeed(1L);
+        KeyboardLayout unpolished = genetic.optimize(layout);
+        
+        genetic.setSeed(1L);
+        KeyboardLayout polished = genetic.then(new LocalSearchOptimizer(evaluator)).optimize(layout);
+        assertTrue(evaluator.scoreLayout(polished) <= evaluator.scoreLayout(unpolished));
+    }
+}
@@ -0,0 +1,176 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tests unitaires pour les classes MigrationCoordinator et MigrationWorker.
+ */
+public class MigrationCoordinatorTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+    private MigrationCoordinator coordinator;
+    private final List<Process> processes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        evaluator = MigrationWorkerProcess.evaluator();
+        layout = MigrationWorkerProcess.layout();
+        coordinator = new MigrationCoordinator(evaluator, 0);
+        coordinator.setExpectedWorkers(2);
+        coordinator.setTimeout(Duration.ofSeconds(60));
+        coordinator.setReadTimeout(Duration.ofSeconds(10));
+        coordinator.start(layout);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.close();
+        processes.forEach(Process::destroyForcibly);
+    }
+
+    private Process launchWorker(long seed, int generations, int workerId) throws IOException, URISyntaxException {
+        String classpath = codeSource(MigrationWorkerProcess.class) + File.pathSeparator + codeSource(MigrationWorker.class);
+        Process process = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", classpath,
+            MigrationWorkerProcess.class.getName(),
+            String.valueOf(coordinator.getPort()), String.valueOf(seed),
+            String.valueOf(generations), String.valueOf(workerId)
+        ).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        processes.add(process);
+        return process;
+    }
+
+    private static String codeSource(Class<?> type) throws URISyntaxException {
+        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private WorkerStats stats(int worker) {
+        return coordinator.getWorkerStats().stream()
+            .filter(stats -> stats.worker() == worker)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition non atteinte à temps");
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Test de l'échange entre deux travailleurs du même processus")
+    void testWorkersExchangeMigrants() throws InterruptedException {
+        List<MigrationWorker> workers = List.of(
+            MigrationWorkerProcess.worker(coordinator.getPort(), 1L, 20),
+            MigrationWorkerProcess.worker(coordinator.getPort(), 2L, 20)
+        );
+        List<Thread> threads = new ArrayList<>();
+        for (MigrationWorker worker : workers) {
+            Thread thread = new Thread(() -> worker.optimize(layout));
+            thread.start();
+            threads.add(thread);
+        }
+        KeyboardLayout result = coordinator.awaitResult();
+        for (Thread thread : threads) {
+            thread.join(30_000);
+        }
+        
+        assertEquals(2, coordinator.getWorkerStats().size());
+        assertTrue(coordinator.getWorkerStats().stream().allMatch(WorkerStats::done));
+        assertTrue(coordinator.getWorkerStats().stream().allMatch(stats -> stats.epochs() == 10));
+        assertEquals(coordinator.getBestScore(), evaluator.scoreLayout(result), 1e-9);
+        assertTrue(evaluator.scoreLayout(result) <= evaluator.scoreLayout(layout));
+        assertNotEquals(workers.get(0).getWorkerId(), workers.get(1).getWorkerId());
+    }
+
+    @Test
+    @DisplayName("Test du refus d'un travailleur dont la disposition diffère")
+    void testRejectsMismatchedLayout() {
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>(layout.characterToKeyMap());
+        keys.remove('z');
+        MigrationWorker worker = MigrationWorkerProcess.worker(coordinator.getPort(), 3L, 4);
+        worker.setReconnect(1, Duration.ofSeconds(10));
+        worker.optimize(new KeyboardLayout("Autre", keys));
+        
+        assertEquals(0, worker.getLastConnections());
+        assertTrue(coordinator.getWorkerStats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test de la panne et du retour d'un travailleur dans un autre processus")
+    void testWorkerFailureAndRejoin() throws Exception {
+        launchWorker(1L, 40, 0);
+        Process failing = launchWorker(2L, Integer.MAX_VALUE, 1);
+        
+        awaitCondition(() -> stats(1) != null && stats(1).epochs() >= 2);
+        failing.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+        awaitCondition(() -> !stats(1).connected());
+        Process rejoining = launchWorker(3L, 20, 1);
+        
+        KeyboardLayout result = coordinator.awaitResult();
+        assertTrue(rejoining.waitFor(30, TimeUnit.SECONDS));
+        assertTrue(stats(0).done());
+        assertTrue(stats(1).done());
+        assertEquals(2, stats(1).connections());
+        assertTrue(evaluator.scoreLayout(result) <= evaluator.scoreLayout(layout));
+    }
+
+    @Test
+    @DisplayName("Test de la réévaluation du meilleur individu annoncé par un travailleur")
+    void testRescoresReportedBest() throws IOException {
+        LayoutEncoding encoding = new LayoutEncoding(layout);
+        short[] genome = encoding.identity();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), coordinator.getPort())) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out.writeInt(MigrationProtocol.MAGIC);
+            out.writeInt(MigrationProtocol.VERSION);
+            out.writeInt(-1);
+            out.writeUTF(encoding.characters());
+            out.writeLong(evaluator.fingerprint());
+            out.flush();
+            assertEquals(MigrationProtocol.ACCEPT, in.readByte());
+            in.readInt();
+            MigrationProtocol.readMigrants(in, genome.length);
+            
+            // Score annoncé impossible : seul le score recalculé est retenu
+            out.writeByte(MigrationProtocol.DONE);
+            MigrationProtocol.writeGenome(out, genome);
+            out.writeDouble(-1e9);
+            out.flush();
+            assertEquals(-1, in.read());
+        }
+        
+        assertEquals(evaluator.scoreLayout(layout), coordinator.getBestScore(), 1e-9);
+        assertEquals(evaluator.scoreLayout(layout), coordinator.getWorkerStats().get(0).bestScore(), 1e-9);
+    }
+}
@@ -0,0 +1,45 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Travailleur lancé dans un processus séparé par {@link MigrationCoordinatorTest}.
+ *
+ * <p>Arguments : port du coordinateur, graine, nombre de générations, numéro du travailleur.
+ */
+public class MigrationWorkerProcess {
+
+    static LayoutEvaluator evaluator() {
+        Map<String, Long> ngramFrequencies = new HashMap<>();
+        String text = "the rate at which a tree eats your hat, there they are";
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 0; i + length <= text.length(); i++) {
+                ngramFrequencies.merge(text.substring(i, i + length), 1L, Long::sum);
+            }
+        }
+        return new LayoutEvaluator(ngramFrequencies);
+    }
+
+    static KeyboardLayout layout() {
+        return TestLayouts.smallAzerty();
+    }
+
+    static MigrationWorker worker(int port, long seed, int generations) {
+        MigrationWorker worker = new MigrationWorker(evaluator(), "127.0.0.1", port);
+        worker.setSeed(seed);
+        worker.setIsland(10, generations);
+        worker.setMigration(2, 2);
+        worker.setReconnect(3, Duration.ofSeconds(10));
+        return worker;
+    }
+
+    public static void main(String[] args) {
+        MigrationWorker worker = worker(Integer.parseInt(args[0]), Long.parseLong(args[1]), Integer.parseInt(args[2]));
+        worker.setWorkerId(Integer.parseInt(args[3]));
+        worker.optimize(layout());
+    }
+}
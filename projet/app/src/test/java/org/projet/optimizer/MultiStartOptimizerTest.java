@@ -0,0 +1,74 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.util.HashSet;
+import java.util.List;
+import java.util.HashMap;
+
+/**
+ * Tests unitaires pour la classe MultiStartOptimizer.
+ */
+public class MultiStartOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+    private MultiStartOptimizer multiStart(int threads) {
+        MultiStartOptimizer optimizer = new MultiStartOptimizer(evaluator);
+        optimizer.setSeed(21L);
+        optimizer.setStarts(5);
+        optimizer.setThreads(threads);
+        optimizer.setTopK(3);
+        optimizer.setOptimizerFactory((seed, startThreads) -> {
+            KeyboardOptimizer genetic = new KeyboardOptimizer(evaluator, 10, 5, 0.5, 0.9);
+            genetic.setSeed(seed);
+            genetic.setThreads(startThreads);
+            return genetic;
+        });
+        return optimizer;
+    }
+
+    @Test
+    @DisplayName("Test des départs multiples reproductibles quel que soit le budget de threads")
+    void testIsReproducible() {
+        MultiStartOptimizer sequential = multiStart(1);
+        MultiStartOptimizer parallel = multiStart(4);
+        KeyboardLayout optimized = sequential.optimize(layout);
+        
+        assertEquals(optimized.characterToKeyMap(), parallel.optimize(layout).characterToKeyMap());
+        assertEquals(sequential.getLastResult().starts(), parallel.getLastResult().starts());
+    }
+
+    @Test
+    @DisplayName("Test de l'agrégation des meilleures dispositions distinctes")
+    void testAggregatesDistinctBest() {
+        MultiStartOptimizer optimizer = multiStart(2);
+        KeyboardLayout start = new KeyboardLayout("Autre", new HashMap<>(layout.characterToKeyMap()));
+        optimizer.setStartingLayouts(List.of(start));
+        KeyboardLayout optimized = optimizer.optimize(layout);
+        MultiStartResult result = optimizer.getLastResult();
+        
+        assertEquals(5, result.starts().size());
+        assertEquals(evaluator.scoreLayout(layout), result.starts().get(1).initialScore());
+        assertTrue(result.best().size() >= 1 && result.best().size() <= 3);
+        assertEquals(result.best().size(),
+            new HashSet<>(result.best().stream().map(r -> r.layout().characterToKeyMap()).toList()).size());
+        for (int i = 1; i < result.best().size(); i++) {
+            assertTrue(result.best().get(i - 1).finalScore() <= result.best().get(i).finalScore());
+        }
+        assertEquals(result.minScore(), evaluator.scoreLayout(optimized));
+        assertTrue(result.scoreStandardDeviation() >= 0);
+        assertTrue(result.minScore() <= result.meanScore() && result.meanScore() <= result.maxScore());
+    }
+}
@@ -0,0 +1,112 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.util.List;
+
+/**
+ * Tests unitaires pour la classe ParetoOptimizer.
+ */
+public class ParetoOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+
+    private ParetoOptimizer optimizer(long seed, int threads) {
+        ParetoOptimizer optimizer = new ParetoOptimizer(evaluator, 20, 15, 0.5, 0.9);
+        optimizer.setSeed(seed);
+        optimizer.setThreads(threads);
+        return optimizer;
+    }
+
+    @Test
+    @DisplayName("Test du tri par non-domination et de la distance d'encombrement")
+    void testNonDominatedSorting() {
+        double[][] costs = {
+            {1, 4}, {2, 2}, {4, 1}, // premier front
+            {3, 3},                 // dominé par {2, 2}
+            {4, 4},                 // dominé par {3, 3}
+            {2, 2}                  // égal à un individu du premier front
+        };
+        List<int[]> fronts = NonDominatedSorting.sort(costs);
+        assertEquals(3, fronts.size());
+        assertArrayEquals(new int[] {0, 1, 2, 5}, fronts.get(0));
+        assertArrayEquals(new int[] {3}, fronts.get(1));
+        assertArrayEquals(new int[] {4}, fronts.get(2));
+        
+        double[] distance = NonDominatedSorting.crowdingDistance(costs, new int[] {0, 1, 2});
+        assertEquals(Double.POSITIVE_INFINITY, distance[0]);
+        assertEquals(2.0, distance[1], 1e-12);
+        assertEquals(Double.POSITIVE_INFINITY, distance[2]);
+    }
+
+    @Test
+    @DisplayName("Test du front de Pareto : dispositions non dominées et triées par score")
+    void testParetoFront() {
+        ParetoOptimizer optimizer = optimizer(2L, 2);
+        KeyboardLayout best = optimizer.optimize(layout);
+        
+        List<ParetoSolution> front = optimizer.getLastFront();
+        assertFalse(front.isEmpty());
+        assertEquals(best.characterToKeyMap(), front.get(0).layout().characterToKeyMap());
+        assertEquals(evaluator.scoreLayout(best), front.get(0).score(), 1e-9);
+        for (int i = 0; i < front.size(); i++) {
+            if (i > 0) {
+                assertTrue(front.get(i - 1).score() <= front.get(i).score());
+            }
+            for (ParetoSolution other : front) {
+                assertFalse(dominates(other, front.get(i), optimizer.getObjectives()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test du front reproductible quel que soit le nombre de threads")
+    void testParetoIsReproducible() {
+        ParetoOptimizer sequential = optimizer(6L, 1);
+        sequential.setObjectives(ParetoObjective.SAME_FINGER, ParetoObjective.HAND_ALTERNATION);
+        sequential.optimize(layout);
+        ParetoOptimizer parallel = optimizer(6L, 4);
+        parallel.setObjectives(ParetoObjective.SAME_FINGER, ParetoObjective.HAND_ALTERNATION);
+        parallel.optimize(layout);
+        
+        assertEquals(
+            sequential.getLastFront().stream().map(s -> s.layout().characterToKeyMap()).toList(),
+            parallel.getLastFront().stream().map(s -> s.layout().characterToKeyMap()).toList()
+        );
+    }
+
+    @Test
+    @DisplayName("Test du refus de critères invalides")
+    void testInvalidObjectives() {
+        ParetoOptimizer optimizer = new ParetoOptimizer(evaluator);
+        assertThrows(IllegalArgumentException.class, () -> optimizer.setObjectives(ParetoObjective.ROLLS));
+        assertThrows(IllegalArgumentException.class,
+            () -> optimizer.setObjectives(ParetoObjective.ROLLS, ParetoObjective.ROLLS));
+    }
+
+    private static boolean dominates(ParetoSolution a, ParetoSolution b, List<ParetoObjective> objectives) {
+        boolean better = false;
+        for (ParetoObjective objective : objectives) {
+            double sign = objective.isMaximized() ? -1 : 1;
+            double costA = sign * a.value(objective);
+            double costB = sign * b.value(objective);
+            if (costA > costB) {
+                return false;
+            }
+            better |= costA < costB;
+        }
+        return better;
+    }
+}
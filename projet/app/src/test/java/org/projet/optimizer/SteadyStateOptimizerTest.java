@@ -0,0 +1,93 @@
+package org.projet.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.time.Duration;
+import java.util.Map;
+import java.util.HashMap;
+
+/**
+ * Tests unitaires pour la classe SteadyStateOptimizer.
+ */
+public class SteadyStateOptimizerTest {
+    private LayoutEvaluator evaluator;
+    private KeyboardLayout layout;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = TestLayouts.evaluator();
+        layout = TestLayouts.smallAzerty();
+    }
+
+    private SteadyStateOptimizer optimizer(long seed, int threads) {
+        SteadyStateOptimizer optimizer = new SteadyStateOptimizer(evaluator, 20, 400, 0.5, 0.9);
+        optimizer.setSeed(seed);
+        optimizer.setThreads(threads);
+        optimizer.setOffspring(4);
+        return optimizer;
+    }
+
+    @Test
+    @DisplayName("Test de l'algorithme stationnaire : score exact, amélioré et statistiques cohérentes")
+    void testSteadyState() {
+        SteadyStateOptimizer optimizer = optimizer(3L, 2);
+        KeyboardLayout optimized = optimizer.optimize(layout);
+        
+        SteadyStateStats stats = optimizer.getLastStats();
+        // Le score obtenu par échanges est celui d'une évaluation complète
+        assertEquals(evaluator.scoreLayout(optimized), stats.bestScore(), 1e-9);
+        assertTrue(stats.bestScore() <= stats.initialScore());
+        assertEquals(evaluator.scoreLayout(layout), stats.initialScore());
+        assertTrue(stats.evaluations() <= 400);
+        assertTrue(stats.incrementalEvaluations() > 0);
+        assertTrue(stats.incrementalEvaluations() <= stats.evaluations());
+        assertTrue(stats.replacements() <= stats.evaluations() - 20);
+        assertEquals(layout.characterToKeyMap().keySet(), optimized.characterToKeyMap().keySet());
+    }
+
+    @Test
+    @DisplayName("Test de l'algorithme stationnaire reproductible quel que soit le nombre de threads")
+    void testSteadyStateIsReproducible() {
+        SteadyStateOptimizer sequential = optimizer(8L, 1);
+        SteadyStateOptimizer parallel = optimizer(8L, 4);
+        
+        assertEquals(
+            sequential.optimize(layout).characterToKeyMap(),
+            parallel.optimize(layout).characterToKeyMap()
+        );
+        assertEquals(sequential.getLastStats().evaluations(), parallel.getLastStats().evaluations());
+    }
+
+    @Test
+    @DisplayName("Test de l'arrêt quand tous les enfants sont des doublons")
+    void testTerminatesWhenChildrenAreDuplicates() {
+        Map<Character, KeyboardLayout.Key> keys = new HashMap<>();
+        for (char c : "aert".toCharArray()) {
+            keys.put(c, layout.getKey(c));
+        }
+        KeyboardLayout small = new KeyboardLayout("Test", keys);
+        // Sans croisement ni mutation, les enfants copient leurs parents
+        SteadyStateOptimizer optimizer = new SteadyStateOptimizer(evaluator, 4, 100, 0.0, 0.0);
+        optimizer.setSeed(5L);
+        optimizer.setThreads(1);
+        
+        KeyboardLayout optimized = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> optimizer.optimize(small));
+        SteadyStateStats stats = optimizer.getLastStats();
+        assertEquals(keys.keySet(), optimized.characterToKeyMap().keySet());
+        assertTrue(stats.duplicates() > 0);
+        assertTrue(stats.evaluations() + stats.duplicates() <= 100);
+    }
+
+    @Test
+    @DisplayName("Test du refus d'un nombre d'enfants invalide")
+    void testInvalidOffspring() {
+        SteadyStateOptimizer optimizer = new SteadyStateOptimizer(evaluator, 20, 400, 0.5, 0.9);
+        assertThrows(IllegalArgumentException.class, () -> optimizer.setOffspring(0));
+        assertThrows(IllegalArgumentException.class, () -> optimizer.setOffspring(20));
+    }
+}
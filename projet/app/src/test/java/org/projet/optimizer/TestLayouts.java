@@ -0,0 +1,54 @@
+package org.projet.optimizer;
+
+import org.projet.evaluator.LayoutEvaluator;
+import org.projet.model.KeyboardLayout;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Données de test partagées par les tests des optimiseurs.
+ */
+final class TestLayouts {
+
+    private TestLayouts() {}
+
+    /**
+     * Fréquences de quelques n-grammes anglais courants.
+     */
+    static Map<String, Long> frequencies() {
+        Map<String, Long> ngramFrequencies = new HashMap<>();
+        ngramFrequencies.put("e", 100L);
+        ngramFrequencies.put("t", 90L);
+        ngramFrequencies.put("a", 80L);
+        ngramFrequencies.put("r", 60L);
+        ngramFrequencies.put("th", 50L);
+        ngramFrequencies.put("he", 45L);
+        ngramFrequencies.put("re", 30L);
+        ngramFrequencies.put("the", 40L);
+        ngramFrequencies.put("are", 20L);
+        return ngramFrequencies;
+    }
+
+    /**
+     * Évaluateur des fréquences de {@link #frequencies()}.
+     */
+    static LayoutEvaluator evaluator() {
+        return new LayoutEvaluator(frequencies());
+    }
+
+    /**
+     * Disposition AZERTY simplifiée : une rangée et demie, huit touches.
+     */
+    static KeyboardLayout smallAzerty() {
+        Map<Character, KeyboardLayout.Key> characterToKeyMap = new HashMap<>();
+        characterToKeyMap.put('a', new KeyboardLayout.Key(2, 0, KeyboardLayout.Finger.LEFT_PINKY, 'A', null));
+        characterToKeyMap.put('z', new KeyboardLayout.Key(2, 1, KeyboardLayout.Finger.LEFT_RING, 'Z', null));
+        characterToKeyMap.put('e', new KeyboardLayout.Key(2, 2, KeyboardLayout.Finger.LEFT_MIDDLE, 'E', '€'));
+        characterToKeyMap.put('r', new KeyboardLayout.Key(2, 3, KeyboardLayout.Finger.LEFT_INDEX, 'R', null));
+        characterToKeyMap.put('t', new KeyboardLayout.Key(2, 4, KeyboardLayout.Finger.LEFT_INDEX, 'T', null));
+        characterToKeyMap.put('y', new KeyboardLayout.Key(2, 5, KeyboardLayout.Finger.RIGHT_INDEX, 'Y', null));
+        characterToKeyMap.put('h', new KeyboardLayout.Key(3, 5, KeyboardLayout.Finger.RIGHT_INDEX, 'H', null));
+        characterToKeyMap.put('u', new KeyboardLayout.Key(2, 6, KeyboardLayout.Finger.RIGHT_MIDDLE, 'U', null));
+        return new KeyboardLayout("Test AZERTY", characterToKeyMap);
+    }
+}